@@ -0,0 +1,89 @@
+package com.salang.matching_poc.benchmark;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import com.salang.matching_poc.service.HobbyBitmap;
+
+/*
+ * 취미 교집합 검사. 비트맵 변환(of), 비트맵 교집합(intersects), 카탈로그 길이로 맞춘 비트맵 교집합(intersectsSameWidth),
+ * 변환 전 Integer[] 이중 루프 비교(기준선).
+ * 입력 쌍은 미리 만든 1024개를 순환.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class HobbyBitmapBenchmark {
+
+    private static final int PAIRS = 1024;
+
+    @Param({ "3", "10", "40" })
+    private int hobbiesPerUser;
+
+    private Integer[][] hobbyIds;
+    private long[][] hobbyBits;
+    private long[][] sameWidthBits;
+    private int cursor;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42L);
+        hobbyIds = new Integer[PAIRS * 2][];
+        hobbyBits = new long[PAIRS * 2][];
+        for (int i = 0; i < hobbyIds.length; i++) {
+            hobbyIds[i] = QueueFixtures.hobbyIds(random, hobbiesPerUser);
+            hobbyBits[i] = HobbyBitmap.of(hobbyIds[i]);
+        }
+        int words = 1;
+        for (long[] bits : hobbyBits) {
+            words = Math.max(words, bits.length);
+        }
+        sameWidthBits = new long[hobbyBits.length][];
+        for (int i = 0; i < hobbyBits.length; i++) {
+            sameWidthBits[i] = HobbyBitmap.widen(hobbyBits[i], words);
+        }
+    }
+
+    @Benchmark
+    public long[] of() {
+        return HobbyBitmap.of(hobbyIds[next()]);
+    }
+
+    @Benchmark
+    public boolean intersects() {
+        int i = next() << 1;
+        return HobbyBitmap.intersects(hobbyBits[i], hobbyBits[i + 1]);
+    }
+
+    @Benchmark
+    public boolean intersectsSameWidth() {
+        int i = next() << 1;
+        return HobbyBitmap.intersectsSameWidth(sameWidthBits[i], sameWidthBits[i + 1]);
+    }
+
+    @Benchmark
+    public boolean arrayOverlap() {
+        int i = next() << 1;
+        for (Integer a : hobbyIds[i]) {
+            for (Integer b : hobbyIds[i + 1]) {
+                if (a.equals(b)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private int next() {
+        return cursor++ & (PAIRS - 1);
+    }
+}
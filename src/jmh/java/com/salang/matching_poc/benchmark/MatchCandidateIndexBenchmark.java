@@ -0,0 +1,61 @@
+package com.salang.matching_poc.benchmark;
+
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import com.salang.matching_poc.model.enums.MatchPhase;
+import com.salang.matching_poc.service.MatchCandidate;
+import com.salang.matching_poc.service.MatchCandidateIndex;
+
+/*
+ * 스케줄러 tick의 파트너 조회(MatchScheduler.findPartnerByPhase): 대기 시간 → 단계 선택 → 인덱스 조회.
+ * 요청자는 대기열에서 고르고 대기 시간을 단계 최소값으로 맞춤. 조회만 하고 markMatched 하지 않으므로 반복 간 상태 변화 없음.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class MatchCandidateIndexBenchmark {
+
+    private static final int REQUESTERS = 1024;
+
+    @Param({ "1000", "10000", "100000", "1000000" })
+    private int queueSize;
+
+    @Param({ "PHASE_1", "PHASE_2", "PHASE_3", "PHASE_4", "PHASE_5" })
+    private MatchPhase phase;
+
+    private MatchCandidateIndex index;
+    private MatchCandidate[] requesters;
+    private int cursor;
+
+    @Setup
+    public void setUp() {
+        List<MatchCandidate> candidates = QueueFixtures.candidates(queueSize);
+        index = MatchCandidateIndex.build(candidates);
+        requesters = new MatchCandidate[REQUESTERS];
+        int step = Math.max(1, candidates.size() / REQUESTERS);
+        for (int i = 0; i < REQUESTERS; i++) {
+            MatchCandidate c = candidates.get((i * step) % candidates.size());
+            requesters[i] = new MatchCandidate(c.queueId(), c.userId(), c.gender(), c.region(), c.birthYear(),
+                    c.tier(), c.hobbyBits(), QueueFixtures.NOW.minusSeconds(phase.getMinWaitingSeconds()));
+        }
+    }
+
+    @Benchmark
+    public Optional<MatchCandidate> findPartnerByPhase() {
+        MatchCandidate requester = requesters[cursor++ & (REQUESTERS - 1)];
+        long waitingSeconds = ChronoUnit.SECONDS.between(requester.createdAt(), QueueFixtures.NOW);
+        return index.findPartner(requester, MatchPhase.fromWaitingSeconds(waitingSeconds));
+    }
+}
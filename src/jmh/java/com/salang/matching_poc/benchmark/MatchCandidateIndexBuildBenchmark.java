@@ -0,0 +1,38 @@
+package com.salang.matching_poc.benchmark;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import com.salang.matching_poc.service.MatchCandidate;
+import com.salang.matching_poc.service.MatchCandidateIndex;
+
+/* tick마다 대기열 전체로 후보 인덱스를 구성하는 비용 (정렬 + 버킷 분배) */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class MatchCandidateIndexBuildBenchmark {
+
+    @Param({ "1000", "10000", "100000", "1000000" })
+    private int queueSize;
+
+    private List<MatchCandidate> candidates;
+
+    @Setup
+    public void setUp() {
+        candidates = QueueFixtures.candidates(queueSize);
+    }
+
+    @Benchmark
+    public MatchCandidateIndex build() {
+        return MatchCandidateIndex.build(candidates);
+    }
+}
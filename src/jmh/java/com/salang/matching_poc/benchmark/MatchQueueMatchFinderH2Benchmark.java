@@ -0,0 +1,82 @@
+package com.salang.matching_poc.benchmark;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import static com.salang.matching_poc.constants.MatchingConstants.AGE_TOLERANCE_YEARS;
+import static com.salang.matching_poc.constants.MatchingConstants.EXCLUDED_TIER;
+import static com.salang.matching_poc.constants.MatchingConstants.WAITING_STATUS;
+import com.salang.matching_poc.model.entity.MatchQueue;
+import com.salang.matching_poc.service.MatchQueueMatchFinderH2;
+
+/*
+ * MatchQueueMatchFinderH2의 단계별 후보 필터링(스트림 filter + created_at 정렬). 저장소는 메모리 목록을 그대로 반환.
+ * MatchCandidateIndexBenchmark와 같은 대기열에서 인덱스 없이 전체를 훑는 비용 비교용.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class MatchQueueMatchFinderH2Benchmark {
+
+    @Param({ "1000", "10000", "100000", "1000000" })
+    private int queueSize;
+
+    private MatchQueueMatchFinderH2 finder;
+    private MatchQueue requester;
+
+    @Setup
+    public void setUp() {
+        List<MatchQueue> queues = QueueFixtures.queues(queueSize);
+        // 조회만 측정하므로 룸 INSERT용 JdbcTemplate 없음
+        finder = new MatchQueueMatchFinderH2(QueueFixtures.repositoryOf(queues), null);
+        requester = queues.get(queues.size() / 2);
+    }
+
+    @Benchmark
+    public Optional<MatchQueue> phase1() {
+        return finder.findPhase1Match(requester.getUserId(), requester.getGender().name(),
+                requester.getRegion().name(), birthYearMin(), birthYearMax(), requester.getHobbyIds(),
+                EXCLUDED_TIER, WAITING_STATUS);
+    }
+
+    @Benchmark
+    public Optional<MatchQueue> phase2() {
+        return finder.findPhase2Match(requester.getUserId(), requester.getGender().name(),
+                requester.getRegion().name(), birthYearMin(), birthYearMax(), EXCLUDED_TIER, WAITING_STATUS);
+    }
+
+    @Benchmark
+    public Optional<MatchQueue> phase3() {
+        return finder.findPhase3Match(requester.getUserId(), requester.getGender().name(), birthYearMin(),
+                birthYearMax(), EXCLUDED_TIER, WAITING_STATUS);
+    }
+
+    @Benchmark
+    public Optional<MatchQueue> phase4() {
+        return finder.findPhase4Match(requester.getUserId(), requester.getGender().name(), EXCLUDED_TIER,
+                WAITING_STATUS);
+    }
+
+    @Benchmark
+    public Optional<MatchQueue> phase5() {
+        return finder.findPhase5Match(requester.getUserId(), WAITING_STATUS);
+    }
+
+    private int birthYearMin() {
+        return requester.getBirthYear() - AGE_TOLERANCE_YEARS;
+    }
+
+    private int birthYearMax() {
+        return requester.getBirthYear() + AGE_TOLERANCE_YEARS;
+    }
+}
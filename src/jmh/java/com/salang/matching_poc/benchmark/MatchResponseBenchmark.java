@@ -0,0 +1,66 @@
+package com.salang.matching_poc.benchmark;
+
+import java.time.OffsetDateTime;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.salang.matching_poc.controller.dto.MatchResponse;
+
+/* 매칭 요청 응답 생성과 JSON 직렬화. ObjectMapper는 Spring Boot 기본 설정(날짜 ISO 문자열)과 동일하게 구성 */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class MatchResponseBenchmark {
+
+    private static final String WAITING_MESSAGE = "매칭 대기열에 등록되었습니다. 매칭 결과 스트림(SSE) 또는 Supabase Realtime을 통해 매칭 결과를 기다려주세요.";
+
+    private ObjectMapper objectMapper;
+    private UUID roomId;
+    private OffsetDateTime now;
+    private MatchResponse<?> matched;
+    private MatchResponse<?> waiting;
+
+    @Setup
+    public void setUp() {
+        objectMapper = JsonMapper.builder()
+                .findAndAddModules()
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+        roomId = UUID.randomUUID();
+        now = OffsetDateTime.now();
+        matched = MatchResponse.matched(roomId, now);
+        waiting = MatchResponse.waiting(WAITING_MESSAGE, now);
+    }
+
+    @Benchmark
+    public MatchResponse<?> createMatched() {
+        return MatchResponse.matched(roomId, now);
+    }
+
+    @Benchmark
+    public MatchResponse<?> createWaiting() {
+        return MatchResponse.waiting(WAITING_MESSAGE, now);
+    }
+
+    @Benchmark
+    public byte[] serializeMatched() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(matched);
+    }
+
+    @Benchmark
+    public byte[] serializeWaiting() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(waiting);
+    }
+}
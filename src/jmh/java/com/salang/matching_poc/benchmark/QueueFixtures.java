@@ -0,0 +1,94 @@
+package com.salang.matching_poc.benchmark;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Proxy;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+
+import com.salang.matching_poc.model.entity.MatchQueue;
+import com.salang.matching_poc.model.enums.Gender;
+import com.salang.matching_poc.model.enums.Region;
+import com.salang.matching_poc.model.enums.Tier;
+import com.salang.matching_poc.repository.MatchQueueRepository;
+import com.salang.matching_poc.service.HobbyBitmap;
+import com.salang.matching_poc.service.MatchCandidate;
+
+/*
+ * 벤치마크용 대기열 데이터. 시드 고정이라 커밋 간 같은 분포로 비교 가능.
+ * 성별 반반, 지역·출생연도(1980~2004)·등급 균등, 취미 2~3개(1~40), 대기 0~60초.
+ */
+final class QueueFixtures {
+
+    static final LocalDateTime NOW = LocalDateTime.of(2025, 1, 1, 12, 0);
+    static final int HOBBY_COUNT = 40;
+
+    private static final long SEED = 42L;
+    private static final Gender[] GENDERS = Gender.values();
+    private static final Region[] REGIONS = Region.values();
+    private static final Tier[] TIERS = Tier.values();
+
+    private QueueFixtures() {
+    }
+
+    static List<MatchQueue> queues(int size) {
+        Random random = new Random(SEED);
+        List<MatchQueue> queues = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            MatchQueue queue = MatchQueue.builder()
+                    .userId(new UUID(SEED, i))
+                    .gender(GENDERS[random.nextInt(GENDERS.length)])
+                    .region(REGIONS[random.nextInt(REGIONS.length)])
+                    .birthYear(1980 + random.nextInt(25))
+                    .tier(TIERS[random.nextInt(TIERS.length)])
+                    .hobbyIds(hobbyIds(random, 2 + random.nextInt(2)))
+                    .build();
+            setField(queue, "queueId", (long) i + 1);
+            setField(queue, "createdAt", NOW.minusNanos(random.nextLong(60_000_000_000L)));
+            queues.add(queue);
+        }
+        return queues;
+    }
+
+    static List<MatchCandidate> candidates(int size) {
+        return queues(size).stream().map(QueueFixtures::toCandidate).toList();
+    }
+
+    static MatchCandidate toCandidate(MatchQueue queue) {
+        return new MatchCandidate(queue.getQueueId(), queue.getUserId(), queue.getGender(), queue.getRegion(),
+                queue.getBirthYear(), queue.getTier(), HobbyBitmap.of(queue.getHobbyIds()), queue.getCreatedAt());
+    }
+
+    static Integer[] hobbyIds(Random random, int count) {
+        Integer[] hobbyIds = new Integer[count];
+        for (int i = 0; i < count; i++) {
+            hobbyIds[i] = 1 + random.nextInt(HOBBY_COUNT);
+        }
+        return hobbyIds;
+    }
+
+    /* MatchQueueMatchFinderH2가 쓰는 findByStatus만 응답하는 저장소. DB·Spring 컨텍스트 없이 필터링 비용만 측정 */
+    static MatchQueueRepository repositoryOf(List<MatchQueue> queues) {
+        return (MatchQueueRepository) Proxy.newProxyInstance(
+                MatchQueueRepository.class.getClassLoader(),
+                new Class<?>[] { MatchQueueRepository.class },
+                (proxy, method, args) -> {
+                    if (method.getName().equals("findByStatus")) {
+                        return queues;
+                    }
+                    throw new UnsupportedOperationException(method.getName());
+                });
+    }
+
+    private static void setField(MatchQueue queue, String name, Object value) {
+        try {
+            Field field = MatchQueue.class.getDeclaredField(name);
+            field.setAccessible(true);
+            field.set(queue, value);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package com.salang.matching_poc.loadtest;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * 대상 DB 누적 카운터 스냅샷. 두 스냅샷의 차이로 리플레이 구간의 쿼리·트랜잭션 수 계산.
+ * 구문 수는 pg_stat_statements가 설치된 경우에만 집계(-1이면 미설치). 카운터는 통계 수집 주기만큼 늦게 반영될 수 있음.
+ */
+record DbCounters(long statements, long transactions) {
+
+    private static final String TRANSACTIONS_SQL =
+            "select xact_commit + xact_rollback from pg_stat_database where datname = current_database()";
+
+    private static final String STATEMENTS_AND_TRANSACTIONS_SQL =
+            "select (" + TRANSACTIONS_SQL + "), (select coalesce(sum(calls), 0) from pg_stat_statements)";
+
+    static boolean statementsAvailable(Connection connection) throws SQLException {
+        try (Statement statement = connection.createStatement();
+                ResultSet rs = statement.executeQuery(
+                        "select exists (select 1 from pg_extension where extname = 'pg_stat_statements')")) {
+            rs.next();
+            return rs.getBoolean(1);
+        }
+    }
+
+    /** 스냅샷 조회 자체도 구문 1개·트랜잭션 1개로 집계됨. */
+    static DbCounters snapshot(Connection connection, boolean statementsAvailable) throws SQLException {
+        try (Statement statement = connection.createStatement();
+                ResultSet rs = statement.executeQuery(
+                        statementsAvailable ? STATEMENTS_AND_TRANSACTIONS_SQL : TRANSACTIONS_SQL)) {
+            rs.next();
+            return new DbCounters(statementsAvailable ? rs.getLong(2) : -1, rs.getLong(1));
+        }
+    }
+
+    /** 이 도구가 실행한 쿼리(ownQueries, 쿼리마다 자동 커밋 트랜잭션 1개)는 제외한 증가분. */
+    DbCounters since(DbCounters before, long ownQueries) {
+        long statementDelta = statements < 0 ? -1 : statements - before.statements - ownQueries;
+        return new DbCounters(statementDelta, transactions - before.transactions - ownQueries);
+    }
+}
@@ -0,0 +1,46 @@
+package com.salang.matching_poc.loadtest;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.util.List;
+
+/**
+ * 매칭 부하 리플레이 도구. 로컬에서 실행 중인 인스턴스와 그 DB를 대상으로 함.
+ *
+ * <pre>
+ * # 트레이스 생성: DB의 사용자 2000명, 초당 50명 도착, 5%는 평균 10초 뒤 취소
+ * ./gradlew loadReplay -PreplayArgs="--generate --users=2000 --rate=50 --cancel-ratio=0.05 --jdbc-url=... --db-password=..."
+ * # 재생: 2배속, 결과 JSON 저장
+ * ./gradlew loadReplay -PreplayArgs="--speed=2 --report-json=build/loadtest/report.json --jdbc-url=... --db-password=..."
+ * </pre>
+ *
+ * 트레이스 기본 경로는 build/loadtest/requests.jsonl (한 줄에 TraceEvent 하나).
+ */
+public final class MatchLoadReplay {
+
+    private MatchLoadReplay() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        ReplayOptions options = ReplayOptions.parse(args);
+        try (Connection connection = DriverManager.getConnection(
+                options.jdbcUrl(), options.dbUser(), options.dbPassword())) {
+            connection.setAutoCommit(true);
+            if (options.generate()) {
+                List<TraceEvent> events = TraceFile.generate(connection, options);
+                TraceFile.write(options.trace(), events);
+                System.out.printf("%s: 이벤트 %d개 생성%n", options.trace(), events.size());
+                return;
+            }
+
+            List<TraceEvent> events = TraceFile.read(options.trace());
+            System.out.printf("%s: 이벤트 %d개 재생 (x%.1f) → %s%n",
+                    options.trace(), events.size(), options.speed(), options.baseUrl());
+            ReplayReport report = new MatchReplayer(options, connection).replay(events);
+            report.print(System.out);
+            if (options.reportJson() != null) {
+                report.writeJson(options.reportJson());
+            }
+        }
+    }
+}
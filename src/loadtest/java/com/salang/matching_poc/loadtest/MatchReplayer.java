@@ -0,0 +1,207 @@
+package com.salang.matching_poc.loadtest;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * 트레이스를 시각 그대로(speed 배속) POST·DELETE /api/v1/match로 재생하고 rooms 테이블을 주기 조회해 time-to-match 계산.
+ * 대기(WAITING) 응답을 받은 사용자는 자신이 포함된 룸이 생성된 시각까지를, MATCHED 응답은 응답 수신까지를 time-to-match로 기록.
+ */
+final class MatchReplayer {
+
+    /* 룸 생성과 POST 응답 처리 순서가 뒤바뀌어도 다시 볼 수 있도록 워터마크보다 앞을 겹쳐 조회 */
+    private static final Duration ROOM_SCAN_OVERLAP = Duration.ofSeconds(10);
+
+    private static final String SELECT_ROOMS_SQL = """
+            select room_id, user1_id, user2_id, created_at from rooms
+            where created_at >= ?
+            order by created_at
+            """;
+
+    private static final ObjectMapper objectMapper = new ObjectMapper();
+
+    private final ReplayOptions options;
+    private final Connection connection;
+    private final HttpClient httpClient = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(5)).build();
+    private final ReplayReport report = new ReplayReport();
+
+    private final Map<UUID, LocalDateTime> requestedAt = new ConcurrentHashMap<>();
+    private final Set<UUID> inFlight = ConcurrentHashMap.newKeySet();
+    private final Set<UUID> waiting = ConcurrentHashMap.newKeySet();
+    private final Set<UUID> countedRooms = ConcurrentHashMap.newKeySet();
+    private final AtomicLong ownQueries = new AtomicLong();
+    private volatile LocalDateTime roomWatermark;
+
+    MatchReplayer(ReplayOptions options, Connection connection) {
+        this.options = options;
+        this.connection = connection;
+    }
+
+    ReplayReport replay(List<TraceEvent> events) throws SQLException, InterruptedException {
+        boolean statementsAvailable = DbCounters.statementsAvailable(connection);
+        DbCounters before = DbCounters.snapshot(connection, statementsAvailable);
+
+        roomWatermark = LocalDateTime.now();
+        long startNanos = System.nanoTime();
+        ScheduledExecutorService poller = Executors.newSingleThreadScheduledExecutor();
+        poller.scheduleWithFixedDelay(this::pollRoomsQuietly, options.pollMillis(), options.pollMillis(),
+                TimeUnit.MILLISECONDS);
+
+        List<CompletableFuture<?>> responses = new ArrayList<>();
+        for (TraceEvent event : events) {
+            long dueNanos = startNanos + (long) (TimeUnit.MILLISECONDS.toNanos(event.offsetMillis()) / options.speed());
+            long delay;
+            while ((delay = dueNanos - System.nanoTime()) > 0) {
+                LockSupport.parkNanos(delay);
+            }
+            responses.add(event.action() == TraceEvent.Action.REQUEST
+                    ? request(event.userId())
+                    : cancel(event.userId()));
+        }
+        CompletableFuture.allOf(responses.toArray(CompletableFuture[]::new)).join();
+
+        long drainDeadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(options.drainSeconds());
+        while (!waiting.isEmpty() && System.nanoTime() < drainDeadline) {
+            Thread.sleep(options.pollMillis());
+        }
+        poller.shutdown();
+        poller.awaitTermination(10, TimeUnit.SECONDS);
+        pollRooms();
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+
+        long unmatched = waiting.size();
+        if (options.cleanup()) {
+            List<CompletableFuture<?>> cancels = new ArrayList<>();
+            for (UUID userId : waiting) {
+                cancels.add(send("DELETE", userId).thenAccept(response -> { }));
+            }
+            CompletableFuture.allOf(cancels.toArray(CompletableFuture[]::new)).join();
+        }
+
+        Thread.sleep(1000); // 통계 카운터 반영 대기
+        DbCounters after = DbCounters.snapshot(connection, statementsAvailable);
+        report.finish(elapsedMillis, unmatched, after.since(before, ownQueries.get() + 1));
+        return report;
+    }
+
+    private CompletableFuture<?> request(UUID userId) {
+        requestedAt.put(userId, LocalDateTime.now());
+        inFlight.add(userId);
+        long sentNanos = System.nanoTime();
+        return send("POST", userId).handle((response, error) -> {
+            long latencyMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - sentNanos);
+            if (error != null) {
+                report.recordResponse("POST", -1, latencyMillis);
+            } else {
+                report.recordResponse("POST", response.statusCode(), latencyMillis);
+                String status = status(response.body());
+                if ("MATCHED".equals(status)) {
+                    report.recordIntercept(latencyMillis);
+                } else if ("WAITING".equals(status)) {
+                    waiting.add(userId);
+                }
+            }
+            inFlight.remove(userId);
+            return null;
+        });
+    }
+
+    private CompletableFuture<?> cancel(UUID userId) {
+        long sentNanos = System.nanoTime();
+        return send("DELETE", userId).handle((response, error) -> {
+            long latencyMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - sentNanos);
+            report.recordResponse("DELETE", error != null ? -1 : response.statusCode(), latencyMillis);
+            if (error == null && response.statusCode() == 204 && waiting.remove(userId)) {
+                report.recordCancelled();
+            }
+            return null;
+        });
+    }
+
+    private CompletableFuture<HttpResponse<String>> send(String method, UUID userId) {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(options.baseUrl() + "/api/v1/match"))
+                .timeout(Duration.ofSeconds(30))
+                .header("Content-Type", "application/json")
+                .method(method, HttpRequest.BodyPublishers.ofString("{\"user_id\":\"" + userId + "\"}"))
+                .build();
+        return httpClient.sendAsync(request, HttpResponse.BodyHandlers.ofString());
+    }
+
+    private void pollRoomsQuietly() {
+        try {
+            pollRooms();
+        } catch (SQLException e) {
+            System.err.println("rooms 조회 실패: " + e.getMessage());
+        }
+    }
+
+    /* 대기 중인 트레이스 사용자가 포함된 룸만 집계. 응답 대기 중인 사용자는 다음 조회(겹침 구간)에서 처리 */
+    private synchronized void pollRooms() throws SQLException {
+        ownQueries.incrementAndGet();
+        LocalDateTime latest = roomWatermark;
+        try (PreparedStatement statement = connection.prepareStatement(SELECT_ROOMS_SQL)) {
+            statement.setTimestamp(1, Timestamp.valueOf(roomWatermark.minus(ROOM_SCAN_OVERLAP)));
+            try (ResultSet rs = statement.executeQuery()) {
+                while (rs.next()) {
+                    UUID roomId = rs.getObject(1, UUID.class);
+                    LocalDateTime createdAt = rs.getTimestamp(4).toLocalDateTime();
+                    boolean traced = matched(rs.getObject(2, UUID.class), createdAt)
+                            | matched(rs.getObject(3, UUID.class), createdAt);
+                    if (traced && countedRooms.add(roomId)) {
+                        report.recordRoom();
+                    }
+                    if (createdAt.isAfter(latest)) {
+                        latest = createdAt;
+                    }
+                }
+            }
+        }
+        roomWatermark = latest;
+    }
+
+    private boolean matched(UUID userId, LocalDateTime roomCreatedAt) {
+        LocalDateTime requested = requestedAt.get(userId);
+        if (requested == null) {
+            return false;
+        }
+        if (waiting.remove(userId)) {
+            report.recordScheduled(ChronoUnit.MILLIS.between(requested, roomCreatedAt));
+        }
+        return true;
+    }
+
+    private static String status(String body) {
+        try {
+            JsonNode status = objectMapper.readTree(body).get("status");
+            return status == null ? null : status.asText();
+        } catch (IOException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package com.salang.matching_poc.loadtest;
+
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 명령행 옵션 (--key=value). 값이 없는 --generate는 true.
+ * 대상 인스턴스·DB는 로컬 실행을 전제로 하며 시각 비교(rooms.created_at)를 위해 같은 호스트 시계를 사용.
+ */
+record ReplayOptions(
+        boolean generate,
+        Path trace,
+        String baseUrl,
+        String jdbcUrl,
+        String dbUser,
+        String dbPassword,
+        double speed,
+        long drainSeconds,
+        long pollMillis,
+        boolean cleanup,
+        Path reportJson,
+        int users,
+        double rate,
+        double cancelRatio,
+        long cancelAfterMillis,
+        long seed) {
+
+    static ReplayOptions parse(String[] args) {
+        Map<String, String> values = new HashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--")) {
+                throw new IllegalArgumentException("알 수 없는 인자: " + arg);
+            }
+            int eq = arg.indexOf('=');
+            if (eq < 0) {
+                values.put(arg.substring(2), "true");
+            } else {
+                values.put(arg.substring(2, eq), arg.substring(eq + 1));
+            }
+        }
+        String reportJson = values.get("report-json");
+        return new ReplayOptions(
+                Boolean.parseBoolean(values.getOrDefault("generate", "false")),
+                Path.of(values.getOrDefault("trace", "build/loadtest/requests.jsonl")),
+                values.getOrDefault("base-url", "http://localhost:8080"),
+                values.getOrDefault("jdbc-url", "jdbc:postgresql://localhost:5432/postgres"),
+                values.getOrDefault("db-user", "postgres"),
+                values.getOrDefault("db-password", ""),
+                Double.parseDouble(values.getOrDefault("speed", "1")),
+                Long.parseLong(values.getOrDefault("drain-seconds", "40")),
+                Long.parseLong(values.getOrDefault("poll-ms", "200")),
+                Boolean.parseBoolean(values.getOrDefault("cleanup", "true")),
+                reportJson == null ? null : Path.of(reportJson),
+                Integer.parseInt(values.getOrDefault("users", "1000")),
+                Double.parseDouble(values.getOrDefault("rate", "20")),
+                Double.parseDouble(values.getOrDefault("cancel-ratio", "0")),
+                Long.parseLong(values.getOrDefault("cancel-after-ms", "10000")),
+                Long.parseLong(values.getOrDefault("seed", "42")));
+    }
+}
@@ -0,0 +1,129 @@
+package com.salang.matching_poc.loadtest;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.HdrHistogram.Histogram;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.salang.matching_poc.model.enums.MatchPhase;
+
+/**
+ * 리플레이 결과 집계. time-to-match(ms)는 단계별 HdrHistogram.
+ * INTERCEPT = POST 응답이 바로 MATCHED, PHASE_n = 대기 후 스케줄러 매칭이며 매칭 시점의 대기 시간으로 단계 구분.
+ * HTTP 응답 스레드와 룸 조회 스레드에서 함께 기록하므로 메서드 단위로 동기화.
+ */
+final class ReplayReport {
+
+    static final String INTERCEPT = "INTERCEPT";
+
+    private static final int SIGNIFICANT_DIGITS = 3;
+
+    private final Map<String, Histogram> timeToMatch = new LinkedHashMap<>();
+    private final Histogram requestLatency = new Histogram(SIGNIFICANT_DIGITS);
+    private final Map<String, Long> httpStatuses = new TreeMap<>();
+    private long rooms;
+    private long cancelled;
+    private long unmatched;
+    private long elapsedMillis;
+    private DbCounters db;
+
+    ReplayReport() {
+        timeToMatch.put(INTERCEPT, new Histogram(SIGNIFICANT_DIGITS));
+        for (MatchPhase phase : MatchPhase.values()) {
+            timeToMatch.put(phase.name(), new Histogram(SIGNIFICANT_DIGITS));
+        }
+    }
+
+    synchronized void recordIntercept(long timeToMatchMillis) {
+        timeToMatch.get(INTERCEPT).recordValue(Math.max(0, timeToMatchMillis));
+    }
+
+    synchronized void recordScheduled(long timeToMatchMillis) {
+        long millis = Math.max(0, timeToMatchMillis);
+        timeToMatch.get(MatchPhase.fromWaitingSeconds(millis / 1000).name()).recordValue(millis);
+    }
+
+    synchronized void recordResponse(String method, int status, long latencyMillis) {
+        httpStatuses.merge(method + " " + status, 1L, Long::sum);
+        if (method.equals("POST")) {
+            requestLatency.recordValue(Math.max(0, latencyMillis));
+        }
+    }
+
+    synchronized void recordRoom() {
+        rooms++;
+    }
+
+    synchronized void recordCancelled() {
+        cancelled++;
+    }
+
+    synchronized void finish(long elapsedMillis, long unmatched, DbCounters db) {
+        this.elapsedMillis = elapsedMillis;
+        this.unmatched = unmatched;
+        this.db = db;
+    }
+
+    synchronized void print(PrintStream out) {
+        out.printf("elapsed %.1fs, rooms %d (%.2f matches/s), cancelled %d, unmatched %d%n",
+                elapsedMillis / 1000.0, rooms, matchesPerSecond(), cancelled, unmatched);
+        out.printf("%-10s %8s %9s %9s %9s %9s %9s%n", "ttm(ms)", "count", "p50", "p90", "p99", "p99.9", "max");
+        timeToMatch.forEach((name, histogram) -> printRow(out, name, histogram));
+        printRow(out, "POST(ms)", requestLatency);
+        out.println("http " + httpStatuses);
+        if (db != null) {
+            out.printf("db statements %s, transactions %d (이 도구의 조회 제외)%n",
+                    db.statements() < 0 ? "n/a (pg_stat_statements 없음)" : db.statements(), db.transactions());
+        }
+    }
+
+    synchronized void writeJson(Path path) throws IOException {
+        Map<String, Object> json = new LinkedHashMap<>();
+        json.put("elapsed_ms", elapsedMillis);
+        json.put("rooms", rooms);
+        json.put("matches_per_second", matchesPerSecond());
+        json.put("cancelled", cancelled);
+        json.put("unmatched", unmatched);
+        Map<String, Object> ttm = new LinkedHashMap<>();
+        timeToMatch.forEach((name, histogram) -> ttm.put(name, summary(histogram)));
+        json.put("time_to_match_ms", ttm);
+        json.put("request_latency_ms", summary(requestLatency));
+        json.put("http_status", httpStatuses);
+        if (db != null) {
+            json.put("db_statements", db.statements());
+            json.put("db_transactions", db.transactions());
+        }
+        if (path.getParent() != null) {
+            Files.createDirectories(path.getParent());
+        }
+        new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(path.toFile(), json);
+    }
+
+    private double matchesPerSecond() {
+        return elapsedMillis == 0 ? 0 : rooms * 1000.0 / elapsedMillis;
+    }
+
+    private static void printRow(PrintStream out, String name, Histogram histogram) {
+        out.printf("%-10s %8d %9d %9d %9d %9d %9d%n", name, histogram.getTotalCount(),
+                histogram.getValueAtPercentile(50), histogram.getValueAtPercentile(90),
+                histogram.getValueAtPercentile(99), histogram.getValueAtPercentile(99.9), histogram.getMaxValue());
+    }
+
+    private static Map<String, Long> summary(Histogram histogram) {
+        Map<String, Long> summary = new LinkedHashMap<>();
+        summary.put("count", histogram.getTotalCount());
+        summary.put("p50", histogram.getValueAtPercentile(50));
+        summary.put("p90", histogram.getValueAtPercentile(90));
+        summary.put("p99", histogram.getValueAtPercentile(99));
+        summary.put("p999", histogram.getValueAtPercentile(99.9));
+        summary.put("max", histogram.getMaxValue());
+        return summary;
+    }
+}
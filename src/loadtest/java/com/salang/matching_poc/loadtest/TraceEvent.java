@@ -0,0 +1,22 @@
+package com.salang.matching_poc.loadtest;
+
+import java.util.UUID;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+/**
+ * 도착 트레이스 한 줄. offset_ms는 트레이스 시작 기준 시각.
+ * 예: {"offset_ms":1200,"user_id":"…","action":"REQUEST"}
+ */
+record TraceEvent(
+        @JsonProperty("offset_ms") long offsetMillis,
+        @JsonProperty("user_id") UUID userId,
+        @JsonProperty("action") Action action) {
+
+    enum Action {
+        /** POST /api/v1/match */
+        REQUEST,
+        /** DELETE /api/v1/match */
+        CANCEL
+    }
+}
@@ -0,0 +1,98 @@
+package com.salang.matching_poc.loadtest;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/** JSONL 도착 트레이스 읽기·쓰기와 DB 사용자 기반 트레이스 생성. */
+final class TraceFile {
+
+    /* 취미가 있고 대기열에 없는 사용자. 트레이스의 사용자는 한 번씩만 등록 */
+    private static final String SELECT_USERS_SQL = """
+            select u.id from users u
+            where exists (select 1 from user_hobbies h where h.user_id = u.id)
+              and not exists (select 1 from match_queue q where q.user_id = u.id)
+            order by md5(u.id::text || ?)
+            limit ?
+            """;
+
+    private static final ObjectMapper objectMapper = new ObjectMapper();
+
+    private TraceFile() {
+    }
+
+    static List<TraceEvent> read(Path path) throws IOException {
+        List<TraceEvent> events = new ArrayList<>();
+        try (BufferedReader reader = Files.newBufferedReader(path)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (!line.isBlank()) {
+                    events.add(objectMapper.readValue(line, TraceEvent.class));
+                }
+            }
+        }
+        events.sort(Comparator.comparingLong(TraceEvent::offsetMillis));
+        return events;
+    }
+
+    static void write(Path path, List<TraceEvent> events) throws IOException {
+        if (path.getParent() != null) {
+            Files.createDirectories(path.getParent());
+        }
+        try (BufferedWriter writer = Files.newBufferedWriter(path)) {
+            for (TraceEvent event : events) {
+                writer.write(objectMapper.writeValueAsString(event));
+                writer.newLine();
+            }
+        }
+    }
+
+    /*
+     * 포아송 도착(초당 rate명). cancelRatio 비율의 사용자는 평균 cancelAfterMillis(지수 분포) 뒤 취소.
+     * 사용자 선택·도착 간격 모두 seed로 고정.
+     */
+    static List<TraceEvent> generate(Connection connection, ReplayOptions options) throws SQLException {
+        List<UUID> userIds = new ArrayList<>();
+        try (PreparedStatement statement = connection.prepareStatement(SELECT_USERS_SQL)) {
+            statement.setString(1, Long.toString(options.seed()));
+            statement.setInt(2, options.users());
+            try (ResultSet rs = statement.executeQuery()) {
+                while (rs.next()) {
+                    userIds.add(rs.getObject(1, UUID.class));
+                }
+            }
+        }
+
+        Random random = new Random(options.seed());
+        List<TraceEvent> events = new ArrayList<>();
+        double offsetMillis = 0;
+        for (UUID userId : userIds) {
+            offsetMillis += exponential(random, 1000.0 / options.rate());
+            long requestedAt = Math.round(offsetMillis);
+            events.add(new TraceEvent(requestedAt, userId, TraceEvent.Action.REQUEST));
+            if (random.nextDouble() < options.cancelRatio()) {
+                long cancelAt = requestedAt + Math.round(exponential(random, options.cancelAfterMillis()));
+                events.add(new TraceEvent(cancelAt, userId, TraceEvent.Action.CANCEL));
+            }
+        }
+        events.sort(Comparator.comparingLong(TraceEvent::offsetMillis));
+        return events;
+    }
+
+    private static double exponential(Random random, double mean) {
+        return -Math.log(1 - random.nextDouble()) * mean;
+    }
+}
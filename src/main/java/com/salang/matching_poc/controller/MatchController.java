@@ -1,15 +1,24 @@
 package com.salang.matching_poc.controller;
 
+import java.util.UUID;
+
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import com.salang.matching_poc.constants.MatchingConstants;
 import com.salang.matching_poc.controller.dto.MatchRequest;
 import com.salang.matching_poc.controller.dto.MatchResponse;
+import com.salang.matching_poc.service.MatchInterceptBatcher;
+import com.salang.matching_poc.service.MatchPresenceTracker;
+import com.salang.matching_poc.service.MatchResultStream;
 import com.salang.matching_poc.service.MatchService;
 
 import jakarta.validation.Valid;
@@ -21,10 +30,15 @@ import lombok.RequiredArgsConstructor;
 public class MatchController {
 
     private final MatchService matchService;
+    private final MatchPresenceTracker matchPresenceTracker;
+    private final MatchResultStream matchResultStream;
+    /* matching.intercept.batch.enabled=true일 때만 존재 */
+    private final ObjectProvider<MatchInterceptBatcher> matchInterceptBatcher;
 
     @PostMapping
     public ResponseEntity<MatchResponse<?>> requestMatch(@RequestBody @Valid MatchRequest request) {
-        MatchResponse<?> response = matchService.requestMatch(request);
+        MatchInterceptBatcher batcher = matchInterceptBatcher.getIfAvailable();
+        MatchResponse<?> response = batcher != null ? batcher.requestMatch(request) : matchService.requestMatch(request);
         if (MatchingConstants.WAITING_STATUS.equals(response.getStatus())) {
             return ResponseEntity.accepted().body(response);
         }
@@ -36,4 +50,20 @@ public class MatchController {
         matchService.cancelMatch(request);
         return ResponseEntity.noContent().build();
     }
+
+    /** 대기 중 생존 신호. 메모리에만 기록하고 DB 반영은 MatchPresenceSweeper가 일괄 처리. */
+    @PostMapping("/heartbeat")
+    public ResponseEntity<Void> heartbeat(@RequestBody @Valid MatchRequest request) {
+        matchPresenceTracker.heartbeat(request.userId());
+        return ResponseEntity.noContent().build();
+    }
+
+    /**
+     * 대기 중 매칭 결과 SSE 구독 (EventSource는 GET만 지원하므로 user_id는 쿼리 파라미터).
+     * 확정되면 matched 이벤트(POST 응답과 같은 형식) 1건 후 종료. Supabase Realtime rooms INSERT 구독 대체.
+     */
+    @GetMapping("/stream")
+    public SseEmitter streamResult(@RequestParam("user_id") UUID userId) {
+        return matchResultStream.subscribe(userId);
+    }
 }
@@ -20,6 +20,7 @@ import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.Index;
 import jakarta.persistence.PrePersist;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
 import lombok.AccessLevel;
 import lombok.Builder;
@@ -31,13 +32,16 @@ import lombok.Setter;
 @Table(name = "match_queue", indexes = {
         @Index(name = "idx_match_queue_status", columnList = "status"),
         @Index(name = "idx_match_queue_created_at", columnList = "created_at")
-}) // 해당 쿼리문은 복합 인덱스 개선 여지가 있음. 고려 필요
+}) // 단계별 매칭용 WAITING 부분 복합 인덱스는 Flyway V4·V8에서 관리 (JPA 인덱스 선언으로 표현 불가)
 @Getter
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
 public class MatchQueue {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    // 운영 등록은 MatchQueueWriter의 INSERT 문장이 컬럼 기본값(nextval)으로 발급. 증분 1은 BIGSERIAL 시퀀스 기본값과 일치
+    // (미리 받은 번호 블록을 쓰면 다른 노드보다 작은 번호로 늦게 등록돼 스케줄러 증분 조회 워터마크 아래로 들어감)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "match_queue_seq")
+    @SequenceGenerator(name = "match_queue_seq", sequenceName = "match_queue_queue_id_seq", allocationSize = 1)
     @Column(name = "queue_id")
     private Long queueId;
 
@@ -71,11 +75,27 @@ public class MatchQueue {
     @Column(name = "created_at", nullable = false, updatable = false)
     private LocalDateTime createdAt;
 
+    // 마지막 heartbeat 시각. MatchPresenceTracker가 모아서 주기적으로 반영 (요청마다 쓰지 않음)
+    @Column(name = "last_seen_at", nullable = false)
+    private LocalDateTime lastSeenAt;
+
+    // 파트너 조회 lease. 선점한 노드와 만료 시각 (MatchQueueWriter.leasePhase1Partner, 확정 시 해제)
+    @Column(name = "claimed_by", length = 64)
+    @Setter
+    private String claimedBy;
+
+    @Column(name = "lease_until")
+    @Setter
+    private LocalDateTime leaseUntil;
+
     @PrePersist
     protected void onCreate() {
         if (createdAt == null) {
             createdAt = LocalDateTime.now();
         }
+        if (lastSeenAt == null) {
+            lastSeenAt = createdAt;
+        }
     }
 
     @Builder
@@ -10,4 +10,8 @@ public enum Gender {
     FEMALE("여성");
 
     private final String description;
+
+    public Gender opposite() {
+        return this == MALE ? FEMALE : MALE;
+    }
 }
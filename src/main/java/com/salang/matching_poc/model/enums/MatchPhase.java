@@ -0,0 +1,31 @@
+package com.salang.matching_poc.model.enums;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/** 대기 시간에 따라 완화되는 매칭 단계. docs/matching_rule.md 참고. */
+@Getter
+@RequiredArgsConstructor
+public enum MatchPhase {
+    PHASE_1(0, "모든 조건 만족"),
+    PHASE_2(5, "취미 조건 완화"),
+    PHASE_3(10, "지역 조건 완화"),
+    PHASE_4(20, "나이 조건 완화"),
+    PHASE_5(30, "성별 조건 완화");
+
+    private static final MatchPhase[] PHASES = values();
+
+    /** 이 단계가 적용되는 최소 대기 시간(초) */
+    private final long minWaitingSeconds;
+    private final String description;
+
+    /** 대기 시간(초)에 해당하는 단계. 가장 완화된 단계부터 확인. */
+    public static MatchPhase fromWaitingSeconds(long waitingSeconds) {
+        for (int i = PHASES.length - 1; i > 0; i--) {
+            if (waitingSeconds >= PHASES[i].minWaitingSeconds) {
+                return PHASES[i];
+            }
+        }
+        return PHASE_1;
+    }
+}
@@ -2,6 +2,10 @@ package com.salang.matching_poc.repository;
 
 import com.salang.matching_poc.model.entity.Hobby;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 
 public interface HobbyRepository extends JpaRepository<Hobby, Integer> {
+
+    @Query("select coalesce(max(h.id), 0) from Hobby h")
+    int findMaxId();
 }
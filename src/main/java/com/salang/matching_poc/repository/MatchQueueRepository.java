@@ -1,5 +1,7 @@
 package com.salang.matching_poc.repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -12,6 +14,9 @@ import org.springframework.data.repository.query.Param;
 
 import com.salang.matching_poc.model.entity.MatchQueue;
 import com.salang.matching_poc.model.enums.MatchStatus;
+import com.salang.matching_poc.model.enums.Region;
+import com.salang.matching_poc.repository.projection.MatchPairView;
+import com.salang.matching_poc.repository.projection.WaitingQueueDigest;
 
 import jakarta.persistence.LockModeType;
 
@@ -21,6 +26,38 @@ public interface MatchQueueRepository extends JpaRepository<MatchQueue, Long> {
 
         Optional<MatchQueue> findByUserId(UUID userId);
 
+        @Query("select mq.userId from MatchQueue mq where mq.userId in :userIds")
+        List<UUID> findQueuedUserIds(@Param("userIds") Collection<UUID> userIds);
+
+        /* 스케줄러 작업 집합 대조용 집계. 신규 행 적재는 MatchCandidateReader */
+        @Query("""
+                        select count(mq) as count, coalesce(sum(mq.queueId), 0) as queueIdSum
+                        from MatchQueue mq
+                        where mq.status = :status and mq.queueId <= :maxQueueId
+                        """)
+        WaitingQueueDigest digestByStatusUpTo(@Param("status") MatchStatus status,
+                        @Param("maxQueueId") Long maxQueueId);
+
+        @Query("select mq.queueId from MatchQueue mq where mq.status = :status and mq.queueId <= :maxQueueId")
+        List<Long> findQueueIdsByStatusUpTo(@Param("status") MatchStatus status,
+                        @Param("maxQueueId") Long maxQueueId);
+
+        /* 담당 지역 샤드만 적재하는 노드의 작업 집합 대조용 */
+        @Query("""
+                        select count(mq) as count, coalesce(sum(mq.queueId), 0) as queueIdSum
+                        from MatchQueue mq
+                        where mq.status = :status and mq.queueId <= :maxQueueId and mq.region in :regions
+                        """)
+        WaitingQueueDigest digestByStatusUpToInRegions(@Param("status") MatchStatus status,
+                        @Param("maxQueueId") Long maxQueueId, @Param("regions") Collection<Region> regions);
+
+        @Query("""
+                        select mq.queueId from MatchQueue mq
+                        where mq.status = :status and mq.queueId <= :maxQueueId and mq.region in :regions
+                        """)
+        List<Long> findQueueIdsByStatusUpToInRegions(@Param("status") MatchStatus status,
+                        @Param("maxQueueId") Long maxQueueId, @Param("regions") Collection<Region> regions);
+
         @Lock(LockModeType.PESSIMISTIC_WRITE)
         @Query("select mq from MatchQueue mq where mq.userId = :userId and mq.status = :status")
         Optional<MatchQueue> findByUserIdAndStatusForUpdate(@Param("userId") UUID userId,
@@ -31,18 +68,19 @@ public interface MatchQueueRepository extends JpaRepository<MatchQueue, Long> {
                         from match_queue
                         where status = :status
                           and user_id <> :userId
-                          and gender <> :gender
+                          and gender = :partnerGender
                           and tier <> :excludedTier
                           and location = :region
                           and birth_year between :birthYearMin and :birthYearMax
                           and hobby_ids && :hobbyIds
+                          and (lease_until is null or lease_until < localtimestamp)
                         order by created_at
                         limit 1
                         for update skip locked
                         """, nativeQuery = true)
         Optional<MatchQueue> findPhase1Match(
                         @Param("userId") UUID userId,
-                        @Param("gender") String gender,
+                        @Param("partnerGender") String partnerGender,
                         @Param("region") String region,
                         @Param("birthYearMin") Integer birthYearMin,
                         @Param("birthYearMax") Integer birthYearMax,
@@ -55,17 +93,18 @@ public interface MatchQueueRepository extends JpaRepository<MatchQueue, Long> {
                         from match_queue
                         where status = :status
                           and user_id <> :userId
-                          and gender <> :gender
+                          and gender = :partnerGender
                           and tier <> :excludedTier
                           and location = :region
                           and birth_year between :birthYearMin and :birthYearMax
+                          and (lease_until is null or lease_until < localtimestamp)
                         order by created_at
                         limit 1
                         for update skip locked
                         """, nativeQuery = true)
         Optional<MatchQueue> findPhase2Match(
                         @Param("userId") UUID userId,
-                        @Param("gender") String gender,
+                        @Param("partnerGender") String partnerGender,
                         @Param("region") String region,
                         @Param("birthYearMin") Integer birthYearMin,
                         @Param("birthYearMax") Integer birthYearMax,
@@ -77,16 +116,17 @@ public interface MatchQueueRepository extends JpaRepository<MatchQueue, Long> {
                         from match_queue
                         where status = :status
                           and user_id <> :userId
-                          and gender <> :gender
+                          and gender = :partnerGender
                           and tier <> :excludedTier
                           and birth_year between :birthYearMin and :birthYearMax
+                          and (lease_until is null or lease_until < localtimestamp)
                         order by created_at
                         limit 1
                         for update skip locked
                         """, nativeQuery = true)
         Optional<MatchQueue> findPhase3Match(
                         @Param("userId") UUID userId,
-                        @Param("gender") String gender,
+                        @Param("partnerGender") String partnerGender,
                         @Param("birthYearMin") Integer birthYearMin,
                         @Param("birthYearMax") Integer birthYearMax,
                         @Param("excludedTier") String excludedTier,
@@ -97,15 +137,16 @@ public interface MatchQueueRepository extends JpaRepository<MatchQueue, Long> {
                         from match_queue
                         where status = :status
                           and user_id <> :userId
-                          and gender <> :gender
+                          and gender = :partnerGender
                           and tier <> :excludedTier
+                          and (lease_until is null or lease_until < localtimestamp)
                         order by created_at
                         limit 1
                         for update skip locked
                         """, nativeQuery = true)
         Optional<MatchQueue> findPhase4Match(
                         @Param("userId") UUID userId,
-                        @Param("gender") String gender,
+                        @Param("partnerGender") String partnerGender,
                         @Param("excludedTier") String excludedTier,
                         @Param("status") String status);
 
@@ -114,6 +155,7 @@ public interface MatchQueueRepository extends JpaRepository<MatchQueue, Long> {
                         from match_queue
                         where status = :status
                           and user_id <> :userId
+                          and (lease_until is null or lease_until < localtimestamp)
                         order by created_at
                         limit 1
                         for update skip locked
@@ -122,6 +164,130 @@ public interface MatchQueueRepository extends JpaRepository<MatchQueue, Long> {
                         @Param("userId") UUID userId,
                         @Param("status") String status);
 
+        /*
+         * 배치 매칭: 단계 조건을 버킷(partition)으로 나눠 성별별 created_at 순위가 같은 사용자끼리 짝지음.
+         * 성별이 두 가지이므로 순위 조인 결과는 서로 겹치지 않는 쌍. 대상은 queuedBefore 이전 등록자(해당 단계 대기 시간 충족).
+         * 나이는 ageBand 단위 구간(birth_year / ageBand)이 같은 경우만, 취미는 첫 번째 취미가 같은 경우만 짝지어
+         * 단건 조회보다 보수적이지만 항상 단계 조건을 만족. 나머지는 같은 tick에서 스케줄러의 인덱스 매칭이 정확한 단계 조건으로 처리.
+         */
+        @Query(value = """
+                        with ranked as (
+                            select user_id, gender, location, birth_year / :ageBand as age_band, hobby_ids[1] as hobby_key,
+                                   row_number() over (
+                                           partition by location, birth_year / :ageBand, hobby_ids[1], gender
+                                           order by created_at) as rn
+                            from match_queue
+                            where status = :status
+                              and tier <> :excludedTier
+                              and created_at <= :queuedBefore
+                              and (lease_until is null or lease_until < localtimestamp)
+                              and cardinality(hobby_ids) > 0
+                        )
+                        select a.user_id as "user1Id", b.user_id as "user2Id"
+                        from ranked a
+                        join ranked b
+                          on b.location = a.location
+                         and b.age_band = a.age_band
+                         and b.hobby_key = a.hobby_key
+                         and b.rn = a.rn
+                         and b.gender > a.gender
+                        """, nativeQuery = true)
+        List<MatchPairView> findPhase1Pairs(
+                        @Param("queuedBefore") LocalDateTime queuedBefore,
+                        @Param("ageBand") Integer ageBand,
+                        @Param("excludedTier") String excludedTier,
+                        @Param("status") String status);
+
+        @Query(value = """
+                        with ranked as (
+                            select user_id, gender, location, birth_year / :ageBand as age_band,
+                                   row_number() over (
+                                           partition by location, birth_year / :ageBand, gender
+                                           order by created_at) as rn
+                            from match_queue
+                            where status = :status
+                              and tier <> :excludedTier
+                              and created_at <= :queuedBefore
+                              and (lease_until is null or lease_until < localtimestamp)
+                        )
+                        select a.user_id as "user1Id", b.user_id as "user2Id"
+                        from ranked a
+                        join ranked b
+                          on b.location = a.location
+                         and b.age_band = a.age_band
+                         and b.rn = a.rn
+                         and b.gender > a.gender
+                        """, nativeQuery = true)
+        List<MatchPairView> findPhase2Pairs(
+                        @Param("queuedBefore") LocalDateTime queuedBefore,
+                        @Param("ageBand") Integer ageBand,
+                        @Param("excludedTier") String excludedTier,
+                        @Param("status") String status);
+
+        @Query(value = """
+                        with ranked as (
+                            select user_id, gender, birth_year / :ageBand as age_band,
+                                   row_number() over (
+                                           partition by birth_year / :ageBand, gender
+                                           order by created_at) as rn
+                            from match_queue
+                            where status = :status
+                              and tier <> :excludedTier
+                              and created_at <= :queuedBefore
+                              and (lease_until is null or lease_until < localtimestamp)
+                        )
+                        select a.user_id as "user1Id", b.user_id as "user2Id"
+                        from ranked a
+                        join ranked b
+                          on b.age_band = a.age_band
+                         and b.rn = a.rn
+                         and b.gender > a.gender
+                        """, nativeQuery = true)
+        List<MatchPairView> findPhase3Pairs(
+                        @Param("queuedBefore") LocalDateTime queuedBefore,
+                        @Param("ageBand") Integer ageBand,
+                        @Param("excludedTier") String excludedTier,
+                        @Param("status") String status);
+
+        @Query(value = """
+                        with ranked as (
+                            select user_id, gender,
+                                   row_number() over (partition by gender order by created_at) as rn
+                            from match_queue
+                            where status = :status
+                              and tier <> :excludedTier
+                              and created_at <= :queuedBefore
+                              and (lease_until is null or lease_until < localtimestamp)
+                        )
+                        select a.user_id as "user1Id", b.user_id as "user2Id"
+                        from ranked a
+                        join ranked b
+                          on b.rn = a.rn
+                         and b.gender > a.gender
+                        """, nativeQuery = true)
+        List<MatchPairView> findPhase4Pairs(
+                        @Param("queuedBefore") LocalDateTime queuedBefore,
+                        @Param("excludedTier") String excludedTier,
+                        @Param("status") String status);
+
+        /* 5단계는 조건이 없으므로 created_at 순으로 1-2, 3-4, ... 짝지음 */
+        @Query(value = """
+                        with ranked as (
+                            select user_id, row_number() over (order by created_at) as rn
+                            from match_queue
+                            where status = :status
+                              and created_at <= :queuedBefore
+                              and (lease_until is null or lease_until < localtimestamp)
+                        )
+                        select a.user_id as "user1Id", b.user_id as "user2Id"
+                        from ranked a
+                        join ranked b on b.rn = a.rn + 1
+                        where a.rn % 2 = 1
+                        """, nativeQuery = true)
+        List<MatchPairView> findPhase5Pairs(
+                        @Param("queuedBefore") LocalDateTime queuedBefore,
+                        @Param("status") String status);
+
         /**
          * status=oldStatus인 레코드를 newStatus로 원자적으로 변경.
          * @return 변경된 행 수 (2여야 매칭 확정 성공)
@@ -1,8 +1,23 @@
 package com.salang.matching_poc.repository;
 
 import com.salang.matching_poc.model.entity.User;
+import com.salang.matching_poc.repository.projection.MatchProfileRowView;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.List;
 import java.util.UUID;
 
 public interface UserRepository extends JpaRepository<User, UUID> {
+
+    // 매칭 프로필 컬럼과 취미 id를 조회 1회로 적재 (User 엔티티·Hobby 지연 로딩 없음)
+    @Query("""
+            select u.id as userId, u.gender as gender, u.region as region, u.birthDate as birthDate, u.tier as tier,
+                   uh.hobby.id as hobbyId
+            from User u left join UserHobby uh on uh.user = u
+            where u.id in :userIds
+            """)
+    List<MatchProfileRowView> findMatchProfileRows(@Param("userIds") Collection<UUID> userIds);
 }
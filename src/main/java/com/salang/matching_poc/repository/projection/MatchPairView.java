@@ -0,0 +1,11 @@
+package com.salang.matching_poc.repository.projection;
+
+import java.util.UUID;
+
+/** 배치 매칭 쿼리 결과 (서로 겹치지 않는 사용자 쌍). */
+public interface MatchPairView {
+
+    UUID getUser1Id();
+
+    UUID getUser2Id();
+}
@@ -0,0 +1,24 @@
+package com.salang.matching_poc.repository.projection;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+import com.salang.matching_poc.model.enums.Gender;
+import com.salang.matching_poc.model.enums.Region;
+import com.salang.matching_poc.model.enums.Tier;
+
+/** 매칭 프로필 적재용 사용자 컬럼 + 취미 id 1개. 취미 수만큼 행이 반복되고, 취미가 없으면 hobbyId null 1행. */
+public interface MatchProfileRowView {
+
+    UUID getUserId();
+
+    Gender getGender();
+
+    Region getRegion();
+
+    LocalDate getBirthDate();
+
+    Tier getTier();
+
+    Integer getHobbyId();
+}
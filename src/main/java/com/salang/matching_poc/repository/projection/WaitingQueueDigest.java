@@ -0,0 +1,9 @@
+package com.salang.matching_poc.repository.projection;
+
+/** 워터마크 이하 WAITING 행 집계. 스케줄러 작업 집합과 비교해 삭제·매칭·지연 커밋 여부 판단. */
+public interface WaitingQueueDigest {
+
+    long getCount();
+
+    long getQueueIdSum();
+}
@@ -0,0 +1,87 @@
+package com.salang.matching_poc.service;
+
+import java.util.Arrays;
+
+/**
+ * 취미 ID 집합의 long[] 비트맵 표현. 비트 i = 취미 ID i.
+ * 취미 ID는 hobbies 카탈로그의 SERIAL이므로 배열 길이는 카탈로그 크기/64 이하.
+ * 교집합 여부는 워드 단위 AND로 판단하며 할당이 없음 (SQL의 hobby_ids && :hobbyIds 대응).
+ * 생성 시 길이는 사용자의 최대 취미 ID 기준. MatchCandidateIndex는 구성 시 카탈로그 최대 ID 기준 고정 길이로 맞춰(widen)
+ * 같은 길이끼리 분기 없이 비교(intersectsSameWidth).
+ */
+public final class HobbyBitmap {
+
+    public static final long[] EMPTY = new long[0];
+
+    private HobbyBitmap() {
+    }
+
+    public static long[] of(Integer[] hobbyIds) {
+        if (hobbyIds == null || hobbyIds.length == 0) {
+            return EMPTY;
+        }
+        int maxId = -1;
+        for (Integer id : hobbyIds) {
+            if (id != null && id > maxId) {
+                maxId = id;
+            }
+        }
+        if (maxId < 0) {
+            return EMPTY;
+        }
+        long[] words = new long[(maxId >>> 6) + 1];
+        for (Integer id : hobbyIds) {
+            if (id != null && id >= 0) {
+                words[id >>> 6] |= 1L << id;
+            }
+        }
+        return words;
+    }
+
+    /** 취미 ID 0~maxHobbyId를 담는 워드 수. */
+    public static int wordsFor(int maxHobbyId) {
+        return Math.max(maxHobbyId, 0) / 64 + 1;
+    }
+
+    /** words 길이로 맞춘 복사본(짧으면 0을 채우고 길면 자름). 이미 같은 길이면 그대로 반환. */
+    public static long[] widen(long[] bits, int words) {
+        return bits.length == words ? bits : Arrays.copyOf(bits, words);
+    }
+
+    public static boolean intersects(long[] a, long[] b) {
+        int length = Math.min(a.length, b.length);
+        for (int i = 0; i < length; i++) {
+            if ((a[i] & b[i]) != 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /** 길이가 같은 두 비트맵의 교집합 여부. 워드마다 분기하지 않고 AND 결과를 모아 한 번만 판단. */
+    public static boolean intersectsSameWidth(long[] a, long[] b) {
+        long common = 0;
+        for (int i = 0; i < a.length; i++) {
+            common |= a[i] & b[i];
+        }
+        return common != 0;
+    }
+
+    /** 비트맵을 오름차순 취미 ID 배열로 복원 (SQL 배열 파라미터·대기열 저장용). */
+    public static Integer[] toIds(long[] words) {
+        int count = 0;
+        for (long word : words) {
+            count += Long.bitCount(word);
+        }
+        Integer[] ids = new Integer[count];
+        int n = 0;
+        for (int i = 0; i < words.length; i++) {
+            long word = words[i];
+            while (word != 0) {
+                ids[n++] = (i << 6) + Long.numberOfTrailingZeros(word);
+                word &= word - 1;
+            }
+        }
+        return ids;
+    }
+}
@@ -0,0 +1,30 @@
+package com.salang.matching_poc.service;
+
+import org.springframework.stereotype.Component;
+
+import com.salang.matching_poc.repository.HobbyRepository;
+
+import lombok.RequiredArgsConstructor;
+
+/*
+ * hobbies 카탈로그의 최대 ID로 정한 취미 비트맵 워드 수. MatchCandidateIndex 구성 시 모든 비트맵을 이 길이로 맞춤.
+ * 카탈로그는 거의 바뀌지 않으므로 처음 사용할 때 한 번만 조회. 이후 추가된 취미 ID가 더 크면
+ * 인덱스가 후보 중 가장 긴 비트맵 길이로 넓혀 쓰므로 값이 오래되어도 교집합 결과는 같음.
+ */
+@Component
+@RequiredArgsConstructor
+public class HobbyCatalog {
+
+    private final HobbyRepository hobbyRepository;
+
+    private volatile int bitmapWords;
+
+    public int bitmapWords() {
+        int words = bitmapWords;
+        if (words == 0) {
+            words = HobbyBitmap.wordsFor(hobbyRepository.findMaxId());
+            bitmapWords = words;
+        }
+        return words;
+    }
+}
@@ -0,0 +1,31 @@
+package com.salang.matching_poc.service;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import com.salang.matching_poc.constants.MatchingConstants;
+import com.salang.matching_poc.model.enums.Gender;
+import com.salang.matching_poc.model.enums.Region;
+import com.salang.matching_poc.model.enums.Tier;
+
+/** 인메모리 매칭에 필요한 대기열 항목의 불변 스냅샷. 취미는 HobbyBitmap 비트맵으로 보관. MatchCandidateReader·MatchQueueStoreInMemory에서 생성. */
+public record MatchCandidate(
+        long queueId,
+        UUID userId,
+        Gender gender,
+        Region region,
+        Integer birthYear,
+        Tier tier,
+        long[] hobbyBits,
+        LocalDateTime createdAt) {
+
+    /** 1~4단계 대상 여부. SQL의 tier <> EXCLUDED_TIER 와 같이 등급이 없으면 제외. */
+    public boolean isTierEligible() {
+        return tier != null && !tier.name().equals(MatchingConstants.EXCLUDED_TIER);
+    }
+
+    /** 대기 중인 사용자를 요청자로 파트너를 조회할 때 사용. */
+    public MatchProfile toProfile() {
+        return new MatchProfile(userId, gender, region, birthYear, tier, hobbyBits);
+    }
+}
@@ -0,0 +1,199 @@
+package com.salang.matching_poc.service;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+import static com.salang.matching_poc.constants.MatchingConstants.AGE_TOLERANCE_YEARS;
+import com.salang.matching_poc.model.enums.Gender;
+import com.salang.matching_poc.model.enums.MatchPhase;
+import com.salang.matching_poc.model.enums.Region;
+
+/**
+ * 스케줄러 tick 동안 사용하는 대기열 후보 인덱스. 1~5단계 파트너 조회를 DB 없이 처리.
+ * 버킷: 성별 × 지역 × 출생연도(1·2단계), 성별 × 출생연도(3단계), 성별(4단계), 전체(5단계).
+ * 1~4단계 버킷에는 제외 등급이 아닌 후보만 담고, 모든 버킷은 created_at 오름차순.
+ * 취미 비트맵은 구성 시 같은 길이(카탈로그 워드 수, 더 긴 후보가 있으면 그 길이)로 맞춰 1단계 비교에서 길이 확인이 없음.
+ * 스레드 안전하지 않음. tick마다 새로 구성.
+ */
+public final class MatchCandidateIndex {
+
+    private static final Gender[] GENDERS = Gender.values();
+
+    private static final Comparator<MatchCandidate> CREATED_AT_ORDER = Comparator.comparing(
+            MatchCandidate::createdAt, Comparator.nullsLast(Comparator.naturalOrder()));
+
+    private final Map<BucketKey, Bucket> buckets = new HashMap<>();
+    private final Bucket all = new Bucket();
+    private final Map<UUID, Slot> slotsByUserId = new HashMap<>();
+    private final int hobbyWords;
+
+    private MatchCandidateIndex(List<MatchCandidate> sortedCandidates, int hobbyWords) {
+        this.hobbyWords = hobbyWords;
+        for (MatchCandidate candidate : sortedCandidates) {
+            Slot slot = new Slot(candidate, HobbyBitmap.widen(candidate.hobbyBits(), hobbyWords));
+            slotsByUserId.put(candidate.userId(), slot);
+            all.slots.add(slot);
+
+            // SQL의 gender <> :gender, tier <> :excludedTier 는 NULL이면 거짓 → 1~4단계 대상 아님
+            if (candidate.gender() == null || !candidate.isTierEligible()) {
+                continue;
+            }
+            bucket(new BucketKey(candidate.gender(), null, null)).slots.add(slot);
+            if (candidate.birthYear() == null) {
+                continue;
+            }
+            bucket(new BucketKey(candidate.gender(), null, candidate.birthYear())).slots.add(slot);
+            if (candidate.region() != null) {
+                bucket(new BucketKey(candidate.gender(), candidate.region(), candidate.birthYear())).slots.add(slot);
+            }
+        }
+    }
+
+    /** 취미 비트맵 길이를 후보 중 가장 긴 비트맵에 맞춰 구성. */
+    public static MatchCandidateIndex build(Collection<MatchCandidate> candidates) {
+        return build(candidates, 1);
+    }
+
+    /** 취미 비트맵 길이를 hobbyWords(HobbyCatalog)로 맞춰 구성. 더 긴 비트맵의 후보가 있으면 그 길이. */
+    public static MatchCandidateIndex build(Collection<MatchCandidate> candidates, int hobbyWords) {
+        List<MatchCandidate> sorted = new ArrayList<>(candidates);
+        sorted.sort(CREATED_AT_ORDER);
+        int words = hobbyWords;
+        for (MatchCandidate candidate : sorted) {
+            words = Math.max(words, candidate.hobbyBits().length);
+        }
+        return new MatchCandidateIndex(sorted, words);
+    }
+
+    /** 단계 조건을 만족하는 후보 중 가장 오래 기다린 후보. 이미 매칭 처리된 후보와 본인은 제외. */
+    public Optional<MatchCandidate> findPartner(MatchCandidate requester, MatchPhase phase) {
+        if (phase == MatchPhase.PHASE_5) {
+            return Optional.ofNullable(all.first(requester, null)).map(Slot::candidate);
+        }
+        if (requester.gender() == null) {
+            return Optional.empty();
+        }
+
+        Slot best = null;
+        for (Gender gender : GENDERS) {
+            if (gender == requester.gender()) {
+                continue;
+            }
+            best = switch (phase) {
+                case PHASE_1 -> oldestInAgeRange(best, requester, gender, true, hobbyBitsOf(requester));
+                case PHASE_2 -> oldestInAgeRange(best, requester, gender, true, null);
+                case PHASE_3 -> oldestInAgeRange(best, requester, gender, false, null);
+                default -> older(best, buckets.get(new BucketKey(gender, null, null)), requester, null);
+            };
+        }
+        return Optional.ofNullable(best).map(Slot::candidate);
+    }
+
+    /** 매칭 처리된 후보는 이후 조회에서 제외. */
+    public void markMatched(UUID userId) {
+        Slot slot = slotsByUserId.get(userId);
+        if (slot != null) {
+            slot.matched = true;
+        }
+    }
+
+    public boolean isMatched(UUID userId) {
+        Slot slot = slotsByUserId.get(userId);
+        return slot != null && slot.matched;
+    }
+
+    public int size() {
+        return all.slots.size();
+    }
+
+    /*
+     * 인덱스에 있는 요청자는 구성 시 맞춘 비트맵을 그대로 사용. 밖에서 온 요청자는 조회마다 한 번 맞춤
+     * (인덱스 길이를 넘는 비트는 어떤 후보에도 없으므로 잘라도 결과가 같음)
+     */
+    private long[] hobbyBitsOf(MatchCandidate requester) {
+        Slot slot = slotsByUserId.get(requester.userId());
+        return slot != null ? slot.hobbyBits : HobbyBitmap.widen(requester.hobbyBits(), hobbyWords);
+    }
+
+    /** commonHobbyBits가 null이 아니면 1단계 공통 취미 조건(인덱스 길이에 맞춘 요청자 비트맵). */
+    private Slot oldestInAgeRange(Slot best, MatchCandidate requester, Gender gender, boolean sameRegion,
+            long[] commonHobbyBits) {
+        // 1·2단계는 지역, 1~3단계는 출생연도가 있어야 조건 비교 가능
+        if (requester.birthYear() == null || (sameRegion && requester.region() == null)) {
+            return best;
+        }
+        Region region = sameRegion ? requester.region() : null;
+        int birthYear = requester.birthYear();
+        for (int year = birthYear - AGE_TOLERANCE_YEARS; year <= birthYear + AGE_TOLERANCE_YEARS; year++) {
+            best = older(best, buckets.get(new BucketKey(gender, region, year)), requester, commonHobbyBits);
+        }
+        return best;
+    }
+
+    private Slot older(Slot best, Bucket bucket, MatchCandidate requester, long[] commonHobbyBits) {
+        if (bucket == null) {
+            return best;
+        }
+        Slot slot = bucket.first(requester, commonHobbyBits);
+        if (slot == null) {
+            return best;
+        }
+        if (best == null || CREATED_AT_ORDER.compare(slot.candidate, best.candidate) < 0) {
+            return slot;
+        }
+        return best;
+    }
+
+    private Bucket bucket(BucketKey key) {
+        return buckets.computeIfAbsent(key, k -> new Bucket());
+    }
+
+    /** region, birthYear가 null이면 해당 조건을 보지 않는 상위 버킷. */
+    private record BucketKey(Gender gender, Region region, Integer birthYear) {
+    }
+
+    private static final class Slot {
+        private final MatchCandidate candidate;
+        /* 인덱스 공통 길이로 맞춘 취미 비트맵 */
+        private final long[] hobbyBits;
+        private boolean matched;
+
+        private Slot(MatchCandidate candidate, long[] hobbyBits) {
+            this.candidate = candidate;
+            this.hobbyBits = hobbyBits;
+        }
+
+        private MatchCandidate candidate() {
+            return candidate;
+        }
+    }
+
+    private static final class Bucket {
+        private final List<Slot> slots = new ArrayList<>();
+        private int head;
+
+        /** created_at 순으로 매칭 가능한 첫 후보. 앞쪽의 매칭 완료 항목은 head를 옮겨 다음 조회에서 건너뜀. */
+        private Slot first(MatchCandidate requester, long[] commonHobbyBits) {
+            while (head < slots.size() && slots.get(head).matched) {
+                head++;
+            }
+            for (int i = head; i < slots.size(); i++) {
+                Slot slot = slots.get(i);
+                if (slot.matched || slot.candidate.userId().equals(requester.userId())) {
+                    continue;
+                }
+                if (commonHobbyBits != null && !HobbyBitmap.intersectsSameWidth(commonHobbyBits, slot.hobbyBits)) {
+                    continue;
+                }
+                return slot;
+            }
+            return null;
+        }
+    }
+}
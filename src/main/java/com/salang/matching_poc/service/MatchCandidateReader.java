@@ -0,0 +1,99 @@
+package com.salang.matching_poc.service;
+
+import java.sql.Array;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import static com.salang.matching_poc.constants.MatchingConstants.WAITING_STATUS;
+import com.salang.matching_poc.model.enums.Gender;
+import com.salang.matching_poc.model.enums.Region;
+import com.salang.matching_poc.model.enums.Tier;
+
+/*
+ * 스케줄러 전용 읽기 경로. 엔티티·영속성 컨텍스트 없이 JDBC 행을 바로 MatchCandidate로 변환.
+ * 취미 배열은 행마다 비트맵으로 바꾼 뒤 버림.
+ * readOnly 트랜잭션: Postgres 드라이버는 autocommit off일 때만 fetch size 단위 커서로 나눠 읽음.
+ */
+@Component
+public class MatchCandidateReader {
+
+    private static final int FETCH_SIZE = 500;
+
+    private static final String SELECT_WAITING = """
+            select queue_id, user_id, gender, location, birth_year, tier, hobby_ids, created_at
+            from match_queue
+            where status = :status
+            """;
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    public MatchCandidateReader(JdbcTemplate jdbcTemplate) {
+        JdbcTemplate streaming = new JdbcTemplate(jdbcTemplate.getDataSource());
+        streaming.setFetchSize(FETCH_SIZE);
+        this.jdbcTemplate = new NamedParameterJdbcTemplate(streaming);
+    }
+
+    /** 워터마크 이후 등록된 WAITING 행 (queue_id 오름차순). regions가 null이면 전 지역(지역 없는 행 포함). */
+    @Transactional(readOnly = true)
+    public List<MatchCandidate> findWaitingAfter(long queueId, Set<Region> regions) {
+        if (regions == null) {
+            return jdbcTemplate.query(SELECT_WAITING + " and queue_id > :queueId order by queue_id",
+                    Map.of("status", WAITING_STATUS, "queueId", queueId), MatchCandidateReader::mapRow);
+        }
+        return jdbcTemplate.query(SELECT_WAITING + " and queue_id > :queueId and location in (:regions) order by queue_id",
+                Map.of("status", WAITING_STATUS, "queueId", queueId,
+                        "regions", regions.stream().map(Region::name).toList()),
+                MatchCandidateReader::mapRow);
+    }
+
+    /** 주어진 queue_id 중 아직 WAITING인 행. */
+    @Transactional(readOnly = true)
+    public List<MatchCandidate> findWaitingByQueueIds(Collection<Long> queueIds) {
+        if (queueIds.isEmpty()) {
+            return List.of();
+        }
+        return jdbcTemplate.query(SELECT_WAITING + " and queue_id in (:queueIds)",
+                Map.of("status", WAITING_STATUS, "queueIds", queueIds), MatchCandidateReader::mapRow);
+    }
+
+    private static MatchCandidate mapRow(ResultSet rs, int rowNum) throws SQLException {
+        return new MatchCandidate(
+                rs.getLong("queue_id"),
+                rs.getObject("user_id", UUID.class),
+                toEnum(Gender.class, rs.getString("gender")),
+                toEnum(Region.class, rs.getString("location")),
+                rs.getObject("birth_year", Integer.class),
+                toEnum(Tier.class, rs.getString("tier")),
+                hobbyBits(rs.getArray("hobby_ids")),
+                rs.getObject("created_at", LocalDateTime.class));
+    }
+
+    private static long[] hobbyBits(Array array) throws SQLException {
+        if (array == null) {
+            return HobbyBitmap.EMPTY;
+        }
+        try {
+            // 드라이버에 따라 Integer[] 또는 Object[]로 반환
+            Object[] values = (Object[]) array.getArray();
+            return HobbyBitmap.of(Arrays.copyOf(values, values.length, Integer[].class));
+        } finally {
+            array.free();
+        }
+    }
+
+    private static <E extends Enum<E>> E toEnum(Class<E> type, String name) {
+        return name == null ? null : Enum.valueOf(type, name);
+    }
+}
@@ -0,0 +1,7 @@
+package com.salang.matching_poc.service;
+
+import java.util.List;
+
+/** 일괄 확정 결과. conflicts는 한쪽이라도 이미 WAITING이 아니거나 다른 트랜잭션이 잡고 있던 쌍. */
+public record MatchConfirmResult(List<MatchConfirmation> confirmed, List<MatchPair> conflicts) {
+}
@@ -0,0 +1,7 @@
+package com.salang.matching_poc.service;
+
+import java.util.UUID;
+
+/** 확정된 매칭 쌍과 생성된 채팅방. */
+public record MatchConfirmation(MatchPair pair, UUID roomId) {
+}
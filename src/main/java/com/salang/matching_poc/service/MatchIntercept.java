@@ -0,0 +1,19 @@
+package com.salang.matching_poc.service;
+
+/**
+ * 단일 문장 인터셉트 결과. requesterQueued면 요청자가 이미 대기열에 있어 아무것도 변경하지 않음.
+ * partner가 있으면 파트너 선점(MATCHED)과 룸 생성까지 완료된 상태.
+ */
+public record MatchIntercept(boolean requesterQueued, MatchCandidate partner) {
+
+    public static final MatchIntercept QUEUED = new MatchIntercept(true, null);
+    public static final MatchIntercept NO_PARTNER = new MatchIntercept(false, null);
+
+    public static MatchIntercept matched(MatchCandidate partner) {
+        return new MatchIntercept(false, partner);
+    }
+
+    public boolean isMatched() {
+        return partner != null;
+    }
+}
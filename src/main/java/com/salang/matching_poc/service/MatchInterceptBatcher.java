@@ -0,0 +1,139 @@
+package com.salang.matching_poc.service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import com.salang.matching_poc.controller.dto.MatchRequest;
+import com.salang.matching_poc.controller.dto.MatchResponse;
+import com.salang.matching_poc.exception.AlreadyInQueueException;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/*
+ * 인터셉트 마이크로 배치. 첫 요청 도착 후 window 동안(또는 max-size까지) 모은 POST 요청을 MatchService.requestMatches로 한 번에 처리.
+ * 동시에 도착한 요청끼리는 DB 조회 없이 짝지어지고, 남은 요청만 대기열 파트너 선점·일괄 등록. 요청 스레드는 결과가 나올 때까지 대기.
+ * 배치는 단일 스레드에서 순서대로 처리되므로 같은 노드의 배치끼리는 경합 없음.
+ * 배치 트랜잭션이 실패하면(다른 노드와의 동시 중복 등록 등) 요청별 단건 처리(MatchService.requestMatch)로 재시도.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "matching.intercept.batch.enabled", havingValue = "true")
+@RequiredArgsConstructor
+public class MatchInterceptBatcher {
+
+    /* 배치 처리 스레드가 멈춰도 요청 스레드가 무한 대기하지 않도록 */
+    private static final Duration AWAIT_TIMEOUT = Duration.ofSeconds(10);
+
+    private final MatchService matchService;
+    private final MatchProfileCache matchProfileCache;
+
+    @Value("${matching.intercept.batch.window:5ms}")
+    private Duration window;
+
+    @Value("${matching.intercept.batch.max-size:64}")
+    private int maxSize;
+
+    private final Object lock = new Object();
+    private List<Pending> pending = new ArrayList<>();
+    private ScheduledExecutorService flusher;
+
+    @PostConstruct
+    void start() {
+        flusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "match-intercept-batch");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /* 대기 중인 배치는 종료 전에 처리 */
+    @PreDestroy
+    void stop() throws InterruptedException {
+        flusher.shutdown();
+        flusher.awaitTermination(AWAIT_TIMEOUT.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    /** 프로필 조회(존재하지 않는 사용자 포함)는 요청 스레드에서, 매칭·등록은 배치에서 처리. */
+    public MatchResponse<?> requestMatch(MatchRequest request) {
+        Pending arrival = new Pending(matchProfileCache.get(request.userId()), new CompletableFuture<>());
+        int size;
+        synchronized (lock) {
+            pending.add(arrival);
+            size = pending.size();
+        }
+        if (size >= maxSize) {
+            flusher.execute(this::flush);
+        } else if (size == 1) {
+            flusher.schedule(this::flush, window.toNanos(), TimeUnit.NANOSECONDS);
+        }
+        return await(arrival.result());
+    }
+
+    void flush() {
+        List<Pending> batch;
+        synchronized (lock) {
+            if (pending.isEmpty()) {
+                return;
+            }
+            batch = pending;
+            pending = new ArrayList<>();
+        }
+        List<MatchResponse<?>> responses;
+        try {
+            responses = matchService.requestMatches(batch.stream().map(Pending::profile).toList());
+        } catch (RuntimeException e) {
+            log.warn("인터셉트 배치 {}건 처리 실패. 요청별 단건 처리로 재시도", batch.size(), e);
+            batch.forEach(this::requestOne);
+            return;
+        }
+        for (int i = 0; i < batch.size(); i++) {
+            MatchResponse<?> response = responses.get(i);
+            if (response == null) {
+                batch.get(i).result().completeExceptionally(new AlreadyInQueueException());
+            } else {
+                batch.get(i).result().complete(response);
+            }
+        }
+    }
+
+    private void requestOne(Pending request) {
+        try {
+            request.result().complete(matchService.requestMatch(new MatchRequest(request.profile().userId())));
+        } catch (RuntimeException e) {
+            request.result().completeExceptionally(e);
+        }
+    }
+
+    private static MatchResponse<?> await(CompletableFuture<MatchResponse<?>> result) {
+        try {
+            return result.get(AWAIT_TIMEOUT.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException("인터셉트 배치 처리 실패", e.getCause());
+        } catch (TimeoutException e) {
+            throw new IllegalStateException("인터셉트 배치 처리 시간 초과", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("인터셉트 배치 대기 중 인터럽트", e);
+        }
+    }
+
+    private record Pending(MatchProfile profile, CompletableFuture<MatchResponse<?>> result) {
+    }
+}
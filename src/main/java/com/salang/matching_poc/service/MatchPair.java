@@ -0,0 +1,7 @@
+package com.salang.matching_poc.service;
+
+import java.util.UUID;
+
+/** 매칭 확정 대상 사용자 쌍. */
+public record MatchPair(UUID user1Id, UUID user2Id) {
+}
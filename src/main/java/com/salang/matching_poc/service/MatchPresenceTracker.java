@@ -0,0 +1,44 @@
+package com.salang.matching_poc.service;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.stereotype.Component;
+
+/*
+ * 대기자 heartbeat 수신 기록. 요청마다 DB에 쓰지 않고 사용자별 마지막 시각만 메모리에 모아 두고,
+ * MatchPresenceSweeper가 주기적으로 drain해 한 번에 반영. 노드마다 자기 노드로 들어온 heartbeat만 보관.
+ */
+@Component
+public class MatchPresenceTracker {
+
+    private final ConcurrentHashMap<UUID, LocalDateTime> lastSeen = new ConcurrentHashMap<>();
+
+    public void heartbeat(UUID userId) {
+        lastSeen.put(userId, LocalDateTime.now());
+    }
+
+    /** 반영 대기 중인 heartbeat를 꺼냄. 꺼내는 도중 갱신된 항목은 남겨 다음 drain에서 반영. */
+    public Map<UUID, LocalDateTime> drain() {
+        Map<UUID, LocalDateTime> drained = new HashMap<>();
+        for (Map.Entry<UUID, LocalDateTime> entry : lastSeen.entrySet()) {
+            if (lastSeen.remove(entry.getKey(), entry.getValue())) {
+                drained.put(entry.getKey(), entry.getValue());
+            }
+        }
+        return drained;
+    }
+
+    /** 반영에 실패한 heartbeat를 되돌림. 그사이 더 최근 heartbeat가 들어온 사용자는 그 값을 유지. */
+    public void restore(Map<UUID, LocalDateTime> drained) {
+        drained.forEach((userId, seenAt) -> lastSeen.merge(userId, seenAt,
+                (current, restored) -> current.isAfter(restored) ? current : restored));
+    }
+
+    public int pendingCount() {
+        return lastSeen.size();
+    }
+}
@@ -0,0 +1,21 @@
+package com.salang.matching_poc.service;
+
+import java.util.UUID;
+
+import com.salang.matching_poc.model.enums.Gender;
+import com.salang.matching_poc.model.enums.Region;
+import com.salang.matching_poc.model.enums.Tier;
+
+/** 매칭 조건에 쓰는 사용자 프로필 스냅샷. MatchProfileCache에 보관. 취미는 HobbyBitmap 비트맵. */
+public record MatchProfile(
+        UUID userId,
+        Gender gender,
+        Region region,
+        int birthYear,
+        Tier tier,
+        long[] hobbyBits) {
+
+    public Integer[] hobbyIds() {
+        return HobbyBitmap.toIds(hobbyBits);
+    }
+}
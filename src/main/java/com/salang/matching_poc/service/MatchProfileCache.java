@@ -0,0 +1,143 @@
+package com.salang.matching_poc.service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.salang.matching_poc.exception.UserNotFoundException;
+import com.salang.matching_poc.repository.UserRepository;
+import com.salang.matching_poc.repository.projection.MatchProfileRowView;
+
+import lombok.extern.slf4j.Slf4j;
+
+/*
+ * 인터셉트 경로용 사용자 프로필 캐시. 적중 시 users·user_hobbies 조회 없음. 미적중 시 두 테이블을 조인한 조회 1회로 적재.
+ * Caffeine(ConcurrentHashMap 기반)으로 크기 제한과 TTL 상한을 두어 조회가 전역 잠금 없이 동시에 진행.
+ * 프로필·취미·등급 변경은 evict()로 즉시 무효화 (Postgres 트리거 → NOTIFY → MatchProfileInvalidationListener).
+ * 조회 중 같은 사용자의 무효화가 들어오면 조회 결과를 저장하지 않아 이전 값이 다시 들어가지 않음.
+ * 무효화 여부는 사용자 ID 해시로 나눈 슬롯별 버전으로 판단하므로, 다른 사용자의 evict는 같은 슬롯이 아니면 영향 없음.
+ */
+@Slf4j
+@Component
+public class MatchProfileCache {
+
+    /* 무효화 버전 슬롯 수(2의 거듭제곱). 서로 다른 사용자가 같은 슬롯이면 저장을 한 번 건너뛸 뿐 결과는 같음 */
+    private static final int VERSION_SLOTS = 4096;
+
+    private final UserRepository userRepository;
+    private final Cache<UUID, MatchProfile> entries;
+    private final AtomicLongArray versions = new AtomicLongArray(VERSION_SLOTS);
+
+    public MatchProfileCache(UserRepository userRepository,
+            @Value("${matching.profile-cache.max-size:10000}") long maxSize,
+            @Value("${matching.profile-cache.ttl:10m}") Duration ttl) {
+        this.userRepository = userRepository;
+        this.entries = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .build();
+    }
+
+    /** 캐시에 없으면 users·user_hobbies에서 적재. 사용자가 없으면 UserNotFoundException. */
+    public MatchProfile get(UUID userId) {
+        MatchProfile cached = entries.getIfPresent(userId);
+        if (cached != null) {
+            return cached;
+        }
+        long observedVersion = versions.get(slot(userId));
+        MatchProfile profile = load(userId);
+        putIfNotInvalidated(profile, observedVersion);
+        return profile;
+    }
+
+    /** 일괄 등록용. 캐시에 없는 사용자만 IN 조회 1회로 적재. 없는 사용자는 결과에서 제외. */
+    public Map<UUID, MatchProfile> getAll(Collection<UUID> userIds) {
+        Map<UUID, MatchProfile> profiles = new HashMap<>(entries.getAllPresent(userIds));
+        Map<UUID, Long> observedVersions = new LinkedHashMap<>();
+        for (UUID userId : userIds) {
+            if (!profiles.containsKey(userId)) {
+                observedVersions.put(userId, versions.get(slot(userId)));
+            }
+        }
+        if (observedVersions.isEmpty()) {
+            return profiles;
+        }
+
+        Collection<MatchProfile> loaded = toProfiles(
+                userRepository.findMatchProfileRows(new ArrayList<>(observedVersions.keySet())));
+        log.debug("매칭 프로필 일괄 적재. {}명", loaded.size());
+        for (MatchProfile profile : loaded) {
+            profiles.put(profile.userId(), profile);
+            putIfNotInvalidated(profile, observedVersions.get(profile.userId()));
+        }
+        return profiles;
+    }
+
+    /** 버전을 먼저 올린 뒤 제거. 진행 중인 조회는 저장 시점에 바뀐 버전을 보고 건너뜀. */
+    public void evict(UUID userId) {
+        versions.incrementAndGet(slot(userId));
+        entries.invalidate(userId);
+    }
+
+    public long size() {
+        entries.cleanUp();
+        return entries.estimatedSize();
+    }
+
+    /*
+     * 버전 확인과 저장을 같은 키의 compute 안에서 처리. evict가 버전을 올린 뒤에 실행되면 저장하지 않고,
+     * 그 전에 실행되면 뒤이은 invalidate가 제거하므로 무효화된 값이 남지 않음.
+     */
+    private void putIfNotInvalidated(MatchProfile profile, long observedVersion) {
+        int slot = slot(profile.userId());
+        entries.asMap().compute(profile.userId(),
+                (userId, current) -> versions.get(slot) == observedVersion ? profile : current);
+    }
+
+    static int slot(UUID userId) {
+        int hash = userId.hashCode();
+        return (hash ^ (hash >>> 16)) & (VERSION_SLOTS - 1);
+    }
+
+    private MatchProfile load(UUID userId) {
+        return toProfiles(userRepository.findMatchProfileRows(List.of(userId))).stream()
+                .findFirst()
+                .orElseThrow(UserNotFoundException::new);
+    }
+
+    /* 사용자별로 행(취미 수만큼 반복)을 모아 프로필 1개로 변환 */
+    private static Collection<MatchProfile> toProfiles(List<MatchProfileRowView> rows) {
+        Map<UUID, List<MatchProfileRowView>> rowsByUser = new LinkedHashMap<>();
+        for (MatchProfileRowView row : rows) {
+            rowsByUser.computeIfAbsent(row.getUserId(), userId -> new ArrayList<>()).add(row);
+        }
+        List<MatchProfile> profiles = new ArrayList<>(rowsByUser.size());
+        for (List<MatchProfileRowView> userRows : rowsByUser.values()) {
+            MatchProfileRowView user = userRows.get(0);
+            Integer[] hobbyIds = userRows.stream()
+                    .map(MatchProfileRowView::getHobbyId)
+                    .filter(Objects::nonNull)
+                    .toArray(Integer[]::new);
+            profiles.add(new MatchProfile(
+                    user.getUserId(),
+                    user.getGender(),
+                    user.getRegion(),
+                    user.getBirthDate().getYear(),
+                    user.getTier(),
+                    HobbyBitmap.of(hobbyIds)));
+        }
+        return profiles;
+    }
+}
@@ -1,9 +1,12 @@
 package com.salang.matching_poc.service;
 
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
 import com.salang.matching_poc.model.entity.MatchQueue;
+import com.salang.matching_poc.model.enums.MatchPhase;
 
 public interface MatchQueueMatchFinder {
 
@@ -43,4 +46,26 @@ public interface MatchQueueMatchFinder {
     Optional<MatchQueue> findPhase5Match(
             UUID userId,
             String status);
+
+    /**
+     * 단일 문장 인터셉트: 요청자(userId)가 대기열에 없을 때만 1단계 조건 파트너를 MATCHED로 선점하고
+     * roomId로 rooms 행을 생성. 요청자가 이미 대기열에 있으면 변경 없이 MatchIntercept.QUEUED.
+     */
+    MatchIntercept interceptPhase1Match(
+            UUID userId,
+            String gender,
+            String region,
+            Integer birthYearMin,
+            Integer birthYearMax,
+            Integer[] hobbyIds,
+            UUID roomId,
+            String excludedTier,
+            String status);
+
+    /** 단계 조건을 만족하는 서로 겹치지 않는 쌍을 한 번에 조회. queuedBefore 이전 등록자만 대상. */
+    List<MatchPair> findPhasePairs(
+            MatchPhase phase,
+            LocalDateTime queuedBefore,
+            String excludedTier,
+            String status);
 }
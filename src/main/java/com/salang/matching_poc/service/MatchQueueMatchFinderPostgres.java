@@ -1,13 +1,27 @@
 package com.salang.matching_poc.service;
 
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
 import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Component;
 
+import static com.salang.matching_poc.constants.MatchingConstants.AGE_TOLERANCE_YEARS;
 import com.salang.matching_poc.model.entity.MatchQueue;
+import com.salang.matching_poc.model.enums.Gender;
+import com.salang.matching_poc.model.enums.MatchPhase;
+import com.salang.matching_poc.model.enums.MatchStatus;
+import com.salang.matching_poc.model.enums.Region;
+import com.salang.matching_poc.model.enums.Tier;
 import com.salang.matching_poc.repository.MatchQueueRepository;
+import com.salang.matching_poc.repository.projection.MatchPairView;
 
 import lombok.RequiredArgsConstructor;
 
@@ -17,7 +31,51 @@ import lombok.RequiredArgsConstructor;
 @RequiredArgsConstructor
 public class MatchQueueMatchFinderPostgres implements MatchQueueMatchFinder {
 
+    /*
+     * 인터셉트 1회 왕복: 요청자 등록 여부 확인 → 1단계 파트너 잠금(skip locked, 다른 노드 lease 제외) → MATCHED 전환 → 룸 INSERT.
+     * 데이터 변경 CTE(claimed·room)는 최종 select에서 참조 여부와 무관하게 한 번씩 실행됨.
+     * 요청자가 이미 대기열에 있으면 candidate가 비어 아무것도 변경되지 않음. 결과는 항상 1행(claimed 없으면 null).
+     */
+    private static final String INTERCEPT_PHASE1_SQL = """
+            with requester as (
+                select exists (select 1 from match_queue where user_id = ?) as queued
+            ),
+            candidate as (
+                select queue_id
+                from match_queue
+                where status = ?
+                  and user_id <> ?
+                  and gender = ?
+                  and tier <> ?
+                  and location = ?
+                  and birth_year between ? and ?
+                  and hobby_ids && ?
+                  and (lease_until is null or lease_until < localtimestamp)
+                  and not (select queued from requester)
+                order by created_at
+                limit 1
+                for update skip locked
+            ),
+            claimed as (
+                update match_queue mq
+                set status = ?
+                from candidate c
+                where mq.queue_id = c.queue_id
+                returning mq.queue_id, mq.user_id, mq.gender, mq.location, mq.birth_year, mq.tier, mq.hobby_ids,
+                          mq.created_at
+            ),
+            room as (
+                insert into rooms (room_id, user1_id, user2_id, created_at, updated_at)
+                select ?, ?, user_id, ?, ? from claimed
+                returning room_id
+            )
+            select r.queued, c.*
+            from requester r
+            left join claimed c on true
+            """;
+
     private final MatchQueueRepository matchQueueRepository;
+    private final JdbcTemplate jdbcTemplate;
 
     @Override
     public Optional<MatchQueue> findPhase1Match(
@@ -30,7 +88,7 @@ public class MatchQueueMatchFinderPostgres implements MatchQueueMatchFinder {
             String excludedTier,
             String status) {
         return matchQueueRepository.findPhase1Match(
-                userId, gender, region, birthYearMin, birthYearMax, hobbyIds, excludedTier, status);
+                userId, partnerGender(gender), region, birthYearMin, birthYearMax, hobbyIds, excludedTier, status);
     }
 
     @Override
@@ -43,7 +101,7 @@ public class MatchQueueMatchFinderPostgres implements MatchQueueMatchFinder {
             String excludedTier,
             String status) {
         return matchQueueRepository.findPhase2Match(
-                userId, gender, region, birthYearMin, birthYearMax, excludedTier, status);
+                userId, partnerGender(gender), region, birthYearMin, birthYearMax, excludedTier, status);
     }
 
     @Override
@@ -55,7 +113,7 @@ public class MatchQueueMatchFinderPostgres implements MatchQueueMatchFinder {
             String excludedTier,
             String status) {
         return matchQueueRepository.findPhase3Match(
-                userId, gender, birthYearMin, birthYearMax, excludedTier, status);
+                userId, partnerGender(gender), birthYearMin, birthYearMax, excludedTier, status);
     }
 
     @Override
@@ -64,11 +122,87 @@ public class MatchQueueMatchFinderPostgres implements MatchQueueMatchFinder {
             String gender,
             String excludedTier,
             String status) {
-        return matchQueueRepository.findPhase4Match(userId, gender, excludedTier, status);
+        return matchQueueRepository.findPhase4Match(userId, partnerGender(gender), excludedTier, status);
     }
 
     @Override
     public Optional<MatchQueue> findPhase5Match(UUID userId, String status) {
         return matchQueueRepository.findPhase5Match(userId, status);
     }
+
+    @Override
+    public MatchIntercept interceptPhase1Match(
+            UUID userId,
+            String gender,
+            String region,
+            Integer birthYearMin,
+            Integer birthYearMax,
+            Integer[] hobbyIds,
+            UUID roomId,
+            String excludedTier,
+            String status) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        return jdbcTemplate.query(con -> {
+            PreparedStatement ps = con.prepareStatement(INTERCEPT_PHASE1_SQL);
+            ps.setObject(1, userId);
+            ps.setString(2, status);
+            ps.setObject(3, userId);
+            ps.setString(4, partnerGender(gender));
+            ps.setString(5, excludedTier);
+            ps.setString(6, region);
+            ps.setInt(7, birthYearMin);
+            ps.setInt(8, birthYearMax);
+            ps.setArray(9, con.createArrayOf("integer", hobbyIds));
+            ps.setString(10, MatchStatus.MATCHED.name());
+            ps.setObject(11, roomId);
+            ps.setObject(12, userId);
+            ps.setTimestamp(13, now);
+            ps.setTimestamp(14, now);
+            return ps;
+        }, MatchQueueMatchFinderPostgres::toIntercept);
+    }
+
+    @Override
+    public List<MatchPair> findPhasePairs(
+            MatchPhase phase,
+            LocalDateTime queuedBefore,
+            String excludedTier,
+            String status) {
+        List<MatchPairView> pairs = switch (phase) {
+            case PHASE_1 -> matchQueueRepository.findPhase1Pairs(queuedBefore, AGE_TOLERANCE_YEARS, excludedTier, status);
+            case PHASE_2 -> matchQueueRepository.findPhase2Pairs(queuedBefore, AGE_TOLERANCE_YEARS, excludedTier, status);
+            case PHASE_3 -> matchQueueRepository.findPhase3Pairs(queuedBefore, AGE_TOLERANCE_YEARS, excludedTier, status);
+            case PHASE_4 -> matchQueueRepository.findPhase4Pairs(queuedBefore, excludedTier, status);
+            case PHASE_5 -> matchQueueRepository.findPhase5Pairs(queuedBefore, status);
+        };
+        return pairs.stream()
+                .map(p -> new MatchPair(p.getUser1Id(), p.getUser2Id()))
+                .toList();
+    }
+
+    private static MatchIntercept toIntercept(ResultSet rs) throws SQLException {
+        rs.next();
+        if (rs.getBoolean("queued")) {
+            return MatchIntercept.QUEUED;
+        }
+        UUID partnerId = rs.getObject("user_id", UUID.class);
+        if (partnerId == null) {
+            return MatchIntercept.NO_PARTNER;
+        }
+        Integer[] hobbyIds = (Integer[]) rs.getArray("hobby_ids").getArray();
+        return MatchIntercept.matched(new MatchCandidate(
+                rs.getLong("queue_id"),
+                partnerId,
+                Gender.valueOf(rs.getString("gender")),
+                Region.valueOf(rs.getString("location")),
+                rs.getObject("birth_year", Integer.class),
+                Tier.valueOf(rs.getString("tier")),
+                HobbyBitmap.of(hobbyIds),
+                rs.getTimestamp("created_at").toLocalDateTime()));
+    }
+
+    /* 성별은 두 값뿐이라 <> 대신 상대 성별 등호로 조회해야 gender 선두 부분 인덱스(V4)를 사용 */
+    private static String partnerGender(String gender) {
+        return Gender.valueOf(gender).opposite().name();
+    }
 }
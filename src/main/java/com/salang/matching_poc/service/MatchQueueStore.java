@@ -0,0 +1,87 @@
+package com.salang.matching_poc.service;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+
+import com.salang.matching_poc.model.enums.Region;
+import com.salang.matching_poc.repository.projection.WaitingQueueDigest;
+
+/**
+ * 매칭 대기열 저장소. MatchService·MatchScheduler·MatchPresenceSweeper는 대기열 상태를 이 인터페이스로만 다룸.
+ * matching.queue.store = jpa(기본, Postgres) | memory(단일 노드 전용, 노드 재시작 시 대기열 유실). 룸은 두 경우 모두 DB에 저장.
+ */
+public interface MatchQueueStore {
+
+    /** 상태와 무관하게 대기열에 항목이 있는지. */
+    boolean contains(UUID userId);
+
+    /** userIds 중 대기열에 항목이 있는 사용자. */
+    Set<UUID> findQueuedUserIds(Collection<UUID> userIds);
+
+    /** WAITING으로 등록. 이미 항목이 있으면(동시 등록 포함) 변경 없이 false. */
+    boolean enqueue(MatchProfile profile);
+
+    /** 여러 사용자를 WAITING으로 등록하고 등록된 사용자 반환. 이미 항목이 있는 사용자는 건너뜀. */
+    List<UUID> enqueueAll(List<MatchProfile> profiles);
+
+    /** WAITING 항목만 삭제. 조회 후 삭제하지 않으므로 동시 확정과 겹쳐도 결과가 실제 상태와 일치. */
+    CancelResult cancel(UUID userId);
+
+    Optional<MatchCandidate> findWaiting(UUID userId);
+
+    /**
+     * 트랜잭션 밖 조회용(즉시 매칭). 요청자와 1단계 조건 파트너를 짧은 lease로 선점하고 파트너 반환.
+     * lease 동안 다른 노드의 조회·확정은 두 사용자를 건너뛰며, markMatched로 확정하면 해제. 확정하지 않으면 releaseLeases.
+     */
+    Optional<MatchCandidate> leasePhase1Partner(MatchCandidate requester);
+
+    /**
+     * 스케줄러 tick이 인메모리로 제안한 쌍을 확정 전에 lease로 선점하고 선점된 쌍 반환.
+     * 다른 노드가 먼저 선점·확정한 사용자가 포함된 쌍은 빠지며, 확정 트랜잭션 전에 충돌을 걸러냄.
+     */
+    List<MatchPair> leasePairs(List<MatchPair> pairs);
+
+    /** 이 노드가 선점한 lease 해제. 만료 전에 다른 노드가 다시 선점할 수 있도록 확정 실패 시 호출. */
+    void releaseLeases(Collection<UUID> userIds);
+
+    /** 인터셉트용. 1단계 조건 파트너를 찾아 MATCHED로 선점. 호출 트랜잭션이 롤백되면 선점도 취소. */
+    Optional<MatchCandidate> claimPhase1Partner(MatchProfile requester);
+
+    /**
+     * 단일 문장 인터셉트: 요청자가 대기열에 없으면 1단계 파트너를 선점하고 roomId로 룸까지 생성.
+     * 요청자가 이미 있으면 변경 없이 MatchIntercept.QUEUED. 호출 트랜잭션이 롤백되면 선점·룸 생성도 취소.
+     */
+    MatchIntercept interceptPhase1(MatchProfile requester, UUID roomId);
+
+    /** 두 사용자가 모두 WAITING이고 다른 노드의 lease가 없는 쌍만 MATCHED로 전환하고 전환된 쌍을 반환. 나머지 쌍은 변경 없음. */
+    List<MatchPair> markMatched(List<MatchPair> pairs);
+
+    /**
+     * 스케줄러 작업 집합 동기화용: queue_id가 maxQueueId 이하인 WAITING 항목 집계.
+     * 작업 집합 조회는 regions 지역 항목만 대상으로 하며, regions가 null이면 전 지역(지역 없는 항목 포함).
+     */
+    WaitingQueueDigest digestWaitingUpTo(long maxQueueId, Set<Region> regions);
+
+    List<Long> findWaitingQueueIdsUpTo(long maxQueueId, Set<Region> regions);
+
+    List<MatchCandidate> findWaitingAfter(long queueId, Set<Region> regions);
+
+    List<MatchCandidate> findWaitingByQueueIds(Collection<Long> queueIds);
+
+    /** WAITING 항목의 마지막 heartbeat 시각을 더 최근 값으로만 갱신. */
+    void touchLastSeen(Map<UUID, LocalDateTime> lastSeen);
+
+    /** 마지막 heartbeat가 cutoff 이전인 WAITING 항목을 오래된 순으로 최대 limit건 삭제하고 삭제된 사용자 반환. */
+    List<UUID> deleteExpired(LocalDateTime cutoff, int limit);
+
+    enum CancelResult {
+        CANCELLED,
+        NOT_IN_QUEUE,
+        ALREADY_MATCHED
+    }
+}
@@ -0,0 +1,359 @@
+package com.salang.matching_poc.service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.salang.matching_poc.constants.MatchingConstants;
+import com.salang.matching_poc.model.enums.Region;
+import com.salang.matching_poc.repository.projection.WaitingQueueDigest;
+
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/*
+ * 단일 노드용 인메모리 대기열. 대기열 쓰기·조회에 DB 왕복이 없고, WAITING→MATCHED 선점은 항목별 CAS.
+ * 트랜잭션 안에서 호출되면 커밋 후 반영(등록 공개, 매칭·취소 항목 제거)하고 롤백 시 선점을 되돌려 룸 생성과 원자적으로 동작.
+ * 매칭된 항목은 커밋 즉시 제거되므로(DB의 match_history 이동에 해당) 매칭 직후 재등록 가능, 매칭 후 취소는 NOT_IN_QUEUE.
+ * 노드 간 공유·재시작 후 복구가 없으므로 다중 인스턴스에서는 사용 불가.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "matching.queue.store", havingValue = "memory")
+@RequiredArgsConstructor
+public class MatchQueueStoreInMemory implements MatchQueueStore {
+
+    private static final Comparator<Entry> LAST_SEEN_ORDER = Comparator.comparing(entry -> entry.lastSeenAt);
+
+    private final ConcurrentHashMap<UUID, Entry> byUser = new ConcurrentHashMap<>();
+    private final ConcurrentSkipListMap<Long, Entry> byQueueId = new ConcurrentSkipListMap<>();
+    private final AtomicLong queueIdSequence = new AtomicLong();
+
+    /* 룸은 인메모리 대기열에서도 DB에 저장 */
+    private final MatchQueueWriter matchQueueWriter;
+
+    @Value("${matching.schedule.batch-pairing:false}")
+    private boolean batchPairing;
+
+    @PostConstruct
+    void checkCompatibility() {
+        if (batchPairing) {
+            throw new IllegalStateException("batch-pairing은 DB 배치 쿼리 전용이라 matching.queue.store=memory와 함께 사용할 수 없음");
+        }
+        log.warn("인메모리 매칭 대기열 사용. 단일 노드 전용이며 재시작 시 대기열이 유실됨");
+    }
+
+    @Override
+    public boolean contains(UUID userId) {
+        return byUser.containsKey(userId);
+    }
+
+    @Override
+    public Set<UUID> findQueuedUserIds(Collection<UUID> userIds) {
+        Set<UUID> queued = new HashSet<>();
+        for (UUID userId : userIds) {
+            if (byUser.containsKey(userId)) {
+                queued.add(userId);
+            }
+        }
+        return queued;
+    }
+
+    /* 사용자 슬롯은 즉시 점유(중복 등록 방지), 매칭 대상 공개는 커밋 후 */
+    @Override
+    public boolean enqueue(MatchProfile profile) {
+        LocalDateTime now = LocalDateTime.now();
+        MatchCandidate candidate = new MatchCandidate(queueIdSequence.incrementAndGet(), profile.userId(),
+                profile.gender(), profile.region(), profile.birthYear(), profile.tier(), profile.hobbyBits(), now);
+        Entry entry = new Entry(candidate, now);
+        if (byUser.putIfAbsent(profile.userId(), entry) != null) {
+            return false;
+        }
+        byQueueId.put(candidate.queueId(), entry);
+        afterTransaction(
+                () -> entry.state.compareAndSet(State.PENDING, State.WAITING),
+                () -> remove(entry));
+        return true;
+    }
+
+    @Override
+    public List<UUID> enqueueAll(List<MatchProfile> profiles) {
+        List<UUID> enqueued = new ArrayList<>();
+        for (MatchProfile profile : profiles) {
+            if (enqueue(profile)) {
+                enqueued.add(profile.userId());
+            }
+        }
+        return enqueued;
+    }
+
+    @Override
+    public CancelResult cancel(UUID userId) {
+        Entry entry = byUser.get(userId);
+        if (entry == null) {
+            return CancelResult.NOT_IN_QUEUE;
+        }
+        if (entry.state.compareAndSet(State.WAITING, State.REMOVED)) {
+            afterTransaction(() -> remove(entry), () -> entry.state.set(State.WAITING));
+            return CancelResult.CANCELLED;
+        }
+        return entry.state.get() == State.MATCHED ? CancelResult.ALREADY_MATCHED : CancelResult.NOT_IN_QUEUE;
+    }
+
+    @Override
+    public Optional<MatchCandidate> findWaiting(UUID userId) {
+        Entry entry = byUser.get(userId);
+        return entry != null && entry.isWaiting() ? Optional.of(entry.candidate) : Optional.empty();
+    }
+
+    /* 단일 노드이고 확정(markMatched)이 항목별 CAS라 lease 없이 조회만 수행 */
+    @Override
+    public Optional<MatchCandidate> leasePhase1Partner(MatchCandidate requester) {
+        if (findWaiting(requester.userId()).isEmpty()) {
+            return Optional.empty();
+        }
+        MatchProfile profile = requester.toProfile();
+        return byQueueId.values().stream()
+                .filter(entry -> entry.isWaiting() && isPhase1Partner(profile, entry.candidate))
+                .findFirst()
+                .map(entry -> entry.candidate);
+    }
+
+    /* 같은 이유로 선점 없이 그대로 반환. 충돌은 markMatched에서 걸러짐 */
+    @Override
+    public List<MatchPair> leasePairs(List<MatchPair> pairs) {
+        return pairs;
+    }
+
+    @Override
+    public void releaseLeases(Collection<UUID> userIds) {
+    }
+
+    /* 오래 기다린 순으로 조건에 맞는 항목을 CAS로 선점. 다른 스레드가 먼저 선점하면 다음 후보로 */
+    @Override
+    public Optional<MatchCandidate> claimPhase1Partner(MatchProfile requester) {
+        for (Entry entry : byQueueId.values()) {
+            if (entry.isWaiting() && isPhase1Partner(requester, entry.candidate) && claim(entry)) {
+                afterTransaction(() -> remove(entry), () -> entry.state.set(State.WAITING));
+                return Optional.of(entry.candidate);
+            }
+        }
+        return Optional.empty();
+    }
+
+    /* 대기열 확인·선점은 메모리, 룸 INSERT만 DB 왕복 */
+    @Override
+    public MatchIntercept interceptPhase1(MatchProfile requester, UUID roomId) {
+        if (contains(requester.userId())) {
+            return MatchIntercept.QUEUED;
+        }
+        return claimPhase1Partner(requester)
+                .map(partner -> {
+                    matchQueueWriter.insertRooms(List.of(
+                            new MatchConfirmation(new MatchPair(requester.userId(), partner.userId()), roomId)));
+                    return MatchIntercept.matched(partner);
+                })
+                .orElse(MatchIntercept.NO_PARTNER);
+    }
+
+    @Override
+    public List<MatchPair> markMatched(List<MatchPair> pairs) {
+        List<MatchPair> matched = new ArrayList<>();
+        List<Entry> claimed = new ArrayList<>();
+        for (MatchPair pair : pairs) {
+            Entry first = byUser.get(pair.user1Id());
+            Entry second = byUser.get(pair.user2Id());
+            if (first == null || second == null || !claim(first)) {
+                continue;
+            }
+            if (!claim(second)) {
+                first.state.set(State.WAITING);
+                continue;
+            }
+            claimed.add(first);
+            claimed.add(second);
+            matched.add(pair);
+        }
+        if (!claimed.isEmpty()) {
+            afterTransaction(
+                    () -> claimed.forEach(this::remove),
+                    () -> claimed.forEach(entry -> entry.state.set(State.WAITING)));
+        }
+        return matched;
+    }
+
+    @Override
+    public WaitingQueueDigest digestWaitingUpTo(long maxQueueId, Set<Region> regions) {
+        long count = 0;
+        long queueIdSum = 0;
+        for (Entry entry : byQueueId.headMap(maxQueueId, true).values()) {
+            if (entry.isWaiting() && entry.isIn(regions)) {
+                count++;
+                queueIdSum += entry.candidate.queueId();
+            }
+        }
+        return new Digest(count, queueIdSum);
+    }
+
+    @Override
+    public List<Long> findWaitingQueueIdsUpTo(long maxQueueId, Set<Region> regions) {
+        return byQueueId.headMap(maxQueueId, true).values().stream()
+                .filter(entry -> entry.isWaiting() && entry.isIn(regions))
+                .map(entry -> entry.candidate.queueId())
+                .toList();
+    }
+
+    @Override
+    public List<MatchCandidate> findWaitingAfter(long queueId, Set<Region> regions) {
+        return byQueueId.tailMap(queueId, false).values().stream()
+                .filter(entry -> entry.isWaiting() && entry.isIn(regions))
+                .map(entry -> entry.candidate)
+                .toList();
+    }
+
+    @Override
+    public List<MatchCandidate> findWaitingByQueueIds(Collection<Long> queueIds) {
+        List<MatchCandidate> candidates = new ArrayList<>();
+        for (Long queueId : queueIds) {
+            Entry entry = byQueueId.get(queueId);
+            if (entry != null && entry.isWaiting()) {
+                candidates.add(entry.candidate);
+            }
+        }
+        return candidates;
+    }
+
+    @Override
+    public void touchLastSeen(Map<UUID, LocalDateTime> lastSeen) {
+        lastSeen.forEach((userId, seenAt) -> {
+            Entry entry = byUser.get(userId);
+            if (entry != null && entry.isWaiting() && seenAt.isAfter(entry.lastSeenAt)) {
+                entry.lastSeenAt = seenAt;
+            }
+        });
+    }
+
+    @Override
+    public List<UUID> deleteExpired(LocalDateTime cutoff, int limit) {
+        List<Entry> expired = byQueueId.values().stream()
+                .filter(entry -> entry.isWaiting() && entry.lastSeenAt.isBefore(cutoff))
+                .sorted(LAST_SEEN_ORDER)
+                .limit(limit)
+                .toList();
+        List<UUID> removed = new ArrayList<>();
+        for (Entry entry : expired) {
+            if (entry.state.compareAndSet(State.WAITING, State.REMOVED)) {
+                remove(entry);
+                removed.add(entry.candidate.userId());
+            }
+        }
+        return removed;
+    }
+
+    public int size() {
+        return byUser.size();
+    }
+
+    private static boolean claim(Entry entry) {
+        return entry.state.compareAndSet(State.WAITING, State.MATCHED);
+    }
+
+    /* SQL findPhase1Match와 같은 조건: 상대 성별, 거름 등급 제외, 같은 지역, 나이 ±허용 범위, 공통 취미 */
+    private static boolean isPhase1Partner(MatchProfile requester, MatchCandidate candidate) {
+        return !candidate.userId().equals(requester.userId())
+                && candidate.gender() == requester.gender().opposite()
+                && candidate.isTierEligible()
+                && candidate.region() == requester.region()
+                && candidate.birthYear() != null
+                && Math.abs(candidate.birthYear() - requester.birthYear()) <= MatchingConstants.AGE_TOLERANCE_YEARS
+                && HobbyBitmap.intersects(candidate.hobbyBits(), requester.hobbyBits());
+    }
+
+    private void remove(Entry entry) {
+        byUser.remove(entry.candidate.userId(), entry);
+        byQueueId.remove(entry.candidate.queueId(), entry);
+    }
+
+    /*
+     * 트랜잭션 밖에서 호출되면 즉시 커밋된 것으로 처리.
+     * afterCommit은 등록 순서대로 실행되므로 이후 발행된 AFTER_COMMIT 이벤트(MatchQueuedEvent)보다 먼저 반영됨.
+     */
+    private static void afterTransaction(Runnable onCommit, Runnable onRollback) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            onCommit.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                onCommit.run();
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                if (status != STATUS_COMMITTED) {
+                    onRollback.run();
+                }
+            }
+        });
+    }
+
+    private enum State {
+        PENDING,
+        WAITING,
+        MATCHED,
+        REMOVED
+    }
+
+    private static final class Entry {
+
+        private final MatchCandidate candidate;
+        private final AtomicReference<State> state = new AtomicReference<>(State.PENDING);
+        private volatile LocalDateTime lastSeenAt;
+
+        private Entry(MatchCandidate candidate, LocalDateTime lastSeenAt) {
+            this.candidate = candidate;
+            this.lastSeenAt = lastSeenAt;
+        }
+
+        private boolean isWaiting() {
+            return state.get() == State.WAITING;
+        }
+
+        /* regions가 null이면 전 지역 */
+        private boolean isIn(Set<Region> regions) {
+            return regions == null || regions.contains(candidate.region());
+        }
+    }
+
+    private record Digest(long count, long queueIdSum) implements WaitingQueueDigest {
+
+        @Override
+        public long getCount() {
+            return count;
+        }
+
+        @Override
+        public long getQueueIdSum() {
+            return queueIdSum;
+        }
+    }
+}
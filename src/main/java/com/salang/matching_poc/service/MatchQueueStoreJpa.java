@@ -0,0 +1,178 @@
+package com.salang.matching_poc.service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import com.salang.matching_poc.constants.MatchingConstants;
+import com.salang.matching_poc.model.entity.MatchQueue;
+import com.salang.matching_poc.model.enums.MatchStatus;
+import com.salang.matching_poc.model.enums.Region;
+import com.salang.matching_poc.repository.MatchQueueRepository;
+import com.salang.matching_poc.repository.projection.WaitingQueueDigest;
+
+import lombok.RequiredArgsConstructor;
+
+/*
+ * DB(match_queue) 대기열. 파트너 조회는 MatchQueueMatchFinder(for update skip locked), 단건 등록·취소·lease와 다건 쓰기는 MatchQueueWriter,
+ * 스케줄러 적재는 MatchCandidateReader에 위임. 선점·등록은 호출 트랜잭션에 참여.
+ */
+@Component
+@ConditionalOnProperty(name = "matching.queue.store", havingValue = "jpa", matchIfMissing = true)
+@RequiredArgsConstructor
+public class MatchQueueStoreJpa implements MatchQueueStore {
+
+    private final MatchQueueRepository matchQueueRepository;
+    private final MatchQueueMatchFinder matchQueueMatchFinder;
+    private final MatchQueueWriter matchQueueWriter;
+    private final MatchCandidateReader matchCandidateReader;
+
+    @Value("${matching.lease.duration:5s}")
+    private Duration leaseDuration;
+
+    @Override
+    public boolean contains(UUID userId) {
+        return matchQueueRepository.findByUserId(userId).isPresent();
+    }
+
+    @Override
+    public Set<UUID> findQueuedUserIds(Collection<UUID> userIds) {
+        return new HashSet<>(matchQueueRepository.findQueuedUserIds(userIds));
+    }
+
+    /* INSERT ... ON CONFLICT DO NOTHING 1회. 동시 중복 등록도 UNIQUE 위반 없이 false */
+    @Override
+    public boolean enqueue(MatchProfile profile) {
+        return matchQueueWriter.insertWaiting(profile, LocalDateTime.now());
+    }
+
+    /* unnest INSERT ... ON CONFLICT DO NOTHING 1회. queue_id는 시퀀스 기본값으로 발급(노드별 미리 받은 번호 블록 없음) */
+    @Override
+    public List<UUID> enqueueAll(List<MatchProfile> profiles) {
+        return matchQueueWriter.insertWaitingAll(profiles, LocalDateTime.now());
+    }
+
+    /* 조건부 DELETE 1회. 결과는 삭제 행 수와 행 존재 여부로 판단 */
+    @Override
+    public CancelResult cancel(UUID userId) {
+        return matchQueueWriter.deleteWaiting(userId);
+    }
+
+    @Override
+    public Optional<MatchCandidate> findWaiting(UUID userId) {
+        return matchQueueRepository.findByUserId(userId)
+                .filter(queue -> queue.getStatus() == MatchStatus.WAITING)
+                .map(MatchQueueStoreJpa::toCandidate);
+    }
+
+    /* 행 잠금은 문장과 함께 끝나고 lease(claimed_by·lease_until)가 확정까지 선점을 유지 */
+    @Override
+    public Optional<MatchCandidate> leasePhase1Partner(MatchCandidate requester) {
+        return matchQueueWriter.leasePhase1Partner(requester.toProfile(), leaseDuration);
+    }
+
+    @Override
+    public List<MatchPair> leasePairs(List<MatchPair> pairs) {
+        return matchQueueWriter.leasePairs(pairs, leaseDuration);
+    }
+
+    @Override
+    public void releaseLeases(Collection<UUID> userIds) {
+        matchQueueWriter.releaseLeases(userIds);
+    }
+
+    /* 파트너 행은 호출 트랜잭션이 끝날 때까지 잠겨 있어 다른 인터셉트·스케줄러가 건너뜀 */
+    @Override
+    public Optional<MatchCandidate> claimPhase1Partner(MatchProfile requester) {
+        return findPhase1Match(requester).map(partner -> {
+            partner.setStatus(MatchStatus.MATCHED);
+            matchQueueRepository.save(partner);
+            return toCandidate(partner);
+        });
+    }
+
+    /* 등록 여부 확인·파트너 선점·룸 INSERT를 DB 왕복 1회로 처리 (MatchQueueMatchFinder.interceptPhase1Match) */
+    @Override
+    public MatchIntercept interceptPhase1(MatchProfile requester, UUID roomId) {
+        int birthYear = requester.birthYear();
+        return matchQueueMatchFinder.interceptPhase1Match(
+                requester.userId(),
+                requester.gender().name(),
+                requester.region().name(),
+                birthYear - MatchingConstants.AGE_TOLERANCE_YEARS,
+                birthYear + MatchingConstants.AGE_TOLERANCE_YEARS,
+                requester.hobbyIds(),
+                roomId,
+                MatchingConstants.EXCLUDED_TIER,
+                MatchingConstants.WAITING_STATUS);
+    }
+
+    @Override
+    public List<MatchPair> markMatched(List<MatchPair> pairs) {
+        return matchQueueWriter.markMatched(pairs);
+    }
+
+    @Override
+    public WaitingQueueDigest digestWaitingUpTo(long maxQueueId, Set<Region> regions) {
+        if (regions == null) {
+            return matchQueueRepository.digestByStatusUpTo(MatchStatus.WAITING, maxQueueId);
+        }
+        return matchQueueRepository.digestByStatusUpToInRegions(MatchStatus.WAITING, maxQueueId, regions);
+    }
+
+    @Override
+    public List<Long> findWaitingQueueIdsUpTo(long maxQueueId, Set<Region> regions) {
+        if (regions == null) {
+            return matchQueueRepository.findQueueIdsByStatusUpTo(MatchStatus.WAITING, maxQueueId);
+        }
+        return matchQueueRepository.findQueueIdsByStatusUpToInRegions(MatchStatus.WAITING, maxQueueId, regions);
+    }
+
+    @Override
+    public List<MatchCandidate> findWaitingAfter(long queueId, Set<Region> regions) {
+        return matchCandidateReader.findWaitingAfter(queueId, regions);
+    }
+
+    @Override
+    public List<MatchCandidate> findWaitingByQueueIds(Collection<Long> queueIds) {
+        return matchCandidateReader.findWaitingByQueueIds(queueIds);
+    }
+
+    @Override
+    public void touchLastSeen(Map<UUID, LocalDateTime> lastSeen) {
+        matchQueueWriter.touchLastSeen(lastSeen);
+    }
+
+    @Override
+    public List<UUID> deleteExpired(LocalDateTime cutoff, int limit) {
+        return matchQueueWriter.deleteExpired(cutoff, limit);
+    }
+
+    private Optional<MatchQueue> findPhase1Match(MatchProfile requester) {
+        int birthYear = requester.birthYear();
+        return matchQueueMatchFinder.findPhase1Match(
+                requester.userId(),
+                requester.gender().name(),
+                requester.region().name(),
+                birthYear - MatchingConstants.AGE_TOLERANCE_YEARS,
+                birthYear + MatchingConstants.AGE_TOLERANCE_YEARS,
+                requester.hobbyIds(),
+                MatchingConstants.EXCLUDED_TIER,
+                MatchingConstants.WAITING_STATUS);
+    }
+
+    private static MatchCandidate toCandidate(MatchQueue queue) {
+        return new MatchCandidate(queue.getQueueId(), queue.getUserId(), queue.getGender(), queue.getRegion(),
+                queue.getBirthYear(), queue.getTier(), HobbyBitmap.of(queue.getHobbyIds()), queue.getCreatedAt());
+    }
+}
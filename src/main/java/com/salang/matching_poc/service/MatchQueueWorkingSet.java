@@ -0,0 +1,141 @@
+package com.salang.matching_poc.service;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.Predicate;
+
+/**
+ * tick 사이에 유지하는 WAITING 대기열 스냅샷. queue_id 워터마크 이하는 확정 구간, 초과는 매 tick 다시 조회하는 꼬리 구간.
+ * queue_id는 INSERT 시점에 발급되므로 동시 트랜잭션은 번호 순서와 다르게 커밋될 수 있음. 꼬리를 한 tick 동안 유지한 뒤 확정하므로
+ * 그 사이 늦게 커밋된 작은 번호 행은 꼬리 재조회로 적재됨.
+ * 한 행이 WAITING으로 되돌아가지는 않음. 취소·만료·이력 이동으로 행이 삭제된 사용자는 다시 등록할 수 있지만 새 queue_id 행으로 추가되므로
+ * 확정 구간에서는 삭제·매칭으로 빠지는 변화(스케줄러가 알림받은 queue_id로 제거)와, 한 tick보다 늦게 커밋된 행만 발생
+ * (스케줄러의 주기적 집계 대조로 적재).
+ * 스레드 안전하지 않음. 스케줄러 스레드에서만 사용.
+ */
+public final class MatchQueueWorkingSet {
+
+    private final NavigableMap<Long, MatchCandidate> candidatesByQueueId = new TreeMap<>();
+    private long watermark;
+    private long settledCount;
+    private long settledQueueIdSum;
+    /* 직전 꼬리 조회까지 적재한 최대 queue_id. 다음 꼬리 조회 후 확정 구간으로 편입 */
+    private long pendingWatermark;
+
+    /** 확정 구간 상한. 집계 대조는 이 번호 이하, 꼬리 조회는 이 번호 초과. */
+    public long watermark() {
+        return watermark;
+    }
+
+    public int size() {
+        return candidatesByQueueId.size();
+    }
+
+    public boolean isEmpty() {
+        return candidatesByQueueId.isEmpty();
+    }
+
+    /** DB의 WAITING(queue_id ≤ 워터마크) 집계와 비교용. 개수와 queue_id 합이 같으면 변화 없음으로 판단. */
+    public long settledCount() {
+        return settledCount;
+    }
+
+    public long settledQueueIdSum() {
+        return settledQueueIdSum;
+    }
+
+    public Collection<MatchCandidate> candidates() {
+        return candidatesByQueueId.values();
+    }
+
+    /** 확정 구간의 queue_id. */
+    public Set<Long> settledQueueIds() {
+        return new HashSet<>(candidatesByQueueId.headMap(watermark, true).keySet());
+    }
+
+    /**
+     * 꼬리 구간(워터마크 초과)을 이번 조회 결과로 교체하고, 직전 조회까지 적재된 번호를 확정 구간으로 편입.
+     * 첫 적재는 기다릴 이전 조회가 없으므로 바로 확정.
+     */
+    public void replaceTail(List<MatchCandidate> rows) {
+        Set<Long> tail = new HashSet<>();
+        for (MatchCandidate row : rows) {
+            tail.add(row.queueId());
+        }
+        candidatesByQueueId.tailMap(watermark, false).keySet().removeIf(queueId -> !tail.contains(queueId));
+        for (MatchCandidate row : rows) {
+            candidatesByQueueId.putIfAbsent(row.queueId(), row);
+        }
+        long loaded = candidatesByQueueId.isEmpty() ? watermark : Math.max(watermark, candidatesByQueueId.lastKey());
+        settle(watermark == 0 && pendingWatermark == 0 ? loaded : pendingWatermark);
+        pendingWatermark = loaded;
+    }
+
+    /** 확정 구간에서 DB와 대조해 누락된 행 추가. */
+    public void addSettled(List<MatchCandidate> rows) {
+        for (MatchCandidate row : rows) {
+            if (row.queueId() <= watermark && candidatesByQueueId.putIfAbsent(row.queueId(), row) == null) {
+                settledCount++;
+                settledQueueIdSum += row.queueId();
+            }
+        }
+    }
+
+    /** 확정 구간에서 DB에 더 이상 WAITING이 아닌 행 제거. */
+    public void retainSettled(Collection<Long> waitingQueueIds) {
+        Set<Long> waiting = waitingQueueIds instanceof Set<Long> set ? set : new HashSet<>(waitingQueueIds);
+        removeIf(candidatesByQueueId.headMap(watermark, true).values(), candidate -> !waiting.contains(candidate.queueId()));
+    }
+
+    /** WAITING에서 빠졌다고 알림받은 행 제거. 아직 적재하지 않은 번호는 무시. */
+    public void removeQueueIds(Collection<Long> queueIds) {
+        for (Long queueId : queueIds) {
+            if (candidatesByQueueId.remove(queueId) != null && queueId <= watermark) {
+                settledCount--;
+                settledQueueIdSum -= queueId;
+            }
+        }
+    }
+
+    /** 적재 범위가 바뀌면 비우고 다음 꼬리 조회(워터마크 0)부터 다시 적재. */
+    public void clear() {
+        candidatesByQueueId.clear();
+        watermark = 0;
+        pendingWatermark = 0;
+        settledCount = 0;
+        settledQueueIdSum = 0;
+    }
+
+    /** 이번 tick에서 확정된 사용자 제거. */
+    public void removeMatched(Predicate<MatchCandidate> matched) {
+        removeIf(candidatesByQueueId.values(), matched);
+    }
+
+    private void settle(long upTo) {
+        if (upTo <= watermark) {
+            return;
+        }
+        for (Long queueId : candidatesByQueueId.subMap(watermark, false, upTo, true).keySet()) {
+            settledCount++;
+            settledQueueIdSum += queueId;
+        }
+        watermark = upTo;
+    }
+
+    private void removeIf(Collection<MatchCandidate> candidates, Predicate<MatchCandidate> condition) {
+        candidates.removeIf(candidate -> {
+            if (condition.test(candidate)) {
+                if (candidate.queueId() <= watermark) {
+                    settledCount--;
+                    settledQueueIdSum -= candidate.queueId();
+                }
+                return true;
+            }
+            return false;
+        });
+    }
+}
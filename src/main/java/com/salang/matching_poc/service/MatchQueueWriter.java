@@ -0,0 +1,57 @@
+package com.salang.matching_poc.service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * 대기열 쓰기 경로. 상태 전환·룸 생성·heartbeat 반영·만료 삭제를 건수와 무관한 왕복 횟수로 처리.
+ * 단건 등록·취소는 사전 조회 없이 조건부 문장 1개로 처리하고 결과는 영향 행으로 판단.
+ */
+public interface MatchQueueWriter {
+
+    /** WAITING으로 등록. 같은 사용자 행이 이미 있으면(동시 등록 포함) 변경 없이 false. */
+    boolean insertWaiting(MatchProfile profile, LocalDateTime createdAt);
+
+    /**
+     * 여러 사용자를 INSERT 한 문장으로 WAITING 등록하고 등록된 사용자 반환. 이미 행이 있는 사용자(동시 등록 포함)는 건너뜀.
+     * queue_id는 목록 순서대로 시퀀스 기본값에서 발급.
+     */
+    List<UUID> insertWaitingAll(List<MatchProfile> profiles, LocalDateTime createdAt);
+
+    /** WAITING 행만 삭제. 행이 없으면 NOT_IN_QUEUE, 있지만 WAITING이 아니면(동시 확정 포함) ALREADY_MATCHED. */
+    MatchQueueStore.CancelResult deleteWaiting(UUID userId);
+
+    /**
+     * 두 사용자가 모두 WAITING이고 다른 노드의 유효한 lease가 없는 쌍만 MATCHED로 전환(lease 해제)하고 전환된 쌍을 반환.
+     * 나머지 쌍은 변경 없음.
+     */
+    List<MatchPair> markMatched(List<MatchPair> pairs);
+
+    /**
+     * 요청자(WAITING, lease 없음)와 1단계 조건 파트너 중 가장 오래 기다린 1명을 이 노드 이름으로 lease 기간 동안 선점하고 파트너 반환.
+     * 선점된 두 행은 다른 노드의 조회·확정에서 제외. 확정(markMatched)·releaseLeases·만료로 해제.
+     */
+    Optional<MatchCandidate> leasePhase1Partner(MatchProfile requester, Duration lease);
+
+    /**
+     * 두 사용자가 모두 WAITING이고 다른 노드의 유효한 lease가 없는 쌍만 이 노드 이름으로 lease 기간 동안 선점하고 선점된 쌍을 반환.
+     * 나머지 쌍은 변경 없음. 확정(markMatched)·releaseLeases·만료로 해제.
+     */
+    List<MatchPair> leasePairs(List<MatchPair> pairs, Duration lease);
+
+    /** 이 노드가 선점한 lease만 해제. */
+    void releaseLeases(Collection<UUID> userIds);
+
+    void insertRooms(List<MatchConfirmation> rooms);
+
+    /** WAITING 행의 last_seen_at을 더 최근 값으로만 갱신. 이미 매칭·취소된 사용자는 무시. */
+    void touchLastSeen(Map<UUID, LocalDateTime> lastSeen);
+
+    /** last_seen_at이 cutoff 이전인 WAITING 행을 오래된 순으로 최대 limit건 삭제하고 삭제된 사용자 반환. */
+    List<UUID> deleteExpired(LocalDateTime cutoff, int limit);
+}
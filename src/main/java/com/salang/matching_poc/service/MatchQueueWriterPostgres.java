@@ -0,0 +1,409 @@
+package com.salang.matching_poc.service;
+
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import static com.salang.matching_poc.constants.MatchingConstants.AGE_TOLERANCE_YEARS;
+import static com.salang.matching_poc.constants.MatchingConstants.EXCLUDED_TIER;
+import static com.salang.matching_poc.constants.MatchingConstants.WAITING_STATUS;
+import com.salang.matching_poc.model.enums.Gender;
+import com.salang.matching_poc.model.enums.MatchStatus;
+import com.salang.matching_poc.model.enums.Region;
+import com.salang.matching_poc.model.enums.Tier;
+import com.salang.matching_poc.service.MatchQueueStore.CancelResult;
+
+import lombok.RequiredArgsConstructor;
+
+@Component
+@Profile("!test")
+@RequiredArgsConstructor
+public class MatchQueueWriterPostgres implements MatchQueueWriter {
+
+    /*
+     * 쌍 목록을 배열 2개로 받아 한 문장으로 처리: 대상 WAITING 행 잠금 → 두 사용자 모두 잠긴 쌍만 MATCHED 전환.
+     * skip locked: 다른 노드·인터셉트가 잡고 있는 행은 충돌로 보고 건너뜀 (노드 간 잠금 순서 교착 방지).
+     * 다른 노드의 유효한 lease가 있는 행도 충돌. lease 시각은 노드 간 시계 차이가 없도록 DB 시각(localtimestamp) 기준.
+     */
+    private static final String MARK_MATCHED_SQL = """
+            with pairs as (
+                select * from unnest(?::uuid[], ?::uuid[]) as p(user1_id, user2_id)
+            ),
+            waiting as (
+                select user_id
+                from match_queue
+                where status = ?
+                  and user_id in (select user1_id from pairs union all select user2_id from pairs)
+                  and (lease_until is null or lease_until < localtimestamp or claimed_by = ?)
+                for update skip locked
+            ),
+            claimable as (
+                select user1_id, user2_id
+                from pairs
+                where user1_id in (select user_id from waiting)
+                  and user2_id in (select user_id from waiting)
+            )
+            update match_queue mq
+            set status = ?, claimed_by = null, lease_until = null
+            from claimable c
+            where mq.user_id = c.user1_id or mq.user_id = c.user2_id
+            returning mq.user_id
+            """;
+
+    /*
+     * 요청자 행과 1단계 조건 파트너 행을 잠근 뒤 lease 기록까지 한 문장(autocommit)으로 처리.
+     * 행 잠금은 문장 종료와 함께 풀리지만 lease가 남아 이후 확정 트랜잭션까지 다른 노드의 조회·확정이 두 행을 건너뜀.
+     * 파트너가 없으면 요청자 행도 변경하지 않음. 결과는 선점된 파트너 0~1행.
+     */
+    private static final String LEASE_PHASE1_SQL = """
+            with requester as (
+                select queue_id
+                from match_queue
+                where user_id = ?
+                  and status = ?
+                  and (lease_until is null or lease_until < localtimestamp)
+                for update skip locked
+            ),
+            partner as (
+                select queue_id
+                from match_queue
+                where status = ?
+                  and user_id <> ?
+                  and gender = ?
+                  and tier <> ?
+                  and location = ?
+                  and birth_year between ? and ?
+                  and hobby_ids && ?
+                  and (lease_until is null or lease_until < localtimestamp)
+                  and exists (select 1 from requester)
+                order by created_at
+                limit 1
+                for update skip locked
+            ),
+            leased as (
+                update match_queue mq
+                set claimed_by = ?, lease_until = localtimestamp + ? * interval '1 millisecond'
+                where mq.queue_id in (select queue_id from requester union all select queue_id from partner)
+                  and exists (select 1 from partner)
+                returning mq.queue_id, mq.user_id, mq.gender, mq.location, mq.birth_year, mq.tier, mq.hobby_ids,
+                          mq.created_at
+            )
+            select * from leased where user_id <> ?
+            """;
+
+    /*
+     * 스케줄러 tick이 제안한 쌍 선점. MARK_MATCHED_SQL과 같은 방식으로 두 사용자가 모두 잠긴 쌍만 lease 기록(autocommit).
+     * 이미 이 노드가 lease한 행(재제안)은 기간만 연장.
+     */
+    private static final String LEASE_PAIRS_SQL = """
+            with pairs as (
+                select * from unnest(?::uuid[], ?::uuid[]) as p(user1_id, user2_id)
+            ),
+            waiting as (
+                select user_id
+                from match_queue
+                where status = ?
+                  and user_id in (select user1_id from pairs union all select user2_id from pairs)
+                  and (lease_until is null or lease_until < localtimestamp or claimed_by = ?)
+                for update skip locked
+            ),
+            leasable as (
+                select user1_id, user2_id
+                from pairs
+                where user1_id in (select user_id from waiting)
+                  and user2_id in (select user_id from waiting)
+            )
+            update match_queue mq
+            set claimed_by = ?, lease_until = localtimestamp + ? * interval '1 millisecond'
+            from leasable l
+            where mq.user_id = l.user1_id or mq.user_id = l.user2_id
+            returning mq.user_id
+            """;
+
+    private static final String RELEASE_LEASES_SQL = """
+            update match_queue
+            set claimed_by = null, lease_until = null
+            where user_id = any(?)
+              and claimed_by = ?
+            """;
+
+    /* user_id UNIQUE 충돌 시 예외 대신 0행. 동시 등록이면 먼저 INSERT한 트랜잭션 종료까지 대기 후 판단. queue_id는 시퀀스 기본값 */
+    private static final String INSERT_WAITING_SQL = """
+            insert into match_queue (user_id, status, hobby_ids, tier, location, birth_year, gender, created_at, last_seen_at)
+            values (?, ?, ?, ?, ?, ?, ?, ?, ?)
+            on conflict (user_id) do nothing
+            returning queue_id
+            """;
+
+    /*
+     * 배열 파라미터로 받은 여러 행을 한 문장으로 등록. hobby_ids는 행마다 길이가 달라 '{1,2}' 문자열 배열로 받아 행별로 변환.
+     * queue_id는 컬럼 기본값(nextval)으로 목록 순서대로 발급되므로 다른 노드 등록과 번호가 섞이지 않음.
+     */
+    private static final String INSERT_WAITING_ALL_SQL = """
+            insert into match_queue (user_id, status, hobby_ids, tier, location, birth_year, gender, created_at, last_seen_at)
+            select v.user_id, ?, v.hobby_ids::integer[], v.tier, v.location, v.birth_year, v.gender, ?, ?
+            from unnest(?::uuid[], ?::text[], ?::text[], ?::text[], ?::integer[], ?::text[])
+                 with ordinality as v(user_id, hobby_ids, tier, location, birth_year, gender, ord)
+            order by v.ord
+            on conflict (user_id) do nothing
+            returning user_id
+            """;
+
+    /*
+     * WAITING일 때만 삭제. 삭제되지 않았을 때의 행 상태는 for share로 잠가 최신 커밋 기준으로 조회
+     * (문장 스냅샷으로 조회하면 먼저 커밋된 만료·이력 이동 삭제를 보지 못해 NOT_IN_QUEUE 대신 ALREADY_MATCHED).
+     * 확정 트랜잭션이 행을 잠그고 있으면 커밋까지 기다린 뒤 MATCHED면 삭제하지 않음 → deleted 0, status MATCHED.
+     * 같은 문장에서 삭제한 행은 잠금 조회에서 빠지므로 삭제 성공 시 status는 null.
+     */
+    private static final String DELETE_WAITING_SQL = """
+            with deleted as (
+                delete from match_queue
+                where user_id = ?
+                  and status = ?
+                returning queue_id
+            )
+            select (select count(*) from deleted) as deleted,
+                   (select status from match_queue where user_id = ? for share) as status
+            """;
+
+    private static final String INSERT_ROOM_SQL = """
+            insert into rooms (room_id, user1_id, user2_id, created_at, updated_at) values (?, ?, ?, ?, ?)
+            """;
+
+    /*
+     * skip locked: 확정·취소 중인 행을 기다리지 않고 건너뜀. 기다리면 그동안 이미 잠근 나머지 heartbeat 행이 계속 잠겨
+     * 확정(MARK_MATCHED_SQL)의 skip locked가 해당 쌍을 충돌로 보고함. 건너뛴 행은 확정되면 반영할 필요가 없고,
+     * 확정되지 않아 WAITING으로 남으면 다음 heartbeat로 반영됨.
+     */
+    private static final String TOUCH_LAST_SEEN_SQL = """
+            update match_queue mq
+            set last_seen_at = greatest(mq.last_seen_at, s.seen_at)
+            from (
+                select q.queue_id, h.seen_at
+                from match_queue q
+                join unnest(?::uuid[], ?::timestamp[]) as h(user_id, seen_at) on q.user_id = h.user_id
+                where q.status = ?
+                for update of q skip locked
+            ) s
+            where mq.queue_id = s.queue_id
+            """;
+
+    /* skip locked: 확정·취소 중인 행은 이번 배치에서 건너뜀 */
+    private static final String DELETE_EXPIRED_SQL = """
+            delete from match_queue
+            where queue_id in (
+                select queue_id
+                from match_queue
+                where status = ?
+                  and last_seen_at < ?
+                order by last_seen_at
+                limit ?
+                for update skip locked
+            )
+            returning user_id
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /* lease 소유자. 노드(프로세스)마다 고유 */
+    private final String leaseOwner = UUID.randomUUID().toString();
+
+    @Override
+    public boolean insertWaiting(MatchProfile profile, LocalDateTime createdAt) {
+        Timestamp now = Timestamp.valueOf(createdAt);
+        List<Long> inserted = jdbcTemplate.query(con -> {
+            PreparedStatement ps = con.prepareStatement(INSERT_WAITING_SQL);
+            ps.setObject(1, profile.userId());
+            ps.setString(2, WAITING_STATUS);
+            ps.setArray(3, con.createArrayOf("integer", profile.hobbyIds()));
+            ps.setString(4, name(profile.tier()));
+            ps.setString(5, name(profile.region()));
+            ps.setInt(6, profile.birthYear());
+            ps.setString(7, name(profile.gender()));
+            ps.setTimestamp(8, now);
+            ps.setTimestamp(9, now);
+            return ps;
+        }, (rs, rowNum) -> rs.getLong(1));
+        return !inserted.isEmpty();
+    }
+
+    @Override
+    public List<UUID> insertWaitingAll(List<MatchProfile> profiles, LocalDateTime createdAt) {
+        if (profiles.isEmpty()) {
+            return List.of();
+        }
+        Timestamp now = Timestamp.valueOf(createdAt);
+        return jdbcTemplate.query(con -> {
+            PreparedStatement ps = con.prepareStatement(INSERT_WAITING_ALL_SQL);
+            ps.setString(1, WAITING_STATUS);
+            ps.setTimestamp(2, now);
+            ps.setTimestamp(3, now);
+            ps.setArray(4, con.createArrayOf("uuid", profiles.stream().map(MatchProfile::userId).toArray()));
+            ps.setArray(5, con.createArrayOf("text", profiles.stream()
+                    .map(profile -> Arrays.stream(profile.hobbyIds())
+                            .map(String::valueOf)
+                            .collect(Collectors.joining(",", "{", "}")))
+                    .toArray()));
+            ps.setArray(6, con.createArrayOf("text", profiles.stream().map(profile -> name(profile.tier())).toArray()));
+            ps.setArray(7, con.createArrayOf("text", profiles.stream().map(profile -> name(profile.region())).toArray()));
+            ps.setArray(8, con.createArrayOf("integer", profiles.stream().map(MatchProfile::birthYear).toArray()));
+            ps.setArray(9, con.createArrayOf("text", profiles.stream().map(profile -> name(profile.gender())).toArray()));
+            return ps;
+        }, (rs, rowNum) -> rs.getObject(1, UUID.class));
+    }
+
+    @Override
+    public CancelResult deleteWaiting(UUID userId) {
+        return jdbcTemplate.queryForObject(DELETE_WAITING_SQL, (rs, rowNum) -> {
+            if (rs.getLong("deleted") > 0) {
+                return CancelResult.CANCELLED;
+            }
+            return rs.getString("status") != null ? CancelResult.ALREADY_MATCHED : CancelResult.NOT_IN_QUEUE;
+        }, userId, WAITING_STATUS, userId);
+    }
+
+    @Override
+    public List<MatchPair> markMatched(List<MatchPair> pairs) {
+        if (pairs.isEmpty()) {
+            return List.of();
+        }
+        UUID[] user1Ids = pairs.stream().map(MatchPair::user1Id).toArray(UUID[]::new);
+        UUID[] user2Ids = pairs.stream().map(MatchPair::user2Id).toArray(UUID[]::new);
+        List<UUID> matched = jdbcTemplate.query(con -> {
+            PreparedStatement ps = con.prepareStatement(MARK_MATCHED_SQL);
+            ps.setArray(1, con.createArrayOf("uuid", user1Ids));
+            ps.setArray(2, con.createArrayOf("uuid", user2Ids));
+            ps.setString(3, WAITING_STATUS);
+            ps.setString(4, leaseOwner);
+            ps.setString(5, MatchStatus.MATCHED.name());
+            return ps;
+        }, (rs, rowNum) -> rs.getObject(1, UUID.class));
+
+        Set<UUID> matchedIds = new HashSet<>(matched);
+        return pairs.stream()
+                .filter(pair -> matchedIds.contains(pair.user1Id()) && matchedIds.contains(pair.user2Id()))
+                .toList();
+    }
+
+    @Override
+    public Optional<MatchCandidate> leasePhase1Partner(MatchProfile requester, Duration lease) {
+        int birthYear = requester.birthYear();
+        List<MatchCandidate> leased = jdbcTemplate.query(con -> {
+            PreparedStatement ps = con.prepareStatement(LEASE_PHASE1_SQL);
+            ps.setObject(1, requester.userId());
+            ps.setString(2, WAITING_STATUS);
+            ps.setString(3, WAITING_STATUS);
+            ps.setObject(4, requester.userId());
+            ps.setString(5, requester.gender().opposite().name());
+            ps.setString(6, EXCLUDED_TIER);
+            ps.setString(7, name(requester.region()));
+            ps.setInt(8, birthYear - AGE_TOLERANCE_YEARS);
+            ps.setInt(9, birthYear + AGE_TOLERANCE_YEARS);
+            ps.setArray(10, con.createArrayOf("integer", requester.hobbyIds()));
+            ps.setString(11, leaseOwner);
+            ps.setLong(12, lease.toMillis());
+            ps.setObject(13, requester.userId());
+            return ps;
+        }, (rs, rowNum) -> new MatchCandidate(
+                rs.getLong("queue_id"),
+                rs.getObject("user_id", UUID.class),
+                Gender.valueOf(rs.getString("gender")),
+                Region.valueOf(rs.getString("location")),
+                rs.getObject("birth_year", Integer.class),
+                Tier.valueOf(rs.getString("tier")),
+                HobbyBitmap.of((Integer[]) rs.getArray("hobby_ids").getArray()),
+                rs.getTimestamp("created_at").toLocalDateTime()));
+        return leased.stream().findFirst();
+    }
+
+    @Override
+    public List<MatchPair> leasePairs(List<MatchPair> pairs, Duration lease) {
+        if (pairs.isEmpty()) {
+            return List.of();
+        }
+        UUID[] user1Ids = pairs.stream().map(MatchPair::user1Id).toArray(UUID[]::new);
+        UUID[] user2Ids = pairs.stream().map(MatchPair::user2Id).toArray(UUID[]::new);
+        List<UUID> leased = jdbcTemplate.query(con -> {
+            PreparedStatement ps = con.prepareStatement(LEASE_PAIRS_SQL);
+            ps.setArray(1, con.createArrayOf("uuid", user1Ids));
+            ps.setArray(2, con.createArrayOf("uuid", user2Ids));
+            ps.setString(3, WAITING_STATUS);
+            ps.setString(4, leaseOwner);
+            ps.setString(5, leaseOwner);
+            ps.setLong(6, lease.toMillis());
+            return ps;
+        }, (rs, rowNum) -> rs.getObject(1, UUID.class));
+
+        Set<UUID> leasedIds = new HashSet<>(leased);
+        return pairs.stream()
+                .filter(pair -> leasedIds.contains(pair.user1Id()) && leasedIds.contains(pair.user2Id()))
+                .toList();
+    }
+
+    @Override
+    public void releaseLeases(Collection<UUID> userIds) {
+        if (userIds.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.update(con -> {
+            PreparedStatement ps = con.prepareStatement(RELEASE_LEASES_SQL);
+            ps.setArray(1, con.createArrayOf("uuid", userIds.toArray(UUID[]::new)));
+            ps.setString(2, leaseOwner);
+            return ps;
+        });
+    }
+
+    @Override
+    public void insertRooms(List<MatchConfirmation> rooms) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.batchUpdate(INSERT_ROOM_SQL, rooms, rooms.size(), (ps, room) -> {
+            ps.setObject(1, room.roomId());
+            ps.setObject(2, room.pair().user1Id());
+            ps.setObject(3, room.pair().user2Id());
+            ps.setTimestamp(4, now);
+            ps.setTimestamp(5, now);
+        });
+    }
+
+    @Override
+    public void touchLastSeen(Map<UUID, LocalDateTime> lastSeen) {
+        if (lastSeen.isEmpty()) {
+            return;
+        }
+        UUID[] userIds = lastSeen.keySet().toArray(UUID[]::new);
+        Timestamp[] seenAts = Arrays.stream(userIds)
+                .map(userId -> Timestamp.valueOf(lastSeen.get(userId)))
+                .toArray(Timestamp[]::new);
+        jdbcTemplate.update(con -> {
+            PreparedStatement ps = con.prepareStatement(TOUCH_LAST_SEEN_SQL);
+            ps.setArray(1, con.createArrayOf("uuid", userIds));
+            ps.setArray(2, con.createArrayOf("timestamp", seenAts));
+            ps.setString(3, WAITING_STATUS);
+            return ps;
+        });
+    }
+
+    @Override
+    public List<UUID> deleteExpired(LocalDateTime cutoff, int limit) {
+        return jdbcTemplate.query(DELETE_EXPIRED_SQL, (rs, rowNum) -> rs.getObject(1, UUID.class),
+                WAITING_STATUS, Timestamp.valueOf(cutoff), limit);
+    }
+
+    private static String name(Enum<?> value) {
+        return value == null ? null : value.name();
+    }
+}
@@ -0,0 +1,178 @@
+package com.salang.matching_poc.service;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.salang.matching_poc.controller.dto.ErrorResponse;
+import com.salang.matching_poc.controller.dto.MatchResponse;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/*
+ * 대기 중인 클라이언트의 매칭 결과 SSE 스트림 (GET /api/v1/match/stream).
+ * 결과는 확정 트랜잭션 커밋 후 같은 노드는 바로, 다른 노드는 NOTIFY로 받아(MatchResultListener) deliver()로 전달.
+ * 구독 전에 확정된 결과도 놓치지 않도록 최근 결과를 replay-ttl 동안 보관해 구독 즉시 전달.
+ * 구독 등록과 결과 보관은 같은 락에서 처리하므로 둘이 겹쳐도 결과가 한 번만 전달됨.
+ * deliver()는 확정 커밋·스케줄러 tick 스레드에서 호출되므로 전송은 크기 제한이 있는 전송 스레드에 넘기고 바로 반환.
+ * 전송 대기열이 가득 차면 구독을 그냥 종료. 클라이언트(EventSource)가 재연결하면 보관된 결과를 받음.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class MatchResultStream {
+
+    static final String MATCHED_EVENT = "matched";
+    static final String NOT_IN_QUEUE_EVENT = "not_in_queue";
+
+    private static final Duration SHUTDOWN_TIMEOUT = Duration.ofSeconds(5);
+
+    private final MatchQueueStore matchQueueStore;
+
+    @Value("${matching.result-stream.timeout:60s}")
+    private Duration timeout;
+
+    @Value("${matching.result-stream.replay-ttl:30s}")
+    private Duration replayTtl;
+
+    @Value("${matching.result-stream.replay-max-size:10000}")
+    private int replayMaxSize;
+
+    @Value("${matching.result-stream.senders:2}")
+    private int senders;
+
+    @Value("${matching.result-stream.send-queue-size:10000}")
+    private int sendQueueSize;
+
+    private ThreadPoolExecutor sender;
+
+    private final Map<UUID, List<SseEmitter>> subscribers = new HashMap<>();
+    private final Map<UUID, Result> recent = new LinkedHashMap<>(16, 0.75f, false) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<UUID, Result> eldest) {
+            return size() > replayMaxSize || eldest.getValue().expiresAt < System.nanoTime();
+        }
+    };
+
+    @PostConstruct
+    void start() {
+        AtomicInteger threads = new AtomicInteger();
+        sender = new ThreadPoolExecutor(senders, senders, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(sendQueueSize), runnable -> {
+                    Thread thread = new Thread(runnable, "match-result-sse-" + threads.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+    }
+
+    /* 대기 중인 전송은 종료 전에 처리 */
+    @PreDestroy
+    void stop() throws InterruptedException {
+        sender.shutdown();
+        sender.awaitTermination(SHUTDOWN_TIMEOUT.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * 최근 결과가 있으면 바로 전달하고 종료. 대기열에 없으면 not_in_queue 이벤트 후 종료.
+     * EventSource는 오류 응답 본문을 읽지 못하므로 오류도 이벤트로 전달.
+     */
+    public SseEmitter subscribe(UUID userId) {
+        SseEmitter emitter = new SseEmitter(timeout.toMillis());
+        Result result;
+        synchronized (this) {
+            result = recentResult(userId);
+            if (result == null) {
+                subscribers.computeIfAbsent(userId, id -> new ArrayList<>()).add(emitter);
+            }
+        }
+        if (result != null) {
+            send(emitter, MATCHED_EVENT, MatchResponse.matched(result.roomId, result.matchedAt));
+            return emitter;
+        }
+
+        emitter.onCompletion(() -> unsubscribe(userId, emitter));
+        emitter.onTimeout(emitter::complete);
+        emitter.onError(e -> unsubscribe(userId, emitter));
+        if (!matchQueueStore.contains(userId)) {
+            unsubscribe(userId, emitter);
+            send(emitter, NOT_IN_QUEUE_EVENT, ErrorResponse.of("NOT_IN_QUEUE", "매칭 대기열에 등록되어 있지 않습니다."));
+        }
+        return emitter;
+    }
+
+    /* 확정 트랜잭션 커밋 후 호출. 결과 보관·구독 해제만 호출 스레드에서 하고, 전송은 전송 스레드에서 수행 */
+    public void deliver(List<MatchConfirmation> confirmations, OffsetDateTime matchedAt) {
+        Map<SseEmitter, Result> targets = new LinkedHashMap<>();
+        synchronized (this) {
+            long expiresAt = System.nanoTime() + replayTtl.toNanos();
+            for (MatchConfirmation confirmation : confirmations) {
+                Result result = new Result(confirmation.roomId(), matchedAt, expiresAt);
+                for (UUID userId : List.of(confirmation.pair().user1Id(), confirmation.pair().user2Id())) {
+                    recent.put(userId, result);
+                    for (SseEmitter emitter : subscribers.getOrDefault(userId, List.of())) {
+                        targets.put(emitter, result);
+                    }
+                    subscribers.remove(userId);
+                }
+            }
+        }
+        targets.forEach(this::dispatch);
+    }
+
+    public synchronized int subscriberCount(UUID userId) {
+        return subscribers.getOrDefault(userId, List.of()).size();
+    }
+
+    private Result recentResult(UUID userId) {
+        Result result = recent.get(userId);
+        return result != null && System.nanoTime() < result.expiresAt ? result : null;
+    }
+
+    private synchronized void unsubscribe(UUID userId, SseEmitter emitter) {
+        List<SseEmitter> emitters = subscribers.get(userId);
+        if (emitters != null && emitters.remove(emitter) && emitters.isEmpty()) {
+            subscribers.remove(userId);
+        }
+    }
+
+    /* 느리거나 멈춘 클라이언트가 호출 스레드(tick)를 붙잡지 않도록 전송 스레드로 넘김 */
+    private void dispatch(SseEmitter emitter, Result result) {
+        try {
+            sender.execute(() -> send(emitter, MATCHED_EVENT, MatchResponse.matched(result.roomId, result.matchedAt)));
+        } catch (RejectedExecutionException e) {
+            log.warn("매칭 결과 SSE 전송 대기열 초과. 구독을 종료하고 재연결 시 보관 결과로 전달");
+            emitter.complete();
+        }
+    }
+
+    private static void send(SseEmitter emitter, String event, Object data) {
+        try {
+            emitter.send(SseEmitter.event().name(event).data(data));
+            emitter.complete();
+        } catch (IOException | IllegalStateException e) {
+            log.debug("매칭 결과 SSE 전송 실패 (연결 종료)", e);
+            emitter.completeWithError(e);
+        }
+    }
+
+    private record Result(UUID roomId, OffsetDateTime matchedAt, long expiresAt) {
+    }
+}
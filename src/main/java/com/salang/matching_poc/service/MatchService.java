@@ -1,10 +1,20 @@
 package com.salang.matching_poc.service;
 
+import java.time.LocalDateTime;
 import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -14,15 +24,14 @@ import com.salang.matching_poc.controller.dto.MatchResponse;
 import com.salang.matching_poc.exception.AlreadyInQueueException;
 import com.salang.matching_poc.exception.UserNotFoundException;
 import com.salang.matching_poc.exception.UserNotInQueueException;
-import com.salang.matching_poc.model.entity.MatchQueue;
 import com.salang.matching_poc.model.entity.Room;
 import com.salang.matching_poc.model.entity.User;
-import com.salang.matching_poc.model.entity.UserHobby;
-import com.salang.matching_poc.model.enums.MatchStatus;
-import com.salang.matching_poc.repository.MatchQueueRepository;
+import com.salang.matching_poc.model.enums.MatchPhase;
 import com.salang.matching_poc.repository.RoomRepository;
-import com.salang.matching_poc.repository.UserHobbyRepository;
 import com.salang.matching_poc.repository.UserRepository;
+import com.salang.matching_poc.service.MatchingMetrics.LookupPath;
+import com.salang.matching_poc.service.event.MatchConfirmedEvent;
+import com.salang.matching_poc.service.event.MatchQueuedEvent;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -33,54 +42,215 @@ import lombok.extern.slf4j.Slf4j;
 public class MatchService {
 
     private final UserRepository userRepository;
-    private final UserHobbyRepository userHobbyRepository;
-    private final MatchQueueRepository matchQueueRepository;
     private final RoomRepository roomRepository;
-    private final MatchQueueMatchFinder matchQueueMatchFinder;
+    private final ApplicationEventPublisher eventPublisher;
+    private final MatchQueueWriter matchQueueWriter;
+    private final MatchProfileCache matchProfileCache;
+    private final MatchQueueStore matchQueueStore;
+    private final MatchingMetrics matchingMetrics;
+    private final HobbyCatalog hobbyCatalog;
+
+    @Value("${matching.intercept.single-statement:true}")
+    private boolean singleStatementIntercept;
 
     @Transactional
     public MatchResponse<?> requestMatch(MatchRequest request) {
         UUID userId = request.userId();
-        User user = userRepository.findById(userId).orElseThrow(UserNotFoundException::new);
+        // 프로필 캐시 적중 시 users·user_hobbies 조회 없음
+        MatchProfile profile = matchProfileCache.get(userId);
+        if (singleStatementIntercept) {
+            return interceptInSingleStatement(profile);
+        }
 
-        if (matchQueueRepository.findByUserId(userId).isPresent()) {
+        if (matchQueueStore.contains(userId)) {
             throw new AlreadyInQueueException();
         }
 
-        Optional<MatchQueue> partner = findInterceptPartner(user);
+        // 파트너는 선점(MATCHED) 상태로 반환되며, 룸 생성 실패로 롤백되면 선점도 취소
+        Optional<MatchCandidate> partner = matchingMetrics.timeLookup(LookupPath.INTERCEPT, MatchPhase.PHASE_1,
+                () -> matchQueueStore.claimPhase1Partner(profile));
         return partner
-                .<MatchResponse<?>>map(p -> doInterceptAndReturn(user, p))
-                .orElseGet(() -> doEnqueueAndReturn(user));
+                .<MatchResponse<?>>map(candidate -> doInterceptAndReturn(profile, candidate))
+                .orElseGet(() -> doEnqueueAndReturn(profile));
     }
 
-    /** 즉시 매칭: room 생성, 파트너 MATCHED 처리 후 MatchResponse.matched 반환. */
-    private MatchResponse<?> doInterceptAndReturn(User user, MatchQueue partner) {
-        Room room = createRoom(user, partner.getUserId());
-        partner.setStatus(MatchStatus.MATCHED);
-        matchQueueRepository.save(partner);
-        return MatchResponse.matched(room.getRoomId(),
-                OffsetDateTime.now(MatchingConstants.ZONE_ASIA_SEOUL));
+    /*
+     * 등록 여부 확인·파트너 선점·룸 생성을 대기열 저장소의 문장 1개로 처리 (jpa 저장소는 DB 왕복 1회).
+     * 룸 ID는 미리 생성해 전달하므로 룸 엔티티 저장·User 참조가 없음. 파트너가 없으면 대기열 등록.
+     */
+    private MatchResponse<?> interceptInSingleStatement(MatchProfile profile) {
+        UUID roomId = UUID.randomUUID();
+        MatchIntercept intercept = matchingMetrics.timeLookup(LookupPath.INTERCEPT, MatchPhase.PHASE_1,
+                () -> matchQueueStore.interceptPhase1(profile, roomId));
+        if (intercept.requesterQueued()) {
+            throw new AlreadyInQueueException();
+        }
+        if (intercept.isMatched()) {
+            return respondMatched(profile, intercept.partner(), roomId);
+        }
+        return doEnqueueAndReturn(profile);
     }
 
-    /** 대기열 등록 후 MatchResponse.waiting 반환. */
-    private MatchResponse<?> doEnqueueAndReturn(User user) {
-        MatchQueue queued = buildQueueEntry(user);
-        matchQueueRepository.save(queued);
-        return MatchResponse.waiting("매칭 대기열에 등록되었습니다. Supabase Realtime을 통해 매칭 결과를 기다려주세요.",
+    /** 즉시 매칭: 선점한 파트너와 room 생성 후 MatchResponse.matched 반환. */
+    private MatchResponse<?> doInterceptAndReturn(MatchProfile profile, MatchCandidate partner) {
+        Room room = createRoom(profile.userId(), partner.userId());
+        return respondMatched(profile, partner, room.getRoomId());
+    }
+
+    /**
+     * 즉시 매칭 응답. 요청자의 time-to-match는 0.
+     * 대기 중이던 파트너에게는 커밋 후 MatchConfirmedEvent로 결과 전달.
+     */
+    private MatchResponse<?> respondMatched(MatchProfile profile, MatchCandidate partner, UUID roomId) {
+        LocalDateTime matchedAt = LocalDateTime.now();
+        matchingMetrics.recordTimeToMatch(MatchPhase.PHASE_1, matchedAt, matchedAt);
+        matchingMetrics.recordTimeToMatch(MatchPhase.PHASE_1, partner.createdAt(), matchedAt);
+        OffsetDateTime respondedAt = OffsetDateTime.now(MatchingConstants.ZONE_ASIA_SEOUL);
+        publishConfirmed(List.of(new MatchConfirmation(new MatchPair(profile.userId(), partner.userId()), roomId)),
+                respondedAt);
+        return MatchResponse.matched(roomId, respondedAt);
+    }
+
+    /**
+     * 대기열 등록 후 MatchResponse.waiting 반환. 커밋 후 MatchQueuedEvent로 즉시 매칭 트리거.
+     * 같은 사용자의 동시 요청이 먼저 등록했으면 등록 결과(false)로 AlreadyInQueueException.
+     */
+    private MatchResponse<?> doEnqueueAndReturn(MatchProfile profile) {
+        if (!matchQueueStore.enqueue(profile)) {
+            throw new AlreadyInQueueException();
+        }
+        eventPublisher.publishEvent(MatchQueuedEvent.of(profile.userId(), profile.region()));
+        return waitingResponse();
+    }
+
+    private static MatchResponse<?> waitingResponse() {
+        return MatchResponse.waiting("매칭 대기열에 등록되었습니다. 매칭 결과 스트림(SSE) 또는 Supabase Realtime을 통해 매칭 결과를 기다려주세요.",
                 OffsetDateTime.now(MatchingConstants.ZONE_ASIA_SEOUL));
     }
 
     /**
-     * 스케줄러/인터셉트에서 파트너 확정 후 호출. WAITING→MATCHED 조건부 업데이트로 원자성 보장.
-     * updated != 2 이면 이미 타 스레드/인스턴스에서 매칭된 경우 → 롤백.
+     * 인터셉트 마이크로 배치 (MatchInterceptBatcher). 같은 창에 도착한 요청을 트랜잭션 1개로 처리.
+     * 1) 배치 안에서 1단계 조건으로 서로 짝지음(메모리, DB 조회 없음) 2) 남은 요청은 대기열 파트너 선점
+     * 3) 룸은 batch INSERT 1회, 그래도 남은 요청은 일괄 등록. 응답은 profiles 순서이며 이미 대기열에 있는 사용자
+     * (같은 배치 안의 중복 요청 포함)는 null. 등록 충돌 등으로 실패하면 전체 롤백되므로 호출자가 단건 처리로 재시도.
+     */
+    @Transactional
+    public List<MatchResponse<?>> requestMatches(List<MatchProfile> profiles) {
+        Set<UUID> skipped = new HashSet<>(matchQueueStore.findQueuedUserIds(
+                profiles.stream().map(MatchProfile::userId).toList()));
+        LocalDateTime arrivedAt = LocalDateTime.now();
+        Map<UUID, MatchCandidate> arrivals = new LinkedHashMap<>();
+        for (MatchProfile profile : profiles) {
+            if (skipped.add(profile.userId())) {
+                arrivals.put(profile.userId(), new MatchCandidate(0, profile.userId(), profile.gender(),
+                        profile.region(), profile.birthYear(), profile.tier(), profile.hobbyBits(), arrivedAt));
+            }
+        }
+
+        // 도착 순서(created_at 동일 → 안정 정렬)대로 배치 안 파트너 조회
+        MatchCandidateIndex index = MatchCandidateIndex.build(arrivals.values(), hobbyCatalog.bitmapWords());
+        Map<UUID, UUID> roomIds = new HashMap<>();
+        List<MatchConfirmation> confirmations = new ArrayList<>();
+        List<MatchProfile> leftovers = new ArrayList<>();
+        for (MatchCandidate arrival : arrivals.values()) {
+            if (index.isMatched(arrival.userId())) {
+                continue;
+            }
+            Optional<MatchCandidate> partner = index.findPartner(arrival, MatchPhase.PHASE_1);
+            if (partner.isPresent()) {
+                index.markMatched(arrival.userId());
+                index.markMatched(partner.get().userId());
+                confirmations.add(roomFor(arrival.userId(), partner.get(), arrivedAt, roomIds));
+                continue;
+            }
+            MatchProfile profile = arrival.toProfile();
+            Optional<MatchCandidate> queued = matchingMetrics.timeLookup(LookupPath.INTERCEPT, MatchPhase.PHASE_1,
+                    () -> matchQueueStore.claimPhase1Partner(profile));
+            if (queued.isPresent()) {
+                confirmations.add(roomFor(arrival.userId(), queued.get(), arrivedAt, roomIds));
+            } else {
+                leftovers.add(profile);
+            }
+        }
+
+        OffsetDateTime respondedAt = OffsetDateTime.now(MatchingConstants.ZONE_ASIA_SEOUL);
+        if (!confirmations.isEmpty()) {
+            matchQueueWriter.insertRooms(confirmations);
+            publishConfirmed(confirmations, respondedAt);
+        }
+        matchQueueStore.enqueueAll(leftovers);
+        if (!leftovers.isEmpty()) {
+            // 남은 요청 전체를 이벤트 1개로 발행: NOTIFY·즉시 매칭 작업이 요청 수와 무관하게 1개
+            eventPublisher.publishEvent(new MatchQueuedEvent(leftovers.stream()
+                    .map(profile -> new MatchQueuedEvent.Queued(profile.userId(), profile.region()))
+                    .toList()));
+        }
+        log.debug("인터셉트 배치 {}건: 매칭 {}쌍, 대기열 등록 {}건, 중복 {}건", profiles.size(), confirmations.size(),
+                leftovers.size(), profiles.size() - arrivals.size());
+
+        Set<UUID> answered = new HashSet<>();
+        List<MatchResponse<?>> responses = new ArrayList<>(profiles.size());
+        for (MatchProfile profile : profiles) {
+            UUID userId = profile.userId();
+            if (!arrivals.containsKey(userId) || !answered.add(userId)) {
+                responses.add(null);
+            } else if (roomIds.containsKey(userId)) {
+                responses.add(MatchResponse.matched(roomIds.get(userId), respondedAt));
+            } else {
+                responses.add(waitingResponse());
+            }
+        }
+        return responses;
+    }
+
+    /* 배치 안에서 짝지은 상대는 created_at이 도착 시각이므로 time-to-match 0 */
+    private MatchConfirmation roomFor(UUID userId, MatchCandidate partner, LocalDateTime matchedAt,
+            Map<UUID, UUID> roomIds) {
+        UUID roomId = UUID.randomUUID();
+        roomIds.put(userId, roomId);
+        roomIds.put(partner.userId(), roomId);
+        matchingMetrics.recordTimeToMatch(MatchPhase.PHASE_1, matchedAt, matchedAt);
+        matchingMetrics.recordTimeToMatch(MatchPhase.PHASE_1, partner.createdAt(), matchedAt);
+        log.info("매칭 성공! 사용자1: {}, 사용자2: {}, Room ID: {}", userId, partner.userId(), roomId);
+        return new MatchConfirmation(new MatchPair(userId, partner.userId()), roomId);
+    }
+
+    /**
+     * 일괄 대기열 등록 (이벤트 시작 시각 등 순간 폭주용). 즉시 매칭·등록 이벤트 없이 다음 스케줄러 tick에서 매칭.
+     * 이미 대기열에 있거나 존재하지 않는 사용자는 건너뛰고 등록된 사용자만 반환.
+     * 프로필은 IN 조회로 일괄 적재하고, jpa 저장소는 INSERT 한 문장(unnest)으로 등록.
+     * 같은 사용자의 단건 등록과 겹치면 그 사용자만 건너뛰고(ON CONFLICT DO NOTHING) 반환 목록에서 제외.
+     */
+    @Transactional
+    public List<UUID> enqueueAll(List<UUID> userIds) {
+        if (userIds.isEmpty()) {
+            return List.of();
+        }
+        Set<UUID> requested = new LinkedHashSet<>(userIds);
+        requested.removeAll(matchQueueStore.findQueuedUserIds(requested));
+        Map<UUID, MatchProfile> profiles = matchProfileCache.getAll(requested);
+        List<MatchProfile> entries = new ArrayList<>();
+        for (UUID userId : requested) {
+            MatchProfile profile = profiles.get(userId);
+            if (profile == null) {
+                log.warn("일괄 등록 대상에서 존재하지 않는 사용자 제외: {}", userId);
+                continue;
+            }
+            entries.add(profile);
+        }
+        return matchQueueStore.enqueueAll(entries);
+    }
+
+    /**
+     * 스케줄러/인터셉트에서 파트너 확정 후 호출. 두 사용자가 모두 WAITING일 때만 MATCHED로 전환해 원자성 보장.
+     * 전환되지 않으면 이미 타 스레드/인스턴스에서 매칭된 경우 → 롤백.
      */
     @Transactional
     public void confirmMatch(UUID user1Id, UUID user2Id) {
-        int updated = matchQueueRepository.updateStatusIf(
-                List.of(user1Id, user2Id), MatchStatus.WAITING, MatchStatus.MATCHED);
-        if (updated != 2) {
+        if (matchQueueStore.markMatched(List.of(new MatchPair(user1Id, user2Id))).isEmpty()) {
+            matchingMetrics.recordSingleConflict();
             throw new IllegalStateException(
-                    "Match confirmation failed: one or both users already matched. updated=" + updated);
+                    "Match confirmation failed: one or both users already matched.");
         }
         User user1 = userRepository.findById(user1Id).orElseThrow(UserNotFoundException::new);
         User user2 = userRepository.findById(user2Id).orElseThrow(UserNotFoundException::new);
@@ -88,57 +258,60 @@ public class MatchService {
         roomRepository.save(room);
         log.info("매칭 성공! 사용자1: {}, 사용자2: {}", user1Id, user2Id);
         log.info("채팅방 생성 완료. Room ID: {}", room.getRoomId());
+        publishConfirmed(List.of(new MatchConfirmation(new MatchPair(user1Id, user2Id), room.getRoomId())),
+                OffsetDateTime.now(MatchingConstants.ZONE_ASIA_SEOUL));
     }
 
+    /**
+     * 스케줄러용 일괄 확정. 상태 전환은 다건 조건부 UPDATE 1회, 룸 생성은 JDBC batch INSERT 1회. User 엔티티 조회 없음.
+     * 두 사용자 중 한쪽이라도 WAITING이 아닌 쌍은 conflicts로 반환하고 나머지 쌍은 그대로 확정.
+     */
     @Transactional
-    public void cancelMatch(MatchRequest request) {
-        UUID userId = request.userId();
-        MatchQueue queue = matchQueueRepository.findByUserId(userId)
-                .orElseThrow(UserNotInQueueException::new);
-        if (queue.getStatus() != MatchStatus.WAITING) {
-            throw new UserNotInQueueException("이미 매칭되어 취소할 수 없습니다.");
+    public MatchConfirmResult confirmMatches(List<MatchPair> pairs) {
+        List<MatchPair> matched = matchQueueStore.markMatched(pairs);
+        List<MatchConfirmation> confirmed = matched.stream()
+                .map(pair -> new MatchConfirmation(pair, UUID.randomUUID()))
+                .toList();
+        if (!confirmed.isEmpty()) {
+            matchQueueWriter.insertRooms(confirmed);
+            publishConfirmed(confirmed, OffsetDateTime.now(MatchingConstants.ZONE_ASIA_SEOUL));
+        }
+        for (MatchConfirmation confirmation : confirmed) {
+            log.info("매칭 성공! 사용자1: {}, 사용자2: {}, Room ID: {}", confirmation.pair().user1Id(),
+                    confirmation.pair().user2Id(), confirmation.roomId());
         }
-        matchQueueRepository.delete(queue);
-    }
 
-    private Optional<MatchQueue> findInterceptPartner(User requester) {
-        Integer[] hobbyIds = loadHobbyIds(requester);
-        int birthYear = requester.getBirthDate().getYear();
-        return matchQueueMatchFinder.findPhase1Match(
-                requester.getId(),
-                requester.getGender().name(),
-                requester.getRegion().name(),
-                birthYear - MatchingConstants.AGE_TOLERANCE_YEARS,
-                birthYear + MatchingConstants.AGE_TOLERANCE_YEARS,
-                hobbyIds,
-                MatchingConstants.EXCLUDED_TIER,
-                MatchingConstants.WAITING_STATUS);
+        Set<MatchPair> matchedPairs = new HashSet<>(matched);
+        List<MatchPair> conflicts = pairs.stream()
+                .filter(pair -> !matchedPairs.contains(pair))
+                .toList();
+        matchingMetrics.recordBatchConflicts(conflicts.size());
+        if (!conflicts.isEmpty()) {
+            log.debug("일괄 확정 중 이미 매칭된 쌍 {}건 제외", conflicts.size());
+        }
+        return new MatchConfirmResult(confirmed, conflicts);
     }
 
-    private MatchQueue buildQueueEntry(User user) {
-        return MatchQueue.builder()
-                .userId(user.getId())
-                .hobbyIds(loadHobbyIds(user))
-                .tier(user.getTier())
-                .region(user.getRegion())
-                .birthYear(user.getBirthDate().getYear())
-                .gender(user.getGender())
-                .build();
+    @Transactional
+    public void cancelMatch(MatchRequest request) {
+        switch (matchQueueStore.cancel(request.userId())) {
+            case NOT_IN_QUEUE -> throw new UserNotInQueueException();
+            case ALREADY_MATCHED -> throw new UserNotInQueueException("이미 매칭되어 취소할 수 없습니다.");
+            case CANCELLED -> {
+            }
+        }
     }
 
-    private Integer[] loadHobbyIds(User user) {
-        List<UserHobby> hobbies = userHobbyRepository.findAllByUser(user);
-        return hobbies.stream()
-                .map(UserHobby::getHobby)
-                .map(hobby -> hobby.getId())
-                .toArray(Integer[]::new);
+    /* 커밋 후 SSE 구독자에게 전달 (MatchResultListener). 롤백되면 전달하지 않음 */
+    private void publishConfirmed(List<MatchConfirmation> confirmations, OffsetDateTime matchedAt) {
+        eventPublisher.publishEvent(new MatchConfirmedEvent(confirmations, matchedAt));
     }
 
-    private Room createRoom(User user1, UUID user2Id) {
-        User user2 = userRepository.findById(user2Id).orElseThrow(UserNotFoundException::new);
+    /* 사용자 존재는 프로필 조회와 rooms FK로 보장되므로 User는 조회 없이 참조만 사용 */
+    private Room createRoom(UUID user1Id, UUID user2Id) {
         Room room = Room.builder()
-                .user1(user1)
-                .user2(user2)
+                .user1(userRepository.getReferenceById(user1Id))
+                .user2(userRepository.getReferenceById(user2Id))
                 .build();
         return roomRepository.save(room);
     }
@@ -0,0 +1,149 @@
+package com.salang.matching_poc.service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import org.springframework.stereotype.Component;
+
+import com.salang.matching_poc.model.enums.Gender;
+import com.salang.matching_poc.model.enums.MatchPhase;
+import com.salang.matching_poc.model.enums.Region;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.MultiGauge;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * 매칭 커스텀 메트릭 (/actuator/prometheus).
+ * matching.partner.lookup: 파트너 조회 시간. phase × path(intercept·wakeup·scheduler·batch)
+ * matching.time.to.match: 대기열 등록부터 매칭 확정까지(초). 매칭을 만든 phase별
+ * matching.queue.depth: 스케줄러 작업 집합 기준 WAITING 인원. region × gender × phase (count(*) 없음)
+ *   batch-pairing에서는 리더 노드만 배치 쿼리로 확정된 사용자를 뺀 작업 집합으로 발행하고, 나머지 노드는 비움
+ * matching.confirm.conflicts: 확정 시점에 한쪽이 이미 WAITING이 아니어서 제외된 쌍. path(single·batch)
+ */
+@Component
+public class MatchingMetrics {
+
+    /** 파트너 조회 경로. 태그 값은 소문자. */
+    public enum LookupPath {
+        /** POST 요청 처리 중 즉시 매칭 */
+        INTERCEPT,
+        /** 등록 직후 신규 대기자 즉시 매칭 (MatchWakeupListener) */
+        WAKEUP,
+        /** 스케줄러 tick의 인메모리 인덱스 조회 */
+        SCHEDULER,
+        /** batch-pairing 단계별 배치 쿼리 */
+        BATCH
+    }
+
+    private static final String CONFIRM_SINGLE = "single";
+    private static final String CONFIRM_BATCH = "batch";
+
+    private final Map<LookupPath, Map<MatchPhase, Timer>> lookupTimers = new EnumMap<>(LookupPath.class);
+    private final Map<MatchPhase, DistributionSummary> timeToMatch = new EnumMap<>(MatchPhase.class);
+    private final Counter singleConflicts;
+    private final Counter batchConflicts;
+    private final MultiGauge queueDepth;
+
+    public MatchingMetrics(MeterRegistry registry) {
+        for (LookupPath path : LookupPath.values()) {
+            Map<MatchPhase, Timer> timers = new EnumMap<>(MatchPhase.class);
+            for (MatchPhase phase : MatchPhase.values()) {
+                timers.put(phase, Timer.builder("matching.partner.lookup")
+                        .description("파트너 조회 시간")
+                        .tags("phase", phase.name(), "path", path.name().toLowerCase(Locale.ROOT))
+                        .register(registry));
+            }
+            lookupTimers.put(path, timers);
+        }
+        for (MatchPhase phase : MatchPhase.values()) {
+            timeToMatch.put(phase, DistributionSummary.builder("matching.time.to.match")
+                    .description("대기열 등록부터 매칭 확정까지 걸린 시간")
+                    .baseUnit("seconds")
+                    .tags("phase", phase.name())
+                    .publishPercentileHistogram()
+                    .minimumExpectedValue(0.001)
+                    .maximumExpectedValue(600.0)
+                    .register(registry));
+        }
+        singleConflicts = conflictCounter(registry, CONFIRM_SINGLE);
+        batchConflicts = conflictCounter(registry, CONFIRM_BATCH);
+        queueDepth = MultiGauge.builder("matching.queue.depth")
+                .description("WAITING 대기 인원 (스케줄러 작업 집합 기준)")
+                .register(registry);
+    }
+
+    public <T> T timeLookup(LookupPath path, MatchPhase phase, Supplier<T> lookup) {
+        Timer timer = lookupTimers.get(path).get(phase);
+        long start = System.nanoTime();
+        try {
+            return lookup.get();
+        } finally {
+            timer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    public void recordTimeToMatch(MatchPhase phase, LocalDateTime queuedAt, LocalDateTime matchedAt) {
+        if (queuedAt == null) {
+            return;
+        }
+        Duration waited = Duration.between(queuedAt, matchedAt);
+        timeToMatch.get(phase).record(Math.max(0, waited.toNanos()) / 1_000_000_000.0);
+    }
+
+    public void recordSingleConflict() {
+        singleConflicts.increment();
+    }
+
+    public void recordBatchConflicts(int conflicts) {
+        if (conflicts > 0) {
+            batchConflicts.increment(conflicts);
+        }
+    }
+
+    /*
+     * tick마다 작업 집합으로 다시 계산. 이번 tick에 없는 조합은 게이지에서 제거.
+     * 모든 노드가 같은 대기열 전체를 적재하므로 노드 간 값이 같음 → 대시보드에서는 합이 아닌 max로 집계.
+     */
+    public void updateQueueDepth(Collection<MatchCandidate> waiting, LocalDateTime now) {
+        Map<DepthKey, Long> counts = new HashMap<>();
+        for (MatchCandidate candidate : waiting) {
+            MatchPhase phase = MatchPhase.fromWaitingSeconds(
+                    candidate.createdAt() == null ? 0 : ChronoUnit.SECONDS.between(candidate.createdAt(), now));
+            counts.merge(new DepthKey(candidate.region(), candidate.gender(), phase), 1L, Long::sum);
+        }
+        List<MultiGauge.Row<?>> rows = new ArrayList<>(counts.size());
+        counts.forEach((key, count) -> rows.add(MultiGauge.Row.of(key.tags(), () -> count)));
+        queueDepth.register(rows, true);
+    }
+
+    private static Counter conflictCounter(MeterRegistry registry, String path) {
+        return Counter.builder("matching.confirm.conflicts")
+                .description("확정 시 이미 매칭되어 제외된 쌍")
+                .tag("path", path)
+                .register(registry);
+    }
+
+    private record DepthKey(Region region, Gender gender, MatchPhase phase) {
+
+        private Tags tags() {
+            return Tags.of(
+                    "region", region == null ? "UNKNOWN" : region.name(),
+                    "gender", gender == null ? "UNKNOWN" : gender.name(),
+                    "phase", phase.name());
+        }
+    }
+}
@@ -0,0 +1,10 @@
+package com.salang.matching_poc.service.event;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+
+import com.salang.matching_poc.service.MatchConfirmation;
+
+/** 매칭 확정·룸 생성 완료. 트랜잭션 커밋 후 대기 중인 클라이언트 SSE 스트림으로 결과 전달에 사용. */
+public record MatchConfirmedEvent(List<MatchConfirmation> confirmations, OffsetDateTime matchedAt) {
+}
@@ -0,0 +1,20 @@
+package com.salang.matching_poc.service.event;
+
+import java.util.List;
+import java.util.UUID;
+
+import com.salang.matching_poc.model.enums.Region;
+
+/**
+ * 인터셉트에 실패해 대기열에 등록됨. 트랜잭션 커밋 후 즉시 매칭 트리거로 사용. 지역은 샤드 소유 노드만 처리하도록 함께 전달.
+ * 인터셉트 배치는 남은 요청 전체를 이벤트 1개로 발행(NOTIFY·즉시 매칭 작업도 1개).
+ */
+public record MatchQueuedEvent(List<Queued> users) {
+
+    public static MatchQueuedEvent of(UUID userId, Region region) {
+        return new MatchQueuedEvent(List.of(new Queued(userId, region)));
+    }
+
+    public record Queued(UUID userId, Region region) {
+    }
+}
@@ -0,0 +1,12 @@
+package com.salang.matching_poc.worker;
+
+import java.util.function.Consumer;
+
+/** 노드 간 매칭 신호 전달. 자신이 발행한 신호는 구독자에게 다시 전달하지 않음. */
+public interface MatchNotifier {
+
+    /** 현재 트랜잭션이 있으면 커밋 시점에 다른 노드로 전달. */
+    void publish(String channel, String payload);
+
+    void subscribe(String channel, Consumer<String> listener);
+}
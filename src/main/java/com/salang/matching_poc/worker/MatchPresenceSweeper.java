@@ -0,0 +1,79 @@
+package com.salang.matching_poc.worker;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.salang.matching_poc.service.MatchPresenceTracker;
+import com.salang.matching_poc.service.MatchQueueStore;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/*
+ * 메모리에 모인 heartbeat를 last_seen_at에 일괄 반영하고, 만료 삭제가 켜져 있으면 heartbeat가 ttl 이상 끊긴 대기자를 배치 삭제.
+ * 반영은 모든 노드, 삭제는 리더 노드만 실행. 다른 노드의 미반영 heartbeat를 고려해 ttl은 flush-interval보다 충분히 길게.
+ * 삭제된 대기자는 DB 트리거 알림(MatchQueueRemovalListener)으로 스케줄러 작업 집합에서 빠짐.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class MatchPresenceSweeper {
+
+    private final MatchPresenceTracker matchPresenceTracker;
+    private final MatchQueueStore matchQueueStore;
+    private final MatchShardCoordinator matchShardCoordinator;
+
+    @Value("${matching.presence.expiry-enabled:false}")
+    private boolean expiryEnabled;
+
+    @Value("${matching.presence.ttl:30s}")
+    private Duration ttl;
+
+    @Value("${matching.presence.batch-size:500}")
+    private int batchSize;
+
+    @Value("${matching.presence.max-batches:10}")
+    private int maxBatches;
+
+    @Scheduled(fixedDelayString = "${matching.presence.flush-interval:5000}")
+    public void flushAndSweep() {
+        try {
+            Map<UUID, LocalDateTime> lastSeen = matchPresenceTracker.drain();
+            if (!lastSeen.isEmpty()) {
+                try {
+                    matchQueueStore.touchLastSeen(lastSeen);
+                } catch (RuntimeException e) {
+                    // 꺼낸 heartbeat를 되돌려 다음 실행에서 다시 반영. 반영되지 않은 채 만료 삭제하지 않도록 이번 실행은 중단
+                    matchPresenceTracker.restore(lastSeen);
+                    throw e;
+                }
+            }
+            if (expiryEnabled && matchShardCoordinator.isLeader()) {
+                sweepExpired(LocalDateTime.now().minus(ttl));
+            }
+        } catch (Exception e) {
+            log.error("대기자 heartbeat 반영·만료 처리 중 오류 발생", e);
+        }
+    }
+
+    private void sweepExpired(LocalDateTime cutoff) {
+        int expired = 0;
+        for (int batch = 0; batch < maxBatches; batch++) {
+            List<UUID> removed = matchQueueStore.deleteExpired(cutoff, batchSize);
+            expired += removed.size();
+            if (removed.size() < batchSize) {
+                break;
+            }
+        }
+        if (expired > 0) {
+            log.info("heartbeat가 끊긴 대기자 {}명을 대기열에서 제거", expired);
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package com.salang.matching_poc.worker;
+
+import java.util.UUID;
+
+import org.springframework.stereotype.Component;
+
+import com.salang.matching_poc.service.MatchProfileCache;
+
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+
+/*
+ * users(성별·생년월일·지역·등급)·user_hobbies 변경 시 DB 트리거가 보내는 NOTIFY로 프로필 캐시 무효화.
+ * 변경 주체(이 앱·다른 서비스·수동 수정)와 무관하게 모든 노드에 전달. V3 마이그레이션 참고.
+ */
+@Component
+@RequiredArgsConstructor
+public class MatchProfileInvalidationListener {
+
+    static final String CHANNEL = "match_profile_changed";
+
+    private final MatchNotifier matchNotifier;
+    private final MatchProfileCache matchProfileCache;
+
+    @PostConstruct
+    void subscribe() {
+        matchNotifier.subscribe(CHANNEL, payload -> matchProfileCache.evict(UUID.fromString(payload)));
+    }
+}
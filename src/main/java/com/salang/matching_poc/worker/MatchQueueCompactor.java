@@ -0,0 +1,78 @@
+package com.salang.matching_poc.worker;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.salang.matching_poc.model.enums.MatchStatus;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/*
+ * MATCHED 행을 match_queue에서 match_history로 이동. 배치마다 DELETE ... RETURNING → INSERT 한 문장(autocommit)이라
+ * 잠금은 배치 크기만큼만 짧게 유지되고, skip locked로 확정·취소 중인 행과 경합하지 않음.
+ * 실행당 최대 batch-size × max-batches 행 이동. 스케줄러 스레드를 공유하므로 매칭 tick을 오래 막지 않도록 상한을 둠.
+ * 다중 인스턴스에서는 리더 노드만 실행.
+ * 이동 후에는 match_queue에 행이 없으므로 취소(DELETE /match)는 "이미 매칭됨" 대신 NOT_IN_QUEUE(404, 기본 메시지)로 응답하고,
+ * 같은 사용자의 매칭 요청(POST /match)은 409 대신 새 대기열 행으로 등록됨.
+ */
+@Slf4j
+@Component
+@Profile("!test")
+@ConditionalOnProperty(name = "matching.compaction.enabled", havingValue = "true", matchIfMissing = true)
+@RequiredArgsConstructor
+public class MatchQueueCompactor {
+
+    private static final String ARCHIVE_MATCHED_SQL = """
+            with moved as (
+                delete from match_queue
+                where queue_id in (
+                    select queue_id
+                    from match_queue
+                    where status = ?
+                    order by queue_id
+                    limit ?
+                    for update skip locked
+                )
+                returning queue_id, user_id, status, hobby_ids, tier, location, birth_year, gender, created_at
+            )
+            insert into match_history (queue_id, user_id, status, hobby_ids, tier, location, birth_year, gender, created_at)
+            select queue_id, user_id, status, hobby_ids, tier, location, birth_year, gender, created_at
+            from moved
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final MatchShardCoordinator matchShardCoordinator;
+
+    @Value("${matching.compaction.batch-size:1000}")
+    private int batchSize;
+
+    @Value("${matching.compaction.max-batches:10}")
+    private int maxBatches;
+
+    @Scheduled(fixedDelayString = "${matching.compaction.fixed-delay:10000}")
+    public void compact() {
+        if (!matchShardCoordinator.isLeader()) {
+            return;
+        }
+        int archived = 0;
+        try {
+            for (int batch = 0; batch < maxBatches; batch++) {
+                int moved = jdbcTemplate.update(ARCHIVE_MATCHED_SQL, MatchStatus.MATCHED.name(), batchSize);
+                archived += moved;
+                if (moved < batchSize) {
+                    break;
+                }
+            }
+        } catch (Exception e) {
+            log.error("매칭 완료 대기열 이력 이동 중 오류 발생", e);
+        }
+        if (archived > 0) {
+            log.debug("매칭 완료 대기열 {}건을 match_history로 이동", archived);
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package com.salang.matching_poc.worker;
+
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+
+/*
+ * 대기열 행이 WAITING에서 빠지면(확정·인터셉트 선점·취소·만료) DB 트리거가 보내는 NOTIFY를 스케줄러 작업 집합에 전달.
+ * 변경한 노드를 포함한 모든 노드가 수신하므로 다른 노드·인터셉트의 변경도 같은 경로로 반영. V9 마이그레이션 참고.
+ * 알림 유실(LISTEN 재연결 등)은 스케줄러의 주기적 전체 대조가 보정.
+ */
+@Component
+@RequiredArgsConstructor
+public class MatchQueueRemovalListener {
+
+    static final String CHANNEL = "match_queue_removed";
+
+    private final MatchNotifier matchNotifier;
+    private final MatchScheduler matchScheduler;
+
+    @PostConstruct
+    void subscribe() {
+        matchNotifier.subscribe(CHANNEL, payload -> matchScheduler.queueRemoved(Long.parseLong(payload)));
+    }
+}
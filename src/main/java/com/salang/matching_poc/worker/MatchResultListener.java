@@ -0,0 +1,74 @@
+package com.salang.matching_poc.worker;
+
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.salang.matching_poc.constants.MatchingConstants;
+import com.salang.matching_poc.service.MatchConfirmation;
+import com.salang.matching_poc.service.MatchPair;
+import com.salang.matching_poc.service.MatchResultStream;
+import com.salang.matching_poc.service.event.MatchConfirmedEvent;
+
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+
+/*
+ * 확정된 매칭 결과를 SSE 구독자에게 전달. 같은 노드는 커밋 직후, 다른 노드는 NOTIFY로 전달.
+ * 페이로드: 확정 시각(epoch ms)|room,user1,user2;... NOTIFY 페이로드 상한(8000 bytes) 이내로 나눠 발행.
+ */
+@Component
+@ConditionalOnProperty(name = "matching.result-stream.enabled", havingValue = "true", matchIfMissing = true)
+@RequiredArgsConstructor
+public class MatchResultListener {
+
+    static final String CHANNEL = "match_confirmed";
+    private static final int CONFIRMATIONS_PER_NOTIFY = 60;
+
+    private final MatchNotifier matchNotifier;
+    private final MatchResultStream matchResultStream;
+
+    @PostConstruct
+    void subscribe() {
+        matchNotifier.subscribe(CHANNEL, this::onNotify);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
+    public void notifyOtherNodes(MatchConfirmedEvent event) {
+        List<MatchConfirmation> confirmations = event.confirmations();
+        String matchedAt = Long.toString(event.matchedAt().toInstant().toEpochMilli());
+        for (int from = 0; from < confirmations.size(); from += CONFIRMATIONS_PER_NOTIFY) {
+            String body = confirmations.subList(from, Math.min(from + CONFIRMATIONS_PER_NOTIFY, confirmations.size()))
+                    .stream()
+                    .map(c -> c.roomId() + "," + c.pair().user1Id() + "," + c.pair().user2Id())
+                    .collect(Collectors.joining(";"));
+            matchNotifier.publish(CHANNEL, matchedAt + "|" + body);
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onMatchConfirmed(MatchConfirmedEvent event) {
+        matchResultStream.deliver(event.confirmations(), event.matchedAt());
+    }
+
+    private void onNotify(String payload) {
+        int separator = payload.indexOf('|');
+        OffsetDateTime matchedAt = Instant.ofEpochMilli(Long.parseLong(payload.substring(0, separator)))
+                .atZone(MatchingConstants.ZONE_ASIA_SEOUL).toOffsetDateTime();
+        List<MatchConfirmation> confirmations = new ArrayList<>();
+        for (String entry : payload.substring(separator + 1).split(";")) {
+            String[] ids = entry.split(",");
+            confirmations.add(new MatchConfirmation(
+                    new MatchPair(UUID.fromString(ids[1]), UUID.fromString(ids[2])), UUID.fromString(ids[0])));
+        }
+        matchResultStream.deliver(confirmations, matchedAt);
+    }
+}
@@ -1,22 +1,47 @@
 package com.salang.matching_poc.worker;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 
-import static com.salang.matching_poc.constants.MatchingConstants.AGE_TOLERANCE_YEARS;
 import static com.salang.matching_poc.constants.MatchingConstants.EXCLUDED_TIER;
 import static com.salang.matching_poc.constants.MatchingConstants.WAITING_STATUS;
-import com.salang.matching_poc.model.entity.MatchQueue;
-import com.salang.matching_poc.model.enums.MatchStatus;
-import com.salang.matching_poc.repository.MatchQueueRepository;
+import com.salang.matching_poc.model.enums.MatchPhase;
+import com.salang.matching_poc.model.enums.Region;
+import com.salang.matching_poc.repository.projection.WaitingQueueDigest;
+import com.salang.matching_poc.service.HobbyCatalog;
+import com.salang.matching_poc.service.MatchCandidate;
+import com.salang.matching_poc.service.MatchCandidateIndex;
+import com.salang.matching_poc.service.MatchConfirmResult;
+import com.salang.matching_poc.service.MatchConfirmation;
+import com.salang.matching_poc.service.MatchPair;
 import com.salang.matching_poc.service.MatchQueueMatchFinder;
+import com.salang.matching_poc.service.MatchQueueStore;
+import com.salang.matching_poc.service.MatchQueueWorkingSet;
 import com.salang.matching_poc.service.MatchService;
+import com.salang.matching_poc.service.MatchingMetrics;
+import com.salang.matching_poc.service.MatchingMetrics.LookupPath;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -26,70 +51,458 @@ import lombok.extern.slf4j.Slf4j;
 @RequiredArgsConstructor
 public class MatchScheduler {
 
-    private final MatchQueueRepository matchQueueRepository;
+    private final MatchQueueStore matchQueueStore;
     private final MatchService matchService;
     private final MatchQueueMatchFinder matchQueueMatchFinder;
+    private final MatchShardCoordinator matchShardCoordinator;
+    private final MatchingMetrics matchingMetrics;
+    private final MatchTickTelemetry matchTickTelemetry;
+    private final HobbyCatalog hobbyCatalog;
+
+    @Value("${matching.schedule.batch-pairing:false}")
+    private boolean batchPairing;
+
+    @Value("${matching.schedule.parallelism:1}")
+    private int parallelism;
+
+    @Value("${matching.schedule.conflict-retries:2}")
+    private int conflictRetries;
+
+    @Value("${matching.schedule.reconcile-interval:60s}")
+    private Duration reconcileInterval;
+
+    private SimpleAsyncTaskExecutor workerExecutor;
+
+    /* tick 사이에 유지하는 대기열. 스케줄러 스레드(pool size 1)에서만 접근 */
+    private final MatchQueueWorkingSet workingSet = new MatchQueueWorkingSet();
+
+    /* WAITING에서 빠졌다고 알림받은 queue_id (MatchQueueRemovalListener). 다음 동기화에서 작업 집합에 반영 */
+    private final Set<Long> removedQueueIds = ConcurrentHashMap.newKeySet();
+
+    /* 마지막 전체 대조 시각(System.nanoTime) */
+    private long reconciledAt = System.nanoTime();
+
+    /* 작업 집합 적재 범위. null이면 전 지역(리더) */
+    private Set<Region> workingSetRegions;
 
     /*
      * 실행 주기 1초 : 판단 근거 아자르 주기 참고.
-     * 트랜잭션 없음 : 매칭 확정·룸 생성은 MatchService.confirmMatch()에서 단건별 트랜잭션 처리.
+     * 트랜잭션 없음 : 매칭 확정·룸 생성은 MatchService.confirmMatches()에서 버킷별 일괄 트랜잭션 처리.
+     * 확정 전에 제안한 쌍을 lease로 선점해, 다른 노드와의 경합은 확정 트랜잭션 밖에서 걸러짐(confirmPairs).
+     * 대기열은 tick 사이에 유지하며 신규 행만 조회하고 빠진 행은 알림으로 제거(syncWorkingSet). 파트너 조회는 MatchCandidateIndex에서 인메모리로 처리.
+     * batch-pairing 설정 시 리더 노드가 단계별 배치 쿼리로 먼저 짝짓고, 남은 대기자는 같은 작업 집합·인덱스 경로로 전 지역 처리.
+     * 다중 인스턴스: 같은 지역 후보만 보는 1·2단계 요청자는 지역 샤드를 소유한 노드가 처리하고, 작업 집합·인덱스도 담당 지역만 적재.
+     * 지역을 넘는 3~5단계와 지역 없는 대기자는 리더 노드만 전 지역 작업 집합으로 처리(batch-pairing과 같은 리더 게이트).
+     * 리더는 자기 샤드의 1·2단계 요청자도 같은 인덱스로 처리하고, 노드 간 경합은 lease로 걸러짐.
+     * tick마다 소요 시간·작업 집합·JDBC 구문 수·확정·충돌·오류를 MatchTickTelemetry에 기록.
      */
     @Scheduled(fixedDelayString = "${matching.schedule.fixed-delay}")
     public void runMatchingLoop() {
-        List<MatchQueue> waitingUsers = matchQueueRepository.findByStatus(MatchStatus.WAITING);
-        if (waitingUsers.isEmpty()) {
+        MatchTickStats tick = matchTickTelemetry.start();
+        try {
+            TickQueryCounter.run(tick.queryCounter(), () -> runTick(tick));
+        } catch (RuntimeException e) {
+            tick.failed();
+            throw e;
+        } finally {
+            matchTickTelemetry.finish(tick);
+        }
+    }
+
+    private void runTick(MatchTickStats tick) {
+        matchShardCoordinator.rebalance();
+        boolean leader = matchShardCoordinator.isLeader();
+        if (batchPairing) {
+            tick.batchMode();
+        }
+        // 리더는 지역을 넘는 단계(batch-pairing은 전체)를 맡으므로 전 지역, 나머지 노드는 담당 지역 샤드만 적재.
+        // batch-pairing은 단계별 쿼리가 전 지역을 한 번에 처리하므로 리더가 아닌 노드는 처리할 요청자가 없음
+        Set<Region> regions = leader ? null : batchPairing ? EnumSet.noneOf(Region.class) : ownedRegions();
+        scopeWorkingSet(regions);
+        if (regions != null && regions.isEmpty()) {
+            removedQueueIds.clear();
+            // 대기열 깊이는 리더만 발행. 리더였던 노드에 이전 값이 남지 않도록 비움
+            matchingMetrics.updateQueueDepth(List.of(), LocalDateTime.now());
+            return;
+        }
+        if (batchPairing) {
+            Set<UUID> paired = runBatchPairing(tick);
+            // 확정 알림보다 먼저 빼서 이번 tick의 인덱스에 넣지 않음
+            workingSet.removeMatched(candidate -> paired.contains(candidate.userId()));
+        }
+
+        syncWorkingSet(regions);
+        // 담당 지역만 적재한 노드의 값은 전체 대기열이 아니므로 전 지역을 적재한 리더만 발행
+        matchingMetrics.updateQueueDepth(leader ? workingSet.candidates() : List.of(), LocalDateTime.now());
+        if (workingSet.isEmpty()) {
+            return;
+        }
+
+        log.info("매칭 스케줄러 실행. 대기열 사용자 수: {}명", workingSet.size());
+        LocalDateTime now = LocalDateTime.now();
+        List<MatchCandidate> requesters = new ArrayList<>();
+        for (MatchCandidate candidate : workingSet.candidates()) {
+            boolean handled = isSameRegionPhase(candidate, now) ? matchShardCoordinator.owns(candidate.region()) : leader;
+            if (batchPairing || handled) {
+                requesters.add(candidate);
+            }
+        }
+        MatchCandidateIndex index = MatchCandidateIndex.build(workingSet.candidates(), hobbyCatalog.bitmapWords());
+        Collections.shuffle(requesters);
+        tick.scanned(workingSet.size(), requesters.size());
+
+        Set<UUID> confirmed = ConcurrentHashMap.newKeySet();
+        if (parallelism > 1) {
+            matchInParallel(requesters, index, now, tick, confirmed);
+        } else {
+            matchRequesters(requesters, index, now, tick, confirmed);
+        }
+        // 확정한 사용자만 제거. 충돌한 사용자 중 다른 노드가 매칭한 사용자는 알림으로, 아직 대기 중인 사용자는 그대로 남음
+        workingSet.removeMatched(candidate -> confirmed.contains(candidate.userId()));
+    }
+
+    /* 이 노드가 소유한 지역 샤드 */
+    private Set<Region> ownedRegions() {
+        Set<Region> owned = EnumSet.noneOf(Region.class);
+        for (Region region : Region.values()) {
+            if (matchShardCoordinator.owns(region)) {
+                owned.add(region);
+            }
+        }
+        return owned;
+    }
+
+    /* 적재 범위가 바뀌면(샤드 재조정·리더 교체) 작업 집합을 비우고 다음 동기화에서 워터마크 0부터 다시 적재 */
+    private void scopeWorkingSet(Set<Region> regions) {
+        if (Objects.equals(regions, workingSetRegions)) {
             return;
         }
+        workingSet.clear();
+        removedQueueIds.clear();
+        reconciledAt = System.nanoTime();
+        workingSetRegions = regions;
+        log.info("작업 집합 적재 범위 변경: {}", regions == null ? "전 지역" : regions);
+    }
+
+    /** WAITING에서 빠진 행 알림 (MatchQueueRemovalListener, 알림 스레드에서 호출). */
+    public void queueRemoved(long queueId) {
+        removedQueueIds.add(queueId);
+    }
+
+    /*
+     * 작업 집합 동기화: 알림받은 queue_id(확정·인터셉트 선점·취소·만료)를 먼저 제거하고, 워터마크 이후 행을 다시 조회해 꼬리 구간을 교체.
+     * 꼬리는 직전 tick 이후 등록분이라 작고, 번호 순서와 다르게 커밋된 행도 여기서 적재됨. tick당 조회는 꼬리 조회 1회로
+     * 대기열 크기가 아닌 변경량에 비례.
+     * reconcile-interval마다 안전망으로 워터마크 이하 WAITING 집계(개수·queue_id 합)를 비교하고, 다를 때만 queue_id 목록으로 대조해
+     * 유실된 알림과 한 tick보다 늦게 커밋된 행을 보정.
+     */
+    private void syncWorkingSet(Set<Region> regions) {
+        if (!removedQueueIds.isEmpty()) {
+            List<Long> removed = new ArrayList<>(removedQueueIds);
+            removedQueueIds.removeAll(removed);
+            workingSet.removeQueueIds(removed);
+        }
+        long watermark = workingSet.watermark();
+        if (watermark > 0 && System.nanoTime() - reconciledAt >= reconcileInterval.toNanos()) {
+            reconcileSettled(watermark, regions);
+            reconciledAt = System.nanoTime();
+        }
+        workingSet.replaceTail(matchQueueStore.findWaitingAfter(watermark, regions));
+    }
 
-        log.info("매칭 스케줄러 실행. 대기열 사용자 수: {}명", waitingUsers.size());
-        Collections.shuffle(waitingUsers);
+    private void reconcileSettled(long watermark, Set<Region> regions) {
+        WaitingQueueDigest digest = matchQueueStore.digestWaitingUpTo(watermark, regions);
+        if (digest.getCount() == workingSet.settledCount() && digest.getQueueIdSum() == workingSet.settledQueueIdSum()) {
+            return;
+        }
+        List<Long> waitingIds = matchQueueStore.findWaitingQueueIdsUpTo(watermark, regions);
+        workingSet.retainSettled(waitingIds);
+        Set<Long> missing = new HashSet<>(waitingIds);
+        missing.removeAll(workingSet.settledQueueIds());
+        workingSet.addSettled(matchQueueStore.findWaitingByQueueIds(missing));
+        log.info("작업 집합 주기 대조. 확정 구간 WAITING {}명, 누락 적재 {}명", waitingIds.size(), missing.size());
+    }
 
-        for (MatchQueue requester : waitingUsers) {
-            // 이미 다른 스레드에서 처리되었을 수 있으므로 상태를 다시 확인
-            if (requester.getStatus() != MatchStatus.WAITING) {
+    /* 요청자별로 파트너를 고른 뒤 쌍을 모아 한 번에 확정 */
+    private void matchRequesters(List<MatchCandidate> requesters, MatchCandidateIndex index, LocalDateTime now,
+            MatchTickStats tick, Set<UUID> confirmed) {
+        List<ProposedMatch> proposals = new ArrayList<>();
+        for (MatchCandidate requester : requesters) {
+            // 이번 tick에서 이미 파트너로 선택된 사용자
+            if (index.isMatched(requester.userId())) {
                 continue;
             }
 
             try {
-                findAndProcessMatch(requester);
+                findAndProcessMatch(requester, index, now, proposals);
             } catch (Exception e) {
-                log.error("매칭 처리 중 오류 발생. 사용자 ID: {}", requester.getUserId(), e);
+                tick.failed();
+                log.error("매칭 처리 중 오류 발생. 사용자 ID: {}", requester.userId(), e);
             }
         }
+        // 충돌한 요청자는 최대 conflict-retries번까지 같은 tick에서 인덱스의 다음 후보로 재시도
+        for (int retry = 0; !proposals.isEmpty(); retry++) {
+            MatchConfirmResult result = confirmPairs(proposals.stream().map(ProposedMatch::pair).toList(), tick);
+            recordTimeToMatch(proposals, result.confirmed());
+            for (MatchConfirmation confirmation : result.confirmed()) {
+                confirmed.add(confirmation.pair().user1Id());
+                confirmed.add(confirmation.pair().user2Id());
+            }
+            if (result.conflicts().isEmpty() || retry >= conflictRetries) {
+                break;
+            }
+            proposals = reproposeConflicted(proposals, result.conflicts(), index, now);
+        }
     }
 
-    /* 매칭 처리: 대기 시간에 따른 Phase로 파트너 조회 → 1회만 매칭 확정 */
-    private void findAndProcessMatch(MatchQueue requester) {
-        Optional<MatchQueue> partner = findPartnerByPhase(requester);
-        partner.ifPresent(p -> matchService.confirmMatch(requester.getUserId(), p.getUserId()));
+    /*
+     * 확정 충돌 쌍의 요청자 중 아직 WAITING인 사용자만 인덱스에서 다음 후보를 골라 다시 제안.
+     * 충돌한 파트너는 인덱스에서 매칭 처리된 상태로 남아 이번 tick에서 다시 고르지 않음.
+     * 요청자 대기 여부는 충돌 요청자 전체를 조회 1회로 확인(요청자 자신이 선점된 경우 새 파트너만 낭비하지 않도록).
+     * 요청자 단계는 그대로이므로 병렬 처리 시에도 같은 지역 버킷 안에서만 조회.
+     */
+    private List<ProposedMatch> reproposeConflicted(List<ProposedMatch> proposals, List<MatchPair> conflicts,
+            MatchCandidateIndex index, LocalDateTime now) {
+        Set<MatchPair> conflicted = new HashSet<>(conflicts);
+        List<MatchCandidate> requesters = proposals.stream()
+                .filter(proposal -> conflicted.contains(proposal.pair()))
+                .map(ProposedMatch::requester)
+                .toList();
+        Set<UUID> waiting = matchQueueStore.findWaitingByQueueIds(requesters.stream().map(MatchCandidate::queueId).toList())
+                .stream()
+                .map(MatchCandidate::userId)
+                .collect(Collectors.toSet());
+        List<ProposedMatch> retried = new ArrayList<>();
+        for (MatchCandidate requester : requesters) {
+            if (!waiting.contains(requester.userId())) {
+                continue;
+            }
+            MatchPhase phase = phaseOf(requester, now);
+            findPartnerByPhase(requester, index, phase).ifPresent(partner -> {
+                index.markMatched(partner.userId());
+                retried.add(new ProposedMatch(requester, partner, phase));
+            });
+        }
+        log.debug("확정 충돌 {}쌍 중 대기 중인 요청자 {}명, 다음 후보로 재시도 {}쌍", conflicts.size(), waiting.size(),
+                retried.size());
+        return retried;
     }
 
-    /** 대기 시간(초)에 따라 Phase 1~5 중 하나의 쿼리만 수행. 호출당 DB 1회. */
-    private Optional<MatchQueue> findPartnerByPhase(MatchQueue requester) {
-        long s = ChronoUnit.SECONDS.between(requester.getCreatedAt(), LocalDateTime.now());
+    /*
+     * 제안한 쌍을 lease로 먼저 선점한 뒤 선점된 쌍만 일괄 확정. 인메모리 제안은 DB 행을 잡지 않으므로,
+     * 선점 전까지는 다른 노드의 즉시 매칭(lease)·tick이 같은 사용자를 고를 수 있음. 이 경합을 확정 트랜잭션 밖의 짧은 문장에서 끝내고,
+     * 선점한 사용자는 확정까지 다른 노드의 조회·확정에서 빠짐.
+     * 선점하지 못한 쌍과 이미 매칭된 쌍은 충돌(conflicts)로 반환. WAITING으로 남은 사용자는 작업 집합에 남아 다음 tick에 다시 매칭.
+     * 확정하지 못한 쌍의 lease는 만료를 기다리지 않도록 바로 해제. 오류 시 빈 결과.
+     */
+    private MatchConfirmResult confirmPairs(List<MatchPair> pairs, MatchTickStats tick) {
+        MatchConfirmResult empty = new MatchConfirmResult(List.of(), List.of());
+        if (pairs.isEmpty()) {
+            return empty;
+        }
+        List<MatchPair> leased = List.of();
+        try {
+            leased = matchQueueStore.leasePairs(pairs);
+            List<MatchPair> conflicts = new ArrayList<>(pairs);
+            conflicts.removeAll(leased);
+            matchingMetrics.recordBatchConflicts(conflicts.size());
+            MatchConfirmResult result = leased.isEmpty() ? empty : matchService.confirmMatches(leased);
+            if (result == null) {
+                result = empty;
+            }
+            releaseLeases(result.conflicts());
+            conflicts.addAll(result.conflicts());
+            tick.matched(result.confirmed().size());
+            tick.conflicted(conflicts.size());
+            return new MatchConfirmResult(result.confirmed(), conflicts);
+        } catch (Exception e) {
+            tick.failed();
+            log.error("매칭 일괄 확정 중 오류 발생. 대상 {}쌍", pairs.size(), e);
+            releaseLeases(leased);
+            return empty;
+        }
+    }
 
-        if (s >= 30) {
-            return matchQueueMatchFinder.findPhase5Match(requester.getUserId(), WAITING_STATUS);
+    private void releaseLeases(List<MatchPair> pairs) {
+        if (pairs.isEmpty()) {
+            return;
+        }
+        try {
+            matchQueueStore.releaseLeases(pairs.stream()
+                    .flatMap(pair -> Stream.of(pair.user1Id(), pair.user2Id()))
+                    .toList());
+        } catch (Exception e) {
+            log.warn("매칭 lease 해제 실패. lease 만료 후 다시 매칭 대상이 됨. 대상 {}쌍", pairs.size(), e);
+        }
+    }
+
+    /* 확정된 쌍만 두 사용자 각각의 대기 시간을 요청자 단계로 기록 */
+    private void recordTimeToMatch(List<ProposedMatch> proposals, List<MatchConfirmation> confirmed) {
+        if (confirmed.isEmpty()) {
+            return;
+        }
+        Set<MatchPair> confirmedPairs = confirmed.stream().map(MatchConfirmation::pair).collect(Collectors.toSet());
+        LocalDateTime matchedAt = LocalDateTime.now();
+        for (ProposedMatch proposal : proposals) {
+            if (confirmedPairs.contains(proposal.pair())) {
+                matchingMetrics.recordTimeToMatch(proposal.phase(), proposal.requester().createdAt(), matchedAt);
+                matchingMetrics.recordTimeToMatch(proposal.phase(), proposal.partner().createdAt(), matchedAt);
+            }
+        }
+    }
+
+    /*
+     * 1·2단계 요청자는 같은 지역 후보만 조회·확정하므로 지역별로 나눠 워커에서 동시 처리.
+     * 지역 버킷끼리 인덱스 슬롯이 겹치지 않아 인덱스를 공유해도 안전. 지역을 넘는 3~5단계는 모두 끝난 뒤 순차 처리.
+     */
+    private void matchInParallel(List<MatchCandidate> requesters, MatchCandidateIndex index, LocalDateTime now,
+            MatchTickStats tick, Set<UUID> confirmed) {
+        Map<Region, List<MatchCandidate>> regionBuckets = new EnumMap<>(Region.class);
+        List<MatchCandidate> crossRegion = new ArrayList<>();
+        for (MatchCandidate requester : requesters) {
+            if (isSameRegionPhase(requester, now)) {
+                regionBuckets.computeIfAbsent(requester.region(), r -> new ArrayList<>()).add(requester);
+            } else {
+                crossRegion.add(requester);
+            }
         }
-        if (s >= 20) {
-            return matchQueueMatchFinder.findPhase4Match(
-                    requester.getUserId(), requester.getGender().name(), EXCLUDED_TIER, WAITING_STATUS);
+
+        List<Future<?>> workers = new ArrayList<>(regionBuckets.size());
+        for (List<MatchCandidate> bucket : regionBuckets.values()) {
+            // JDBC 구문 수를 tick에 합산하도록 워커 스레드에도 같은 카운터 범위를 염
+            workers.add(workerExecutor().submit(() -> TickQueryCounter.run(tick.queryCounter(),
+                    () -> matchRequesters(bucket, index, now, tick, confirmed))));
+        }
+        for (Future<?> worker : workers) {
+            try {
+                worker.get();
+            } catch (ExecutionException e) {
+                tick.failed();
+                log.error("지역별 매칭 처리 중 오류 발생", e.getCause());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+        matchRequesters(crossRegion, index, now, tick, confirmed);
+    }
+
+    /* 동시 실행 수는 parallelism으로 제한. JDK 21 이상이면 가상 스레드 사용 */
+    private SimpleAsyncTaskExecutor workerExecutor() {
+        if (workerExecutor == null) {
+            SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor("match-worker-");
+            executor.setConcurrencyLimit(parallelism);
+            try {
+                executor.setVirtualThreads(true);
+            } catch (UnsupportedOperationException e) {
+                log.debug("가상 스레드 미지원 JDK. 플랫폼 스레드로 매칭 워커 실행");
+            }
+            workerExecutor = executor;
         }
-        if (s >= 10) {
-            return matchQueueMatchFinder.findPhase3Match(
-                    requester.getUserId(), requester.getGender().name(),
-                    requester.getBirthYear() - AGE_TOLERANCE_YEARS, requester.getBirthYear() + AGE_TOLERANCE_YEARS,
-                    EXCLUDED_TIER, WAITING_STATUS);
+        return workerExecutor;
+    }
+
+    /*
+     * 매칭 처리: 대기 시간에 따른 Phase로 파트너 조회 → 확정할 쌍에 추가.
+     * 두 사용자를 바로 인덱스에서 제외하므로 이번 tick에서 다른 요청자의 파트너로 다시 선택되지 않음.
+     * 확정 실패(타 인스턴스·인터셉트 선점) 시 요청자만 reproposeConflicted에서 다음 후보로 재시도.
+     */
+    private void findAndProcessMatch(MatchCandidate requester, MatchCandidateIndex index, LocalDateTime now,
+            List<ProposedMatch> proposals) {
+        MatchPhase phase = phaseOf(requester, now);
+        Optional<MatchCandidate> partner = findPartnerByPhase(requester, index, phase);
+        if (partner.isEmpty()) {
+            return;
         }
-        if (s >= 5) {
-            return matchQueueMatchFinder.findPhase2Match(
-                    requester.getUserId(), requester.getGender().name(), requester.getRegion().name(),
-                    requester.getBirthYear() - AGE_TOLERANCE_YEARS, requester.getBirthYear() + AGE_TOLERANCE_YEARS,
-                    EXCLUDED_TIER, WAITING_STATUS);
+        index.markMatched(requester.userId());
+        index.markMatched(partner.get().userId());
+        proposals.add(new ProposedMatch(requester, partner.get(), phase));
+    }
+
+    /** 대기 시간(초)에 따라 Phase 1~5 중 하나의 조건으로 인덱스에서 파트너 조회. DB 조회 없음. */
+    private Optional<MatchCandidate> findPartnerByPhase(MatchCandidate requester, MatchCandidateIndex index,
+            MatchPhase phase) {
+        return matchingMetrics.timeLookup(LookupPath.SCHEDULER, phase, () -> index.findPartner(requester, phase));
+    }
+
+    private static MatchPhase phaseOf(MatchCandidate requester, LocalDateTime now) {
+        long s = ChronoUnit.SECONDS.between(requester.createdAt(), now);
+        return MatchPhase.fromWaitingSeconds(s);
+    }
+
+    /* 같은 지역 후보만 조회하는 1·2단계 요청자. 지역이 없으면 1·2단계 파트너가 없으므로 지역을 넘는 쪽으로 분류 */
+    private static boolean isSameRegionPhase(MatchCandidate requester, LocalDateTime now) {
+        return requester.region() != null && phaseOf(requester, now).compareTo(MatchPhase.PHASE_2) <= 0;
+    }
+
+    /** 등록 신호 1개(인터셉트 배치는 남은 요청 전체)의 대기자를 순서대로 즉시 매칭 (MatchWakeupListener에서 호출). */
+    public void matchQueuedUsers(List<UUID> userIds) {
+        userIds.forEach(this::matchQueuedUser);
+    }
+
+    /*
+     * 등록 직후 신규 대기자 1명에 대한 즉시 매칭. 대기 직후이므로 Phase1 조건.
+     * 인터셉트와 동시에 등록된 상대를 다음 tick까지 기다리지 않고 매칭. 단계 완화는 runMatchingLoop가 담당.
+     * 조회는 트랜잭션 밖이므로 행 잠금 대신 lease로 두 사용자를 선점해 확정까지 다른 노드가 고르지 않게 함.
+     * 확정하지 못하면 lease를 바로 해제해 만료를 기다리지 않고 다른 노드·다음 tick이 매칭할 수 있게 함.
+     */
+    void matchQueuedUser(UUID userId) {
+        try {
+            Optional<MatchCandidate> queued = matchQueueStore.findWaiting(userId);
+            if (queued.isEmpty()) {
+                return;
+            }
+            MatchCandidate requester = queued.get();
+            // 소유 여부는 MatchWakeupListener가 스케줄링 전에 확인. 그 사이 샤드 재조정으로 소유권이 바뀐 경우만 걸러짐
+            if (!matchShardCoordinator.owns(requester.region())) {
+                return;
+            }
+            Optional<MatchCandidate> partner = matchingMetrics.timeLookup(LookupPath.WAKEUP, MatchPhase.PHASE_1,
+                    () -> matchQueueStore.leasePhase1Partner(requester));
+            if (partner.isEmpty()) {
+                return;
+            }
+            try {
+                matchService.confirmMatch(requester.userId(), partner.get().userId());
+            } catch (RuntimeException e) {
+                matchQueueStore.releaseLeases(List.of(requester.userId(), partner.get().userId()));
+                throw e;
+            }
+            LocalDateTime matchedAt = LocalDateTime.now();
+            matchingMetrics.recordTimeToMatch(MatchPhase.PHASE_1, requester.createdAt(), matchedAt);
+            matchingMetrics.recordTimeToMatch(MatchPhase.PHASE_1, partner.get().createdAt(), matchedAt);
+        } catch (Exception e) {
+            log.error("즉시 매칭 처리 중 오류 발생. 사용자 ID: {}", userId, e);
+        }
+    }
+
+    /*
+     * 배치 매칭: 단계마다 쿼리 1회로 서로 겹치지 않는 쌍을 받아 일괄 확정. 단계별 조회 쿼리는 대기열 크기와 무관하게 tick당 5회.
+     * 엄격한 단계부터 처리해 앞 단계에서 확정된 사용자는 다음 단계 쿼리에서 빠짐.
+     * 쿼리는 나이 구간·첫 번째 취미 단위로 보수적으로 짝지으므로, 조건을 만족하지만 남은 사용자는 이어지는 인덱스 매칭이 처리.
+     * 쿼리 결과에 등록 시각이 없어 time-to-match는 기록하지 않음. 확정된 사용자 반환.
+     */
+    private Set<UUID> runBatchPairing(MatchTickStats tick) {
+        LocalDateTime now = LocalDateTime.now();
+        Set<UUID> paired = new HashSet<>();
+        for (MatchPhase phase : MatchPhase.values()) {
+            LocalDateTime queuedBefore = now.minusSeconds(phase.getMinWaitingSeconds());
+            MatchConfirmResult result = confirmPairs(matchingMetrics.timeLookup(LookupPath.BATCH, phase,
+                    () -> matchQueueMatchFinder.findPhasePairs(phase, queuedBefore, EXCLUDED_TIER, WAITING_STATUS)),
+                    tick);
+            for (MatchConfirmation confirmation : result.confirmed()) {
+                paired.add(confirmation.pair().user1Id());
+                paired.add(confirmation.pair().user2Id());
+            }
+        }
+        return paired;
+    }
+
+    /** 확정 대기 중인 쌍. 요청자 단계는 time-to-match 태그에 사용. */
+    private record ProposedMatch(MatchCandidate requester, MatchCandidate partner, MatchPhase phase) {
+
+        private MatchPair pair() {
+            return new MatchPair(requester.userId(), partner.userId());
         }
-        return matchQueueMatchFinder.findPhase1Match(
-                requester.getUserId(), requester.getGender().name(), requester.getRegion().name(),
-                requester.getBirthYear() - AGE_TOLERANCE_YEARS, requester.getBirthYear() + AGE_TOLERANCE_YEARS,
-                requester.getHobbyIds(), EXCLUDED_TIER, WAITING_STATUS);
     }
 }
@@ -0,0 +1,16 @@
+package com.salang.matching_poc.worker;
+
+import com.salang.matching_poc.model.enums.Region;
+
+/** 여러 인스턴스가 지역(Region) 단위 샤드를 나눠 매칭하도록 소유권을 조정. */
+public interface MatchShardCoordinator {
+
+    /** tick 시작 시 호출. 노드 합류·이탈에 따라 샤드 소유권을 재조정. */
+    void rebalance();
+
+    /** 해당 지역 샤드의 요청자를 이 노드가 처리하는지. 지역이 없으면 첫 샤드로 취급. */
+    boolean owns(Region region);
+
+    /** 지역 구분 없는 작업(batch-pairing)을 이 노드가 맡는지. */
+    boolean isLeader();
+}
@@ -0,0 +1,176 @@
+package com.salang.matching_poc.worker;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import com.salang.matching_poc.model.enums.Region;
+
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/*
+ * Postgres advisory lock 기반 샤드 소유권. 샤드 = Region (ordinal).
+ * 노드 슬롯 lock(노드 생존 표시)으로 살아 있는 노드 수와 자신의 순번을 구하고, ordinal % 노드 수 == 순번인 샤드를 담당.
+ * 샤드마다 lock을 잡은 노드만 처리하므로 재조정 중에도 같은 샤드를 두 노드가 동시에 처리하지 않음.
+ * session lock이므로 노드가 죽어 커넥션이 끊기면 자동 해제되고, 남은 노드가 다음 tick에 인수.
+ * 전용 커넥션 1개를 점유하며 스케줄러 스레드에서만 사용.
+ */
+@Slf4j
+@Component
+@Profile("!test")
+@RequiredArgsConstructor
+public class MatchShardCoordinatorPostgres implements MatchShardCoordinator {
+
+    private static final int NODE_LOCK_CLASS = 0x4d510001;
+    private static final int SHARD_LOCK_CLASS = 0x4d510002;
+    private static final int MAX_NODES = 64;
+    private static final Region[] SHARDS = Region.values();
+
+    private static final String LIVE_NODES_SQL = """
+            SELECT objid::int FROM pg_locks
+            WHERE locktype = 'advisory' AND granted AND objsubid = 2
+              AND classid::bigint = ?
+              AND database = (SELECT oid FROM pg_database WHERE datname = current_database())
+            ORDER BY objid::bigint
+            """;
+
+    private final DataSource dataSource;
+
+    @Value("${matching.sharding.enabled:true}")
+    private boolean enabled;
+
+    private Connection connection;
+    private int nodeSlot = -1;
+    private final Set<Region> held = EnumSet.noneOf(Region.class);
+    private volatile Set<Region> owned = Collections.emptySet();
+    private volatile boolean leader;
+
+    @PreDestroy
+    void stop() {
+        releaseAll();
+    }
+
+    @Override
+    public void rebalance() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            if (connection == null) {
+                connect();
+            }
+            List<Integer> liveSlots = liveNodeSlots();
+            int rank = liveSlots.indexOf(nodeSlot);
+            int nodes = liveSlots.size();
+
+            // 놓을 샤드를 먼저 해제해야 다른 노드가 같은 tick 안에 인수 가능
+            for (Region shard : SHARDS) {
+                if (held.contains(shard) && !isAssigned(shard, rank, nodes)) {
+                    advisoryLock("pg_advisory_unlock", SHARD_LOCK_CLASS, shard.ordinal());
+                    held.remove(shard);
+                }
+            }
+            for (Region shard : SHARDS) {
+                if (!held.contains(shard) && isAssigned(shard, rank, nodes)
+                        && advisoryLock("pg_try_advisory_lock", SHARD_LOCK_CLASS, shard.ordinal())) {
+                    held.add(shard);
+                }
+            }
+
+            Set<Region> next = held.isEmpty() ? Collections.emptySet() : EnumSet.copyOf(held);
+            if (!next.equals(owned)) {
+                log.info("매칭 샤드 재조정. 노드 {}/{}, 담당 지역: {}", rank + 1, nodes, next);
+            }
+            owned = next;
+            leader = rank == 0;
+        } catch (SQLException e) {
+            log.warn("샤드 소유권 갱신 실패. 담당 샤드를 모두 해제하고 다음 tick에 재시도", e);
+            releaseAll();
+        }
+    }
+
+    @Override
+    public boolean owns(Region region) {
+        if (!enabled) {
+            return true;
+        }
+        return owned.contains(region == null ? SHARDS[0] : region);
+    }
+
+    @Override
+    public boolean isLeader() {
+        return !enabled || leader;
+    }
+
+    private static boolean isAssigned(Region shard, int rank, int nodes) {
+        return rank >= 0 && shard.ordinal() % nodes == rank;
+    }
+
+    /* 비어 있는 가장 낮은 노드 슬롯을 점유. 살아 있는 슬롯 중 몇 번째인지가 노드 순번. */
+    private void connect() throws SQLException {
+        connection = dataSource.getConnection();
+        connection.setAutoCommit(true);
+        for (int slot = 0; slot < MAX_NODES; slot++) {
+            if (advisoryLock("pg_try_advisory_lock", NODE_LOCK_CLASS, slot)) {
+                nodeSlot = slot;
+                return;
+            }
+        }
+        log.warn("사용 가능한 노드 슬롯이 없음 (최대 {}). 이 노드는 샤드를 담당하지 않음", MAX_NODES);
+    }
+
+    private List<Integer> liveNodeSlots() throws SQLException {
+        List<Integer> slots = new ArrayList<>();
+        try (PreparedStatement ps = connection.prepareStatement(LIVE_NODES_SQL)) {
+            ps.setLong(1, NODE_LOCK_CLASS);
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    slots.add(rs.getInt(1));
+                }
+            }
+        }
+        return slots;
+    }
+
+    private boolean advisoryLock(String function, int lockClass, int key) throws SQLException {
+        try (PreparedStatement ps = connection.prepareStatement("SELECT " + function + "(?, ?)")) {
+            ps.setInt(1, lockClass);
+            ps.setInt(2, key);
+            try (ResultSet rs = ps.executeQuery()) {
+                return rs.next() && rs.getBoolean(1);
+            }
+        }
+    }
+
+    /* 풀 커넥션은 close()해도 세션이 유지되므로 session lock을 명시적으로 해제 후 반납 */
+    private void releaseAll() {
+        owned = Collections.emptySet();
+        leader = false;
+        held.clear();
+        nodeSlot = -1;
+        if (connection == null) {
+            return;
+        }
+        try (Connection toClose = connection;
+                PreparedStatement ps = toClose.prepareStatement("SELECT pg_advisory_unlock_all()")) {
+            ps.execute();
+        } catch (SQLException e) {
+            log.warn("샤드 커넥션 종료 실패", e);
+        }
+        connection = null;
+    }
+}
@@ -0,0 +1,75 @@
+package com.salang.matching_poc.worker;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/** 스케줄러 tick 1회 집계. 지역 워커가 동시에 갱신하므로 카운터는 원자적으로 증가. */
+final class MatchTickStats {
+
+    private final long startNanos = System.nanoTime();
+    private final LongAdder queries = new LongAdder();
+    private final AtomicInteger matches = new AtomicInteger();
+    private final AtomicInteger conflicts = new AtomicInteger();
+    private final AtomicInteger errors = new AtomicInteger();
+    private volatile String mode = "index";
+    private volatile int candidates;
+    private volatile int requesters;
+
+    long startNanos() {
+        return startNanos;
+    }
+
+    /** TickQueryCounter 범위에 넘기는 구문 카운터 */
+    LongAdder queryCounter() {
+        return queries;
+    }
+
+    void batchMode() {
+        mode = "batch";
+    }
+
+    void scanned(int candidates, int requesters) {
+        this.candidates = candidates;
+        this.requesters = requesters;
+    }
+
+    void matched(int pairs) {
+        matches.addAndGet(pairs);
+    }
+
+    void conflicted(int pairs) {
+        conflicts.addAndGet(pairs);
+    }
+
+    void failed() {
+        errors.incrementAndGet();
+    }
+
+    String mode() {
+        return mode;
+    }
+
+    int candidates() {
+        return candidates;
+    }
+
+    int requesters() {
+        return requesters;
+    }
+
+    long queries() {
+        return queries.sum();
+    }
+
+    int matches() {
+        return matches.get();
+    }
+
+    int conflicts() {
+        return conflicts.get();
+    }
+
+    int errors() {
+        return errors.get();
+    }
+}
@@ -0,0 +1,105 @@
+package com.salang.matching_poc.worker;
+
+import static net.logstash.logback.argument.StructuredArguments.entries;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 스케줄러 tick 텔레메트리 (/actuator/prometheus).
+ * matching.tick.duration: tick 소요 시간
+ * matching.tick.candidates · matching.tick.queries: tick당 작업 집합 크기, 실행한 JDBC 구문 수
+ * matching.tick.matches · matching.tick.conflicts · matching.tick.errors: tick에서 확정된 쌍, 확정 충돌 쌍, 처리 오류
+ * matching.tick.budget.ratio: 직전 tick 소요 시간 / fixed-delay. 1 이상이 이어지면 tick이 대기열을 따라가지 못하는 상태
+ * tick 요약은 이 클래스 로거로 sample-rate 비율만큼 구조화 로그(Logstash JSON 필드) 기록. 예산 초과·오류 tick은 항상 기록.
+ */
+@Slf4j
+@Component
+public class MatchTickTelemetry {
+
+    private final Timer duration;
+    private final DistributionSummary candidates;
+    private final DistributionSummary queries;
+    private final Counter matches;
+    private final Counter conflicts;
+    private final Counter errors;
+    /* 직전 tick 비율의 double 비트 */
+    private final AtomicLong budgetRatioBits = new AtomicLong();
+    private final long fixedDelayMillis;
+    private final double sampleRate;
+
+    public MatchTickTelemetry(MeterRegistry registry,
+            @Value("${matching.schedule.fixed-delay}") long fixedDelayMillis,
+            @Value("${matching.telemetry.tick-log-sample-rate:0.01}") double sampleRate) {
+        this.fixedDelayMillis = fixedDelayMillis;
+        this.sampleRate = sampleRate;
+        duration = Timer.builder("matching.tick.duration")
+                .description("스케줄러 tick 소요 시간")
+                .register(registry);
+        candidates = DistributionSummary.builder("matching.tick.candidates")
+                .description("tick 작업 집합 크기")
+                .register(registry);
+        queries = DistributionSummary.builder("matching.tick.queries")
+                .description("tick에서 실행한 JDBC 구문 수")
+                .register(registry);
+        matches = Counter.builder("matching.tick.matches")
+                .description("스케줄러 tick에서 확정된 쌍")
+                .register(registry);
+        conflicts = Counter.builder("matching.tick.conflicts")
+                .description("스케줄러 tick 확정 시 이미 매칭되어 제외된 쌍")
+                .register(registry);
+        errors = Counter.builder("matching.tick.errors")
+                .description("스케줄러 tick 처리 오류")
+                .register(registry);
+        Gauge.builder("matching.tick.budget.ratio", budgetRatioBits, bits -> Double.longBitsToDouble(bits.get()))
+                .description("직전 tick 소요 시간 / fixed-delay")
+                .register(registry);
+    }
+
+    MatchTickStats start() {
+        return new MatchTickStats();
+    }
+
+    void finish(MatchTickStats tick) {
+        long elapsedNanos = System.nanoTime() - tick.startNanos();
+        double ratio = (double) elapsedNanos / TimeUnit.MILLISECONDS.toNanos(fixedDelayMillis);
+        duration.record(elapsedNanos, TimeUnit.NANOSECONDS);
+        candidates.record(tick.candidates());
+        queries.record(tick.queries());
+        matches.increment(tick.matches());
+        conflicts.increment(tick.conflicts());
+        errors.increment(tick.errors());
+        budgetRatioBits.set(Double.doubleToLongBits(ratio));
+
+        if (log.isInfoEnabled() && (ratio >= 1 || tick.errors() > 0 || sampled())) {
+            Map<String, Object> summary = new LinkedHashMap<>();
+            summary.put("tick_mode", tick.mode());
+            summary.put("tick_ms", TimeUnit.NANOSECONDS.toMillis(elapsedNanos));
+            summary.put("tick_budget_ratio", Math.round(ratio * 1000) / 1000.0);
+            summary.put("tick_candidates", tick.candidates());
+            summary.put("tick_requesters", tick.requesters());
+            summary.put("tick_queries", tick.queries());
+            summary.put("tick_matches", tick.matches());
+            summary.put("tick_conflicts", tick.conflicts());
+            summary.put("tick_errors", tick.errors());
+            log.info("매칭 tick 요약 {}", entries(summary));
+        }
+    }
+
+    private boolean sampled() {
+        return sampleRate >= 1 || (sampleRate > 0 && ThreadLocalRandom.current().nextDouble() < sampleRate);
+    }
+}
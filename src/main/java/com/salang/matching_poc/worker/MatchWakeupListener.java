@@ -0,0 +1,83 @@
+package com.salang.matching_poc.worker;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.salang.matching_poc.model.enums.Region;
+import com.salang.matching_poc.service.event.MatchQueuedEvent;
+
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+
+/*
+ * 대기열 등록 즉시 신규 대기자 매칭을 실행. 같은 노드는 커밋 직후, 다른 노드는 NOTIFY로 전달.
+ * 페이로드: user_id,지역;... 이벤트 1개(인터셉트 배치는 남은 요청 전체)를 NOTIFY 페이로드 상한(8000 bytes) 이내로 나눠 발행.
+ * 신호는 모든 노드에 전달되므로 지역 샤드를 소유한 사용자만 골라 스케줄링(소유한 사용자가 없으면 DB 조회 없음).
+ * 매칭은 신호당 작업 1개로 스케줄러 스레드(pool size 1)에서 실행해 runMatchingLoop와 겹치지 않음.
+ */
+@Component
+@ConditionalOnProperty(name = "matching.wakeup.enabled", havingValue = "true", matchIfMissing = true)
+@RequiredArgsConstructor
+public class MatchWakeupListener {
+
+    static final String CHANNEL = "match_queue_enqueued";
+    private static final int USERS_PER_NOTIFY = 150;
+
+    private final MatchNotifier matchNotifier;
+    private final MatchScheduler matchScheduler;
+    private final MatchShardCoordinator matchShardCoordinator;
+    private final TaskScheduler taskScheduler;
+
+    @PostConstruct
+    void subscribe() {
+        matchNotifier.subscribe(CHANNEL, this::onNotify);
+    }
+
+    /* NOTIFY는 커밋 시점에 전달되므로 트랜잭션 안에서 발행 */
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
+    public void notifyOtherNodes(MatchQueuedEvent event) {
+        List<MatchQueuedEvent.Queued> users = event.users();
+        for (int from = 0; from < users.size(); from += USERS_PER_NOTIFY) {
+            matchNotifier.publish(CHANNEL, users.subList(from, Math.min(from + USERS_PER_NOTIFY, users.size()))
+                    .stream()
+                    .map(user -> user.userId() + "," + (user.region() == null ? "" : user.region().name()))
+                    .collect(Collectors.joining(";")));
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onMatchQueued(MatchQueuedEvent event) {
+        wakeUp(event.users());
+    }
+
+    void onNotify(String payload) {
+        List<MatchQueuedEvent.Queued> users = new ArrayList<>();
+        for (String entry : payload.split(";")) {
+            int separator = entry.indexOf(',');
+            String region = entry.substring(separator + 1);
+            users.add(new MatchQueuedEvent.Queued(UUID.fromString(entry.substring(0, separator)),
+                    region.isEmpty() ? null : Region.valueOf(region)));
+        }
+        wakeUp(users);
+    }
+
+    private void wakeUp(List<MatchQueuedEvent.Queued> users) {
+        List<UUID> owned = users.stream()
+                .filter(user -> matchShardCoordinator.owns(user.region()))
+                .map(MatchQueuedEvent.Queued::userId)
+                .toList();
+        if (owned.isEmpty()) {
+            return;
+        }
+        taskScheduler.schedule(() -> matchScheduler.matchQueuedUsers(owned), Instant.now());
+    }
+}
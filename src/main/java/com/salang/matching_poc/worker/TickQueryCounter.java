@@ -0,0 +1,34 @@
+package com.salang.matching_poc.worker;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 스케줄러 tick 동안 실행된 JDBC 구문 수 집계. 집계 범위는 스레드 단위로 열고, 워커 스레드에도 같은 카운터로 열어 합산.
+ * 실제 집계는 TickQueryCountingDataSource가 범위가 열린 스레드에서 만든 Statement의 execute* 호출마다 수행.
+ */
+final class TickQueryCounter {
+
+    private static final ThreadLocal<LongAdder> CURRENT = new ThreadLocal<>();
+
+    private TickQueryCounter() {
+    }
+
+    static void run(LongAdder counter, Runnable action) {
+        LongAdder previous = CURRENT.get();
+        CURRENT.set(counter);
+        try {
+            action.run();
+        } finally {
+            if (previous == null) {
+                CURRENT.remove();
+            } else {
+                CURRENT.set(previous);
+            }
+        }
+    }
+
+    /** 현재 스레드에 열린 카운터. 없으면 null. */
+    static LongAdder current() {
+        return CURRENT.get();
+    }
+}
@@ -0,0 +1,101 @@
+package com.salang.matching_poc.worker;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.atomic.LongAdder;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.stereotype.Component;
+
+/**
+ * 애플리케이션 DataSource를 감싸 TickQueryCounter 범위 안에서 실행된 구문 수를 셈.
+ * 범위 밖에서 얻은 Connection은 감싸지 않고 그대로 반환하므로 요청 처리 경로에는 ThreadLocal 조회 외 비용 없음.
+ * tick 작업은 범위 안에서 트랜잭션을 시작하므로 사용하는 Connection도 범위 안에서 얻음.
+ * executeBatch는 왕복 1회로 셈. unwrap 등 나머지 호출은 그대로 위임(PGConnection unwrap, Hikari 메트릭 유지).
+ */
+public class TickQueryCountingDataSource extends DelegatingDataSource {
+
+    private static final String[] EXECUTE_METHODS = { "execute", "executeQuery", "executeUpdate",
+            "executeLargeUpdate", "executeBatch", "executeLargeBatch" };
+
+    TickQueryCountingDataSource(DataSource target) {
+        super(target);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return countingConnection(super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return countingConnection(super.getConnection(username, password));
+    }
+
+    private static Connection countingConnection(Connection connection) {
+        if (TickQueryCounter.current() == null) {
+            return connection;
+        }
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(),
+                new Class<?>[] { Connection.class }, (proxy, method, args) -> {
+                    Object result = invoke(connection, method, args);
+                    LongAdder counter = TickQueryCounter.current();
+                    if (counter != null && result instanceof Statement statement) {
+                        return countingStatement(statement, counter);
+                    }
+                    return result;
+                });
+    }
+
+    private static Statement countingStatement(Statement statement, LongAdder counter) {
+        Class<?> type = statement instanceof CallableStatement ? CallableStatement.class
+                : statement instanceof PreparedStatement ? PreparedStatement.class : Statement.class;
+        InvocationHandler handler = (proxy, method, args) -> {
+            if (isExecute(method)) {
+                counter.increment();
+            }
+            return invoke(statement, method, args);
+        };
+        return (Statement) Proxy.newProxyInstance(Statement.class.getClassLoader(), new Class<?>[] { type }, handler);
+    }
+
+    private static boolean isExecute(Method method) {
+        for (String name : EXECUTE_METHODS) {
+            if (name.equals(method.getName())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getTargetException();
+        }
+    }
+
+    /** 컨텍스트의 DataSource 빈을 감쌈. */
+    @Component
+    static class PostProcessor implements BeanPostProcessor {
+
+        @Override
+        public Object postProcessAfterInitialization(Object bean, String beanName) {
+            if (bean instanceof DataSource dataSource && !(bean instanceof TickQueryCountingDataSource)) {
+                return new TickQueryCountingDataSource(dataSource);
+            }
+            return bean;
+        }
+    }
+}
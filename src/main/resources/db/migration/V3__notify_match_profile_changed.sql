@@ -0,0 +1,34 @@
+-- 매칭 프로필 캐시(MatchProfileCache) 무효화. 매칭 조건에 쓰는 컬럼이 바뀌면 NOTIFY match_profile_changed.
+-- payload 형식은 MatchNotifierPostgres와 동일한 '<발신 노드>:<user_id>'. 발신 노드는 'db'로 고정해 모든 노드가 수신.
+
+CREATE OR REPLACE FUNCTION notify_match_profile_changed() RETURNS trigger AS $$
+DECLARE
+    changed_user_id UUID;
+BEGIN
+    IF TG_OP = 'DELETE' THEN
+        IF TG_TABLE_NAME = 'users' THEN
+            changed_user_id := OLD.id;
+        ELSE
+            changed_user_id := OLD.user_id;
+        END IF;
+    ELSE
+        IF TG_TABLE_NAME = 'users' THEN
+            changed_user_id := NEW.id;
+        ELSE
+            changed_user_id := NEW.user_id;
+        END IF;
+    END IF;
+    PERFORM pg_notify('match_profile_changed', 'db:' || changed_user_id);
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+DROP TRIGGER IF EXISTS trg_users_match_profile_changed ON users;
+CREATE TRIGGER trg_users_match_profile_changed
+    AFTER UPDATE OF gender, birth_date, region, tier OR DELETE ON users
+    FOR EACH ROW EXECUTE FUNCTION notify_match_profile_changed();
+
+DROP TRIGGER IF EXISTS trg_user_hobbies_match_profile_changed ON user_hobbies;
+CREATE TRIGGER trg_user_hobbies_match_profile_changed
+    AFTER INSERT OR UPDATE OR DELETE ON user_hobbies
+    FOR EACH ROW EXECUTE FUNCTION notify_match_profile_changed();
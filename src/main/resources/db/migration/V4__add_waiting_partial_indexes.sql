@@ -0,0 +1,32 @@
+-- 단계별 즉시 매칭 쿼리(findPhase1~4Match)용 부분 인덱스. 대기열은 대부분 MATCHED 행이므로 WAITING만 색인.
+-- 상대 성별은 등호(gender = :partnerGender)로 조회해야 gender 선두 인덱스를 created_at 순으로 탈 수 있음.
+-- 1단계: location + gender + birth_year (+ 취미 GIN), 2단계: location + gender + birth_year, 3단계: gender + birth_year, 4단계: gender.
+
+CREATE INDEX IF NOT EXISTS idx_match_queue_waiting_location_gender_birth
+    ON match_queue (location, gender, birth_year, created_at)
+    WHERE status = 'WAITING';
+
+CREATE INDEX IF NOT EXISTS idx_match_queue_waiting_gender_birth
+    ON match_queue (gender, birth_year, created_at)
+    WHERE status = 'WAITING';
+
+CREATE INDEX IF NOT EXISTS idx_match_queue_waiting_gender
+    ON match_queue (gender, created_at)
+    WHERE status = 'WAITING';
+
+-- intarray 확장이 있으면 gin__int_ops 부분 인덱스 추가.
+-- 확장 설치 후에는 integer[] && 가 intarray 연산자로 해석되어 V1의 기본 GIN(array_ops)을 쓰지 못하므로 함께 생성해야 함.
+-- 확장을 쓸 수 없는 환경(권한 없음 등)에서는 기본 GIN을 그대로 사용.
+DO $$
+BEGIN
+    IF EXISTS (SELECT 1 FROM pg_available_extensions WHERE name = 'intarray') THEN
+        CREATE EXTENSION IF NOT EXISTS intarray;
+        CREATE INDEX IF NOT EXISTS idx_match_queue_waiting_hobby_ids_intarray
+            ON match_queue USING GIN (hobby_ids gin__int_ops)
+            WHERE status = 'WAITING';
+    END IF;
+EXCEPTION
+    WHEN insufficient_privilege THEN
+        RAISE NOTICE 'intarray 확장을 설치할 수 없어 기본 GIN 인덱스를 사용: %', SQLERRM;
+END
+$$;
@@ -0,0 +1,17 @@
+-- 매칭 완료(MATCHED) 대기열 이력. MatchQueueCompactor가 match_queue에서 배치 단위로 옮겨 옴.
+-- match_queue는 대기 중인 행 위주로 유지되고, user_id UNIQUE 제약도 매칭된 사용자의 재등록을 막지 않게 됨.
+
+CREATE TABLE IF NOT EXISTS match_history (
+    queue_id    BIGINT PRIMARY KEY,
+    user_id     UUID NOT NULL,
+    status      VARCHAR(20) NOT NULL,
+    hobby_ids   INTEGER[],
+    tier        VARCHAR(20),
+    location    VARCHAR(50),
+    birth_year  INT,
+    gender      VARCHAR(10),
+    created_at  TIMESTAMP NOT NULL,
+    archived_at TIMESTAMP NOT NULL DEFAULT now()
+);
+
+CREATE INDEX IF NOT EXISTS idx_match_history_user_id ON match_history (user_id);
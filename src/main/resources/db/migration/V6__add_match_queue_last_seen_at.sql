@@ -0,0 +1,8 @@
+-- 대기자 heartbeat 시각. MatchPresenceSweeper가 heartbeat가 끊긴 WAITING 행을 배치 삭제할 때 사용.
+-- 기존 행은 마이그레이션 시각으로 채워 바로 만료되지 않도록 함.
+
+ALTER TABLE match_queue ADD COLUMN IF NOT EXISTS last_seen_at TIMESTAMP NOT NULL DEFAULT now();
+
+CREATE INDEX IF NOT EXISTS idx_match_queue_waiting_last_seen
+    ON match_queue (last_seen_at)
+    WHERE status = 'WAITING';
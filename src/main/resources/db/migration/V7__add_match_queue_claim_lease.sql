@@ -0,0 +1,6 @@
+-- 파트너 조회 시 요청자·파트너 행을 노드 이름(claimed_by)으로 lease_until까지 선점.
+-- 조회와 확정이 서로 다른 트랜잭션이어도 그 사이 다른 노드·인터셉트가 같은 행을 고르지 않음.
+-- 확정(MATCHED 전환) 또는 실패 시 해제하고, 노드가 죽어도 lease_until이 지나면 다시 선점 가능.
+
+ALTER TABLE match_queue ADD COLUMN IF NOT EXISTS claimed_by VARCHAR(64);
+ALTER TABLE match_queue ADD COLUMN IF NOT EXISTS lease_until TIMESTAMP;
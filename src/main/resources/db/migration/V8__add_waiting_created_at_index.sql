@@ -0,0 +1,6 @@
+-- 5단계 즉시 매칭 쿼리(findPhase5Match)용 부분 인덱스. 성별·지역·나이 조건 없이 가장 오래 기다린 WAITING 행을 조회하므로
+-- created_at만 색인. 전체 created_at 인덱스는 대부분인 MATCHED 행을 건너뛰며 읽어야 함.
+
+CREATE INDEX IF NOT EXISTS idx_match_queue_waiting_created_at
+    ON match_queue (created_at)
+    WHERE status = 'WAITING';
@@ -0,0 +1,25 @@
+-- 스케줄러 작업 집합(MatchQueueWorkingSet)에서 뺄 행 알림. WAITING 행이 MATCHED로 바뀌거나(확정·인터셉트 선점)
+-- 삭제되면(취소·만료) NOTIFY match_queue_removed. 작업 집합은 tick마다 전체 대조 대신 이 알림으로 제거.
+-- payload 형식은 MatchNotifierPostgres와 동일한 '<발신 노드>:<queue_id>'. 발신 노드는 'db'로 고정해 변경한 노드를 포함한 모든 노드가 수신.
+-- 행 단위 트리거지만 WHEN 조건으로 heartbeat·lease 갱신, MATCHED 행 이력 이동에서는 실행되지 않음.
+
+CREATE OR REPLACE FUNCTION notify_match_queue_removed() RETURNS trigger AS $$
+BEGIN
+    PERFORM pg_notify('match_queue_removed', 'db:' || OLD.queue_id);
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+DROP TRIGGER IF EXISTS trg_match_queue_left_waiting ON match_queue;
+CREATE TRIGGER trg_match_queue_left_waiting
+    AFTER UPDATE OF status ON match_queue
+    FOR EACH ROW
+    WHEN (OLD.status = 'WAITING' AND NEW.status <> 'WAITING')
+    EXECUTE FUNCTION notify_match_queue_removed();
+
+DROP TRIGGER IF EXISTS trg_match_queue_waiting_deleted ON match_queue;
+CREATE TRIGGER trg_match_queue_waiting_deleted
+    AFTER DELETE ON match_queue
+    FOR EACH ROW
+    WHEN (OLD.status = 'WAITING')
+    EXECUTE FUNCTION notify_match_queue_removed();
@@ -8,6 +8,7 @@ import org.junit.jupiter.api.Test;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.autoconfigure.data.jpa.JpaRepositoriesAutoConfiguration;
@@ -20,10 +21,13 @@ import org.springframework.http.MediaType;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.salang.matching_poc.constants.MatchingConstants;
@@ -33,6 +37,8 @@ import com.salang.matching_poc.exception.AlreadyInQueueException;
 import com.salang.matching_poc.exception.GlobalExceptionHandler;
 import com.salang.matching_poc.exception.UserNotFoundException;
 import com.salang.matching_poc.exception.UserNotInQueueException;
+import com.salang.matching_poc.service.MatchPresenceTracker;
+import com.salang.matching_poc.service.MatchResultStream;
 import com.salang.matching_poc.service.MatchService;
 
 @WebMvcTest(value = MatchController.class, excludeAutoConfiguration = {
@@ -54,6 +60,12 @@ class MatchControllerWebMvcTest {
     @MockitoBean
     private MatchService matchService;
 
+    @MockitoBean
+    private MatchPresenceTracker matchPresenceTracker;
+
+    @MockitoBean
+    private MatchResultStream matchResultStream;
+
     @MockitoBean
     private JpaMetamodelMappingContext jpaMetamodelMappingContext;
 
@@ -186,4 +198,40 @@ class MatchControllerWebMvcTest {
                 .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON))
                 .andExpect(jsonPath("$.error.code").value("NOT_IN_QUEUE"));
     }
+
+    @Test
+    @DisplayName("heartbeat 성공 - 204 No Content, 메모리에 기록")
+    void heartbeat_Success_Returns204() throws Exception {
+        UUID userId = UUID.randomUUID();
+        MatchRequest request = new MatchRequest(userId);
+
+        mockMvc.perform(post("/api/v1/match/heartbeat")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isNoContent());
+
+        verify(matchPresenceTracker).heartbeat(userId);
+    }
+
+    @Test
+    @DisplayName("heartbeat 실패 - user_id가 null이면 400 Bad Request")
+    void heartbeat_InvalidRequest_Returns400() throws Exception {
+        mockMvc.perform(post("/api/v1/match/heartbeat")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{}"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error.code").value("INVALID_INPUT"));
+    }
+
+    @Test
+    @DisplayName("결과 스트림 구독 - user_id 쿼리 파라미터로 SSE 비동기 응답 시작")
+    void streamResult_StartsAsync() throws Exception {
+        UUID userId = UUID.randomUUID();
+        when(matchResultStream.subscribe(userId)).thenReturn(new SseEmitter());
+
+        mockMvc.perform(get("/api/v1/match/stream").param("user_id", userId.toString()))
+                .andExpect(request().asyncStarted());
+
+        verify(matchResultStream).subscribe(userId);
+    }
 }
@@ -0,0 +1,182 @@
+package com.salang.matching_poc.repository;
+
+import java.lang.reflect.Method;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.salang.matching_poc.model.enums.MatchStatus;
+import com.salang.matching_poc.model.enums.Tier;
+
+/*
+ * 단계별 즉시 매칭 쿼리 실행 계획 회귀 벤치마크. 로컬 Postgres에서만 실행(localhost·127.0.0.1 주소가 아니면 건너뜀).
+ * MATCH_PLAN_BENCH_URL=jdbc:postgresql://localhost:5432/postgres (USER/PASSWORD/BUDGET_MS/ROWS 선택)
+ * Flyway 마이그레이션 적용 후 한 트랜잭션 안에서 대기열을 시드하고 findPhase1~5Match의 SQL을
+ * EXPLAIN (ANALYZE, BUFFERS)로 실행. 단계별 WAITING 부분 인덱스를 쓰지 않거나 실행 시간이 예산을 넘으면 실패.
+ * 시드 데이터는 끝나면 롤백하지만 마이그레이션은 롤백되지 않으므로 대상 DB 스키마는 최신 버전으로 남음.
+ */
+@EnabledIfEnvironmentVariable(named = "MATCH_PLAN_BENCH_URL", matches = "jdbc:postgresql://(localhost|127\\.0\\.0\\.1)[:/].*")
+@DisplayName("MatchQueueRepository 단계별 실행 계획 벤치마크")
+class MatchQueuePhasePlanBenchmarkTest {
+
+        private static final int MEASURED_RUNS = 5;
+
+        private static final String LOCATION_GENDER_BIRTH = "idx_match_queue_waiting_location_gender_birth";
+        private static final String HOBBY_IDS_INTARRAY = "idx_match_queue_waiting_hobby_ids_intarray";
+        private static final String GENDER_BIRTH = "idx_match_queue_waiting_gender_birth";
+        private static final String GENDER = "idx_match_queue_waiting_gender";
+        private static final String CREATED_AT = "idx_match_queue_waiting_created_at";
+
+        private static final String SEED_SQL = """
+                        insert into match_queue (user_id, status, hobby_ids, tier, location, birth_year, gender, created_at)
+                        select gen_random_uuid(),
+                               case when random() < 0.9 then 'MATCHED' else 'WAITING' end,
+                               array[(random() * 40)::int, (random() * 40)::int],
+                               (array['FERTILIZER','WILTING','SPROUT','PETAL','FRUIT'])[1 + (random() * 4)::int],
+                               (array['SEOUL','GYEONGGI','INCHEON','GANGWON','CHUNGNAM','DAEJEON','CHUNGBUK','SEJONG','BUSAN',
+                                      'ULSAN','DAEGU','GYEONGBUK','GYEONGNAM','JEONNAM','GWANGJU','JEONBUK','JEJU'])[1 + (random() * 16)::int],
+                               1980 + (random() * 25)::int,
+                               case when random() < 0.5 then 'MALE' else 'FEMALE' end,
+                               now() - random() * interval '1 hour'
+                        from generate_series(1, ?)
+                        """;
+
+        private static final ObjectMapper objectMapper = new ObjectMapper();
+
+        private static Connection connection;
+        private static NamedParameterJdbcTemplate jdbc;
+        private static double budgetMillis;
+
+        @BeforeAll
+        static void seed() throws SQLException {
+                String url = System.getenv("MATCH_PLAN_BENCH_URL");
+                String user = env("MATCH_PLAN_BENCH_USER", "postgres");
+                String password = env("MATCH_PLAN_BENCH_PASSWORD", "");
+                budgetMillis = Double.parseDouble(env("MATCH_PLAN_BENCH_BUDGET_MS", "10"));
+                int rows = Integer.parseInt(env("MATCH_PLAN_BENCH_ROWS", "300000"));
+
+                Flyway.configure()
+                                .dataSource(url, user, password)
+                                .locations("classpath:db/migration")
+                                .outOfOrder(true)
+                                .load()
+                                .migrate();
+
+                connection = DriverManager.getConnection(url, user, password);
+                connection.setAutoCommit(false);
+                JdbcTemplate template = new JdbcTemplate(new SingleConnectionDataSource(connection, true));
+                template.queryForObject("select setseed(0.42)", Object.class);
+                template.update(SEED_SQL, rows);
+                template.execute("analyze match_queue");
+                jdbc = new NamedParameterJdbcTemplate(template);
+        }
+
+        @AfterAll
+        static void rollback() throws SQLException {
+                if (connection != null) {
+                        connection.rollback();
+                        connection.close();
+                }
+        }
+
+        /*
+         * 단계별로 허용하는 인덱스. limit 1 + created_at 정렬이라 조건 컬럼 인덱스 대신
+         * (gender, created_at) 순서대로 읽다 멈추는 계획도 선택될 수 있어 함께 허용.
+         */
+        static Stream<Arguments> phaseQueries() {
+                return Stream.of(
+                                Arguments.of("findPhase1Match", Map.of("region", "SEOUL", "birthYearMin", 1990,
+                                                "birthYearMax", 1996, "hobbyIds", new Integer[] { 3 }),
+                                                List.of(LOCATION_GENDER_BIRTH, HOBBY_IDS_INTARRAY, GENDER)),
+                                Arguments.of("findPhase2Match", Map.of("region", "SEOUL", "birthYearMin", 1990,
+                                                "birthYearMax", 1996), List.of(LOCATION_GENDER_BIRTH, GENDER)),
+                                Arguments.of("findPhase3Match", Map.of("birthYearMin", 1990, "birthYearMax", 1996),
+                                                List.of(GENDER_BIRTH, GENDER)),
+                                Arguments.of("findPhase4Match", Map.of(), List.of(GENDER)),
+                                Arguments.of("findPhase5Match", Map.of(), List.of(CREATED_AT)));
+        }
+
+        @ParameterizedTest(name = "{0}")
+        @MethodSource("phaseQueries")
+        @DisplayName("findPhaseNMatch: 단계별 WAITING 부분 인덱스 사용, 실행 시간 예산 이내")
+        void phaseQuery_UsesWaitingIndexWithinBudget(String methodName, Map<String, Object> phaseParams,
+                        List<String> acceptedIndexes) throws Exception {
+                String sql = "explain (analyze, buffers, format json) " + nativeQuery(methodName);
+                Map<String, Object> params = new HashMap<>(phaseParams);
+                params.put("status", MatchStatus.WAITING.name());
+                params.put("userId", UUID.randomUUID());
+                params.put("partnerGender", "FEMALE");
+                params.put("excludedTier", Tier.FERTILIZER.name());
+                if (params.get("hobbyIds") instanceof Integer[] hobbyIds) {
+                        params.put("hobbyIds", connection.createArrayOf("integer", hobbyIds));
+                }
+
+                explain(sql, params); // 캐시 워밍업
+                double[] executionMillis = new double[MEASURED_RUNS];
+                JsonNode plan = null;
+                for (int i = 0; i < MEASURED_RUNS; i++) {
+                        JsonNode explained = explain(sql, params);
+                        executionMillis[i] = explained.get("Execution Time").asDouble();
+                        plan = explained.get("Plan");
+                }
+                Arrays.sort(executionMillis);
+                double median = executionMillis[MEASURED_RUNS / 2];
+
+                List<String> indexNames = new ArrayList<>();
+                collectIndexNames(plan, indexNames);
+                System.out.printf("%s: median %.3f ms, indexes %s%n", methodName, median, indexNames);
+
+                assertThat(indexNames).as("%s 실행 계획의 인덱스", methodName).containsAnyElementsOf(acceptedIndexes);
+                assertThat(median).as("%s 실행 시간 중앙값(ms)", methodName).isLessThanOrEqualTo(budgetMillis);
+        }
+
+        private static String nativeQuery(String methodName) {
+                Method method = Arrays.stream(MatchQueueRepository.class.getDeclaredMethods())
+                                .filter(m -> m.getName().equals(methodName))
+                                .findFirst()
+                                .orElseThrow();
+                return method.getAnnotation(Query.class).value();
+        }
+
+        private static JsonNode explain(String sql, Map<String, Object> params) throws Exception {
+                String json = jdbc.queryForObject(sql, params, String.class);
+                return objectMapper.readTree(json).get(0);
+        }
+
+        private static void collectIndexNames(JsonNode node, List<String> names) {
+                if (node.has("Index Name")) {
+                        names.add(node.get("Index Name").asText());
+                }
+                if (node.has("Plans")) {
+                        node.get("Plans").forEach(child -> collectIndexNames(child, names));
+                }
+        }
+
+        private static String env(String name, String defaultValue) {
+                String value = System.getenv(name);
+                return value == null || value.isBlank() ? defaultValue : value;
+        }
+}
@@ -17,6 +17,7 @@ import com.salang.matching_poc.model.enums.Gender;
 import com.salang.matching_poc.model.enums.MatchStatus;
 import com.salang.matching_poc.model.enums.Region;
 import com.salang.matching_poc.model.enums.Tier;
+import com.salang.matching_poc.repository.projection.WaitingQueueDigest;
 
 @DataJpaTest
 @ActiveProfiles("test")
@@ -179,4 +180,32 @@ class MatchQueueRepositoryTest {
 
                 assertThat(updated).isEqualTo(0);
         }
+
+        @Test
+        @DisplayName("digestByStatusUpToInRegions: 지정한 지역의 WAITING 행만 집계")
+        void digestByStatusUpToInRegions_OnlyGivenRegions() {
+                MatchQueue seoul = matchQueueRepository.save(MatchQueue.builder()
+                                .userId(UUID.randomUUID())
+                                .tier(Tier.SPROUT)
+                                .region(Region.SEOUL)
+                                .birthYear(1995)
+                                .gender(Gender.MALE)
+                                .build());
+                MatchQueue busan = matchQueueRepository.save(MatchQueue.builder()
+                                .userId(UUID.randomUUID())
+                                .tier(Tier.SPROUT)
+                                .region(Region.BUSAN)
+                                .birthYear(1995)
+                                .gender(Gender.FEMALE)
+                                .build());
+                List<Region> regions = List.of(Region.SEOUL, Region.JEJU);
+
+                WaitingQueueDigest digest = matchQueueRepository.digestByStatusUpToInRegions(MatchStatus.WAITING,
+                                busan.getQueueId(), regions);
+
+                assertThat(digest.getCount()).isEqualTo(1);
+                assertThat(digest.getQueueIdSum()).isEqualTo(seoul.getQueueId());
+                assertThat(matchQueueRepository.findQueueIdsByStatusUpToInRegions(MatchStatus.WAITING,
+                                busan.getQueueId(), regions)).containsExactly(seoul.getQueueId());
+        }
 }
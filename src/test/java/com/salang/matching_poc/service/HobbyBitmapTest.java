@@ -0,0 +1,61 @@
+package com.salang.matching_poc.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("HobbyBitmap 단위 테스트")
+class HobbyBitmapTest {
+
+        @Test
+        @DisplayName("공통 취미가 있으면 교집합 있음 (워드 경계 포함)")
+        void intersects_CommonHobby_True() {
+                long[] a = HobbyBitmap.of(new Integer[] { 1, 64, 130 });
+                long[] b = HobbyBitmap.of(new Integer[] { 2, 130 });
+
+                assertThat(a).hasSize(3);
+                assertThat(HobbyBitmap.intersects(a, b)).isTrue();
+                assertThat(HobbyBitmap.intersects(b, a)).isTrue();
+        }
+
+        @Test
+        @DisplayName("공통 취미가 없으면 교집합 없음")
+        void intersects_NoCommonHobby_False() {
+                long[] a = HobbyBitmap.of(new Integer[] { 1, 63 });
+                long[] b = HobbyBitmap.of(new Integer[] { 0, 64, 127 });
+
+                assertThat(HobbyBitmap.intersects(a, b)).isFalse();
+        }
+
+        @Test
+        @DisplayName("취미가 없으면 빈 비트맵, 어떤 집합과도 교집합 없음")
+        void of_NullOrEmpty_ReturnsEmpty() {
+                assertThat(HobbyBitmap.of(null)).isEmpty();
+                assertThat(HobbyBitmap.of(new Integer[0])).isEmpty();
+                assertThat(HobbyBitmap.intersects(HobbyBitmap.EMPTY, HobbyBitmap.of(new Integer[] { 1 }))).isFalse();
+        }
+
+        @Test
+        @DisplayName("toIds: 비트맵을 오름차순 취미 ID로 복원")
+        void toIds_RestoresSortedIds() {
+                assertThat(HobbyBitmap.toIds(HobbyBitmap.of(new Integer[] { 130, 1, 64, 1 })))
+                                .containsExactly(1, 64, 130);
+                assertThat(HobbyBitmap.toIds(HobbyBitmap.EMPTY)).isEmpty();
+        }
+
+        @Test
+        @DisplayName("widen: 카탈로그 워드 수로 맞추면 같은 길이끼리 교집합 비교")
+        void widen_SameWidth_Intersects() {
+                int words = HobbyBitmap.wordsFor(130);
+                long[] a = HobbyBitmap.widen(HobbyBitmap.of(new Integer[] { 1 }), words);
+                long[] b = HobbyBitmap.widen(HobbyBitmap.of(new Integer[] { 64, 130 }), words);
+                long[] c = HobbyBitmap.widen(HobbyBitmap.of(new Integer[] { 130 }), words);
+
+                assertThat(words).isEqualTo(3);
+                assertThat(a).hasSize(words);
+                assertThat(HobbyBitmap.widen(b, words)).isSameAs(b);
+                assertThat(HobbyBitmap.intersectsSameWidth(a, b)).isFalse();
+                assertThat(HobbyBitmap.intersectsSameWidth(b, c)).isTrue();
+                assertThat(HobbyBitmap.toIds(HobbyBitmap.widen(b, 1))).isEmpty();
+        }
+}
@@ -0,0 +1,118 @@
+package com.salang.matching_poc.service;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.salang.matching_poc.model.enums.Gender;
+import com.salang.matching_poc.model.enums.MatchPhase;
+import com.salang.matching_poc.model.enums.Region;
+import com.salang.matching_poc.model.enums.Tier;
+
+@DisplayName("MatchCandidateIndex 단위 테스트")
+class MatchCandidateIndexTest {
+
+        private static final LocalDateTime NOW = LocalDateTime.now();
+
+        private long nextQueueId = 1;
+
+        private MatchCandidate candidate(Gender gender, Region region, Integer birthYear, Tier tier,
+                        Integer[] hobbyIds, long waitedSeconds) {
+                return new MatchCandidate(nextQueueId++, UUID.randomUUID(), gender, region, birthYear, tier, HobbyBitmap.of(hobbyIds),
+                                NOW.minusSeconds(waitedSeconds));
+        }
+
+        @Test
+        @DisplayName("Phase1: 공통 취미가 없으면 제외")
+        void findPartner_Phase1_RequiresCommonHobby() {
+                MatchCandidate requester = candidate(Gender.MALE, Region.SEOUL, 1995, Tier.SPROUT, new Integer[] { 1 }, 0);
+                MatchCandidate noHobby = candidate(Gender.FEMALE, Region.SEOUL, 1995, Tier.SPROUT, new Integer[] { 2 }, 10);
+                MatchCandidate commonHobby = candidate(Gender.FEMALE, Region.SEOUL, 1999, Tier.SPROUT,
+                                new Integer[] { 3, 1 }, 5);
+                MatchCandidateIndex index = MatchCandidateIndex.build(List.of(requester, noHobby, commonHobby));
+
+                assertThat(index.findPartner(requester, MatchPhase.PHASE_1)).contains(commonHobby);
+                assertThat(index.findPartner(requester, MatchPhase.PHASE_2)).contains(noHobby);
+        }
+
+        @Test
+        @DisplayName("Phase2: 다른 지역·나이 범위 밖·같은 성별은 제외")
+        void findPartner_Phase2_FiltersRegionAgeGender() {
+                MatchCandidate requester = candidate(Gender.MALE, Region.SEOUL, 1995, Tier.SPROUT, null, 0);
+                MatchCandidate otherRegion = candidate(Gender.FEMALE, Region.BUSAN, 1995, Tier.SPROUT, null, 30);
+                MatchCandidate tooOld = candidate(Gender.FEMALE, Region.SEOUL, 1989, Tier.SPROUT, null, 30);
+                MatchCandidate sameGender = candidate(Gender.MALE, Region.SEOUL, 1995, Tier.SPROUT, null, 30);
+                MatchCandidateIndex index = MatchCandidateIndex.build(
+                                List.of(requester, otherRegion, tooOld, sameGender));
+
+                assertThat(index.findPartner(requester, MatchPhase.PHASE_2)).isEmpty();
+                assertThat(index.findPartner(requester, MatchPhase.PHASE_3)).contains(otherRegion);
+                assertThat(index.findPartner(requester, MatchPhase.PHASE_4).get()).isIn(otherRegion, tooOld);
+                assertThat(index.findPartner(requester, MatchPhase.PHASE_5)).isPresent();
+        }
+
+        @Test
+        @DisplayName("같은 조건이면 가장 오래 기다린 후보 선택")
+        void findPartner_PicksOldest() {
+                MatchCandidate requester = candidate(Gender.MALE, Region.SEOUL, 1995, Tier.SPROUT, null, 0);
+                MatchCandidate newer = candidate(Gender.FEMALE, Region.SEOUL, 1994, Tier.SPROUT, null, 3);
+                MatchCandidate older = candidate(Gender.FEMALE, Region.SEOUL, 1998, Tier.SPROUT, null, 8);
+                MatchCandidateIndex index = MatchCandidateIndex.build(List.of(requester, newer, older));
+
+                assertThat(index.findPartner(requester, MatchPhase.PHASE_2)).contains(older);
+        }
+
+        @Test
+        @DisplayName("제외 등급은 Phase1~4에서 제외, Phase5에서만 허용")
+        void findPartner_ExcludedTier_OnlyPhase5() {
+                MatchCandidate requester = candidate(Gender.MALE, Region.SEOUL, 1995, Tier.SPROUT, null, 0);
+                MatchCandidate fertilizer = candidate(Gender.FEMALE, Region.SEOUL, 1995, Tier.FERTILIZER, null, 5);
+                MatchCandidateIndex index = MatchCandidateIndex.build(List.of(requester, fertilizer));
+
+                assertThat(index.findPartner(requester, MatchPhase.PHASE_4)).isEmpty();
+                assertThat(index.findPartner(requester, MatchPhase.PHASE_5)).contains(fertilizer);
+        }
+
+        @Test
+        @DisplayName("매칭 처리된 후보는 이후 조회에서 제외")
+        void markMatched_ExcludesCandidate() {
+                MatchCandidate requester = candidate(Gender.MALE, Region.SEOUL, 1995, Tier.SPROUT, null, 0);
+                MatchCandidate first = candidate(Gender.FEMALE, Region.SEOUL, 1995, Tier.SPROUT, null, 9);
+                MatchCandidate second = candidate(Gender.FEMALE, Region.SEOUL, 1995, Tier.SPROUT, null, 4);
+                MatchCandidateIndex index = MatchCandidateIndex.build(List.of(requester, first, second));
+
+                index.markMatched(first.userId());
+
+                assertThat(index.isMatched(first.userId())).isTrue();
+                assertThat(index.findPartner(requester, MatchPhase.PHASE_2)).contains(second);
+        }
+
+        @Test
+        @DisplayName("Phase5: 본인은 제외")
+        void findPartner_Phase5_ExcludesSelf() {
+                MatchCandidate requester = candidate(Gender.MALE, null, null, null, null, 40);
+                MatchCandidateIndex index = MatchCandidateIndex.build(List.of(requester));
+
+                assertThat(index.findPartner(requester, MatchPhase.PHASE_5)).isEmpty();
+        }
+
+        @Test
+        @DisplayName("Phase1: 비트맵 길이가 다른 후보·인덱스 밖 요청자도 카탈로그 길이로 맞춰 공통 취미 비교")
+        void findPartner_Phase1_ComparesAtCatalogWidth() {
+                MatchCandidate requester = candidate(Gender.MALE, Region.SEOUL, 1995, Tier.SPROUT, new Integer[] { 130 }, 0);
+                MatchCandidate shortBits = candidate(Gender.FEMALE, Region.SEOUL, 1995, Tier.SPROUT, new Integer[] { 1 }, 20);
+                MatchCandidate longBits = candidate(Gender.FEMALE, Region.SEOUL, 1995, Tier.SPROUT,
+                                new Integer[] { 2, 130 }, 10);
+                MatchCandidate outsider = candidate(Gender.MALE, Region.SEOUL, 1995, Tier.SPROUT,
+                                new Integer[] { 1, 300 }, 0);
+                MatchCandidateIndex index = MatchCandidateIndex.build(List.of(requester, shortBits, longBits),
+                                HobbyBitmap.wordsFor(64));
+
+                assertThat(index.findPartner(requester, MatchPhase.PHASE_1)).contains(longBits);
+                assertThat(index.findPartner(outsider, MatchPhase.PHASE_1)).contains(shortBits);
+        }
+}
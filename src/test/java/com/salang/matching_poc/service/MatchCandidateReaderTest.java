@@ -0,0 +1,95 @@
+package com.salang.matching_poc.service;
+
+import java.util.EnumSet;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.salang.matching_poc.model.entity.MatchQueue;
+import com.salang.matching_poc.model.enums.Gender;
+import com.salang.matching_poc.model.enums.MatchStatus;
+import com.salang.matching_poc.model.enums.Region;
+import com.salang.matching_poc.model.enums.Tier;
+import com.salang.matching_poc.repository.MatchQueueRepository;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@Import(MatchCandidateReader.class)
+@DisplayName("MatchCandidateReader 슬라이스 테스트")
+@SuppressWarnings("null")
+class MatchCandidateReaderTest {
+
+        @Autowired
+        private MatchQueueRepository matchQueueRepository;
+
+        @Autowired
+        private MatchCandidateReader matchCandidateReader;
+
+        private MatchQueue save(Region region, Integer[] hobbyIds, MatchStatus status) {
+                MatchQueue queue = MatchQueue.builder()
+                                .userId(UUID.randomUUID())
+                                .tier(Tier.SPROUT)
+                                .region(region)
+                                .birthYear(1995)
+                                .gender(Gender.MALE)
+                                .hobbyIds(hobbyIds)
+                                .build();
+                queue.setStatus(status);
+                return matchQueueRepository.saveAndFlush(queue);
+        }
+
+        @Test
+        @DisplayName("findWaitingAfter: 워터마크 이후 WAITING 행만 queue_id 순으로 변환")
+        void findWaitingAfter_Success() {
+                MatchQueue old = save(Region.SEOUL, new Integer[] { 1 }, MatchStatus.WAITING);
+                MatchQueue waiting = save(Region.BUSAN, new Integer[] { 2, 70 }, MatchStatus.WAITING);
+                save(Region.SEOUL, new Integer[] { 1 }, MatchStatus.MATCHED);
+
+                List<MatchCandidate> candidates = matchCandidateReader.findWaitingAfter(old.getQueueId(), null);
+
+                assertThat(candidates).hasSize(1);
+                MatchCandidate candidate = candidates.get(0);
+                assertThat(candidate.queueId()).isEqualTo(waiting.getQueueId());
+                assertThat(candidate.userId()).isEqualTo(waiting.getUserId());
+                assertThat(candidate.region()).isEqualTo(Region.BUSAN);
+                assertThat(candidate.gender()).isEqualTo(Gender.MALE);
+                assertThat(candidate.tier()).isEqualTo(Tier.SPROUT);
+                assertThat(candidate.birthYear()).isEqualTo(1995);
+                assertThat(candidate.createdAt()).isNotNull();
+                assertThat(candidate.hobbyBits()).containsExactly(HobbyBitmap.of(new Integer[] { 2, 70 }));
+        }
+
+        @Test
+        @DisplayName("findWaitingAfter: 지역을 지정하면 해당 지역 WAITING 행만 반환")
+        void findWaitingAfter_OwnedRegionsOnly() {
+                MatchQueue seoul = save(Region.SEOUL, null, MatchStatus.WAITING);
+                save(Region.BUSAN, null, MatchStatus.WAITING);
+                save(null, null, MatchStatus.WAITING);
+
+                List<MatchCandidate> candidates = matchCandidateReader.findWaitingAfter(seoul.getQueueId() - 1,
+                                EnumSet.of(Region.SEOUL, Region.JEJU));
+
+                assertThat(candidates).extracting(MatchCandidate::userId).containsExactly(seoul.getUserId());
+        }
+
+        @Test
+        @DisplayName("findWaitingByQueueIds: 지정한 queue_id 중 WAITING 행만 반환")
+        void findWaitingByQueueIds_Success() {
+                MatchQueue waiting = save(Region.SEOUL, null, MatchStatus.WAITING);
+                MatchQueue matched = save(Region.SEOUL, null, MatchStatus.MATCHED);
+
+                List<MatchCandidate> candidates = matchCandidateReader.findWaitingByQueueIds(
+                                List.of(waiting.getQueueId(), matched.getQueueId()));
+
+                assertThat(candidates).extracting(MatchCandidate::userId).containsExactly(waiting.getUserId());
+                assertThat(candidates.get(0).hobbyBits()).isEmpty();
+                assertThat(matchCandidateReader.findWaitingByQueueIds(List.of())).isEmpty();
+        }
+}
@@ -0,0 +1,102 @@
+package com.salang.matching_poc.service;
+
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.salang.matching_poc.controller.dto.MatchRequest;
+import com.salang.matching_poc.controller.dto.MatchResponse;
+import com.salang.matching_poc.exception.AlreadyInQueueException;
+import com.salang.matching_poc.model.enums.Gender;
+import com.salang.matching_poc.model.enums.Region;
+import com.salang.matching_poc.model.enums.Tier;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("MatchInterceptBatcher 단위 테스트")
+class MatchInterceptBatcherTest {
+
+        @Mock
+        private MatchService matchService;
+
+        @Mock
+        private MatchProfileCache matchProfileCache;
+
+        @InjectMocks
+        private MatchInterceptBatcher matchInterceptBatcher;
+
+        private final UUID user1 = UUID.randomUUID();
+        private final UUID user2 = UUID.randomUUID();
+
+        @BeforeEach
+        void setUp() {
+                ReflectionTestUtils.setField(matchInterceptBatcher, "window", Duration.ofMillis(200));
+                ReflectionTestUtils.setField(matchInterceptBatcher, "maxSize", 64);
+                matchInterceptBatcher.start();
+                when(matchProfileCache.get(any())).thenAnswer(invocation -> new MatchProfile(
+                                invocation.getArgument(0), Gender.MALE, Region.SEOUL, 1995, Tier.values()[0],
+                                new long[1]));
+        }
+
+        @AfterEach
+        void tearDown() throws InterruptedException {
+                matchInterceptBatcher.stop();
+        }
+
+        private CompletableFuture<MatchResponse<?>> submit(UUID userId) {
+                return CompletableFuture.supplyAsync(() -> matchInterceptBatcher.requestMatch(new MatchRequest(userId)));
+        }
+
+        @Test
+        @DisplayName("창 안에 도착한 요청은 한 배치로 처리하고 null 응답은 AlreadyInQueueException")
+        void requestMatch_SameWindow_ProcessedAsOneBatch() {
+                MatchResponse<?> matched = MatchResponse.matched(UUID.randomUUID(), OffsetDateTime.now());
+                when(matchService.requestMatches(anyList())).thenAnswer(invocation -> {
+                        List<MatchProfile> profiles = invocation.getArgument(0);
+                        return profiles.stream()
+                                        .map(profile -> profile.userId().equals(user1) ? matched : null)
+                                        .toList();
+                });
+
+                CompletableFuture<MatchResponse<?>> first = submit(user1);
+                CompletableFuture<MatchResponse<?>> second = submit(user2);
+
+                assertThat(first.join()).isSameAs(matched);
+                assertThatThrownBy(second::join).hasCauseInstanceOf(AlreadyInQueueException.class);
+                verify(matchService, times(1)).requestMatches(anyList());
+        }
+
+        @Test
+        @DisplayName("배치 처리가 실패하면 요청별 단건 처리로 재시도")
+        void requestMatch_BatchFailed_FallsBackToSingleRequests() {
+                MatchResponse<?> waiting = MatchResponse.waiting("waiting", OffsetDateTime.now());
+                when(matchService.requestMatches(anyList())).thenThrow(new IllegalStateException("duplicate key"));
+                when(matchService.requestMatch(any())).thenAnswer(invocation -> waiting);
+
+                CompletableFuture<MatchResponse<?>> first = submit(user1);
+                CompletableFuture<MatchResponse<?>> second = submit(user2);
+
+                assertThat(first.join()).isSameAs(waiting);
+                assertThat(second.join()).isSameAs(waiting);
+                verify(matchService).requestMatch(new MatchRequest(user1));
+                verify(matchService).requestMatch(new MatchRequest(user2));
+        }
+}
@@ -0,0 +1,53 @@
+package com.salang.matching_poc.service;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("MatchPresenceTracker 단위 테스트")
+class MatchPresenceTrackerTest {
+
+        private final MatchPresenceTracker tracker = new MatchPresenceTracker();
+
+        @Test
+        @DisplayName("drain: 사용자별 마지막 heartbeat만 꺼내고 비움")
+        void drain_ReturnsLatestPerUserAndClears() throws InterruptedException {
+                UUID user1 = UUID.randomUUID();
+                UUID user2 = UUID.randomUUID();
+
+                tracker.heartbeat(user1);
+                LocalDateTime first = tracker.drain().get(user1);
+                Thread.sleep(2);
+                tracker.heartbeat(user1);
+                tracker.heartbeat(user2);
+
+                Map<UUID, LocalDateTime> drained = tracker.drain();
+
+                assertThat(drained).containsOnlyKeys(user1, user2);
+                assertThat(drained.get(user1)).isAfter(first);
+                assertThat(tracker.pendingCount()).isZero();
+                assertThat(tracker.drain()).isEmpty();
+        }
+
+        @Test
+        @DisplayName("restore: 되돌린 heartbeat는 다음 drain에 포함, 그사이 들어온 더 최근 값은 유지")
+        void restore_MergesKeepingLatest() throws InterruptedException {
+                UUID restoredOnly = UUID.randomUUID();
+                UUID refreshed = UUID.randomUUID();
+                tracker.heartbeat(restoredOnly);
+                tracker.heartbeat(refreshed);
+                Map<UUID, LocalDateTime> drained = tracker.drain();
+                Thread.sleep(2);
+                tracker.heartbeat(refreshed);
+
+                tracker.restore(drained);
+
+                Map<UUID, LocalDateTime> redrained = tracker.drain();
+                assertThat(redrained.get(restoredOnly)).isEqualTo(drained.get(restoredOnly));
+                assertThat(redrained.get(refreshed)).isAfter(drained.get(refreshed));
+        }
+}
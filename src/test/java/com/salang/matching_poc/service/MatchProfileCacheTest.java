@@ -0,0 +1,211 @@
+package com.salang.matching_poc.service;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.salang.matching_poc.exception.UserNotFoundException;
+import com.salang.matching_poc.model.enums.Gender;
+import com.salang.matching_poc.model.enums.Region;
+import com.salang.matching_poc.model.enums.Tier;
+import com.salang.matching_poc.repository.UserRepository;
+import com.salang.matching_poc.repository.projection.MatchProfileRowView;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("MatchProfileCache 단위 테스트")
+@SuppressWarnings("null")
+class MatchProfileCacheTest {
+
+        @Mock
+        private UserRepository userRepository;
+
+        private MatchProfileCache matchProfileCache;
+
+        @BeforeEach
+        void setUp() {
+                matchProfileCache = new MatchProfileCache(userRepository, 2, Duration.ofMinutes(10));
+        }
+
+        /* 취미 3, 1을 가진 사용자: 프로필 조회 결과 2행 */
+        private UUID givenUser() {
+                UUID userId = UUID.randomUUID();
+                when(userRepository.findMatchProfileRows(List.of(userId)))
+                                .thenReturn(List.of(row(userId, 3), row(userId, 1)));
+                return userId;
+        }
+
+        /* 무효화 버전 슬롯이 다른 사용자. 같은 슬롯이면 다시 생성 */
+        private static UUID otherSlotUser(UUID userId) {
+                UUID other = UUID.randomUUID();
+                while (MatchProfileCache.slot(other) == MatchProfileCache.slot(userId)) {
+                        other = UUID.randomUUID();
+                }
+                return other;
+        }
+
+        private static MatchProfileRowView row(UUID userId, Integer hobbyId) {
+                return new MatchProfileRowView() {
+                        @Override
+                        public UUID getUserId() {
+                                return userId;
+                        }
+
+                        @Override
+                        public Gender getGender() {
+                                return Gender.MALE;
+                        }
+
+                        @Override
+                        public Region getRegion() {
+                                return Region.SEOUL;
+                        }
+
+                        @Override
+                        public LocalDate getBirthDate() {
+                                return LocalDate.of(1995, 1, 1);
+                        }
+
+                        @Override
+                        public Tier getTier() {
+                                return Tier.SPROUT;
+                        }
+
+                        @Override
+                        public Integer getHobbyId() {
+                                return hobbyId;
+                        }
+                };
+        }
+
+        @Test
+        @DisplayName("미적중 시 조회 1회로 적재하고, 적중 시 조회 없음")
+        void get_Hit_NoQuery() {
+                UUID userId = givenUser();
+
+                MatchProfile first = matchProfileCache.get(userId);
+                MatchProfile second = matchProfileCache.get(userId);
+
+                assertThat(second).isSameAs(first);
+                assertThat(first.birthYear()).isEqualTo(1995);
+                assertThat(first.hobbyIds()).containsExactly(1, 3);
+                verify(userRepository, times(1)).findMatchProfileRows(List.of(userId));
+        }
+
+        @Test
+        @DisplayName("취미가 없는 사용자는 빈 취미로 적재")
+        void get_NoHobbies_EmptyBitmap() {
+                UUID userId = UUID.randomUUID();
+                when(userRepository.findMatchProfileRows(List.of(userId))).thenReturn(List.of(row(userId, null)));
+
+                assertThat(matchProfileCache.get(userId).hobbyIds()).isEmpty();
+        }
+
+        @Test
+        @DisplayName("evict 후에는 다시 적재")
+        void evict_ReloadsProfile() {
+                UUID userId = givenUser();
+                matchProfileCache.get(userId);
+
+                matchProfileCache.evict(userId);
+                matchProfileCache.get(userId);
+
+                verify(userRepository, times(2)).findMatchProfileRows(List.of(userId));
+        }
+
+        @Test
+        @DisplayName("최대 크기를 넘으면 항목을 제거해 크기 상한 유지")
+        void get_OverMaxSize_BoundsSize() {
+                UUID first = givenUser();
+                UUID second = givenUser();
+                UUID third = givenUser();
+
+                matchProfileCache.get(first);
+                matchProfileCache.get(second);
+                matchProfileCache.get(third);
+
+                assertThat(matchProfileCache.size()).isEqualTo(2);
+        }
+
+        @Test
+        @DisplayName("조회 중 같은 사용자가 evict되면 조회 결과를 저장하지 않음")
+        void get_EvictedWhileLoading_NotCached() {
+                UUID userId = UUID.randomUUID();
+                when(userRepository.findMatchProfileRows(List.of(userId))).thenAnswer(invocation -> {
+                        matchProfileCache.evict(userId);
+                        return List.of(row(userId, 1));
+                });
+
+                matchProfileCache.get(userId);
+
+                assertThat(matchProfileCache.size()).isZero();
+        }
+
+        @Test
+        @DisplayName("조회 중 다른 사용자의 evict는 조회 결과 저장에 영향 없음")
+        void get_OtherUserEvictedWhileLoading_Cached() {
+                UUID userId = UUID.randomUUID();
+                when(userRepository.findMatchProfileRows(List.of(userId))).thenAnswer(invocation -> {
+                        matchProfileCache.evict(otherSlotUser(userId));
+                        return List.of(row(userId, 1));
+                });
+
+                matchProfileCache.get(userId);
+                matchProfileCache.get(userId);
+
+                verify(userRepository, times(1)).findMatchProfileRows(List.of(userId));
+        }
+
+        @Test
+        @DisplayName("TTL이 지나면 다시 적재")
+        void get_Expired_Reloads() {
+                matchProfileCache = new MatchProfileCache(userRepository, 2, Duration.ZERO);
+                UUID userId = givenUser();
+
+                matchProfileCache.get(userId);
+                matchProfileCache.get(userId);
+
+                verify(userRepository, times(2)).findMatchProfileRows(List.of(userId));
+        }
+
+        @Test
+        @DisplayName("사용자가 없으면 UserNotFoundException, 캐시에 저장하지 않음")
+        void get_UserNotFound_Throws() {
+                UUID userId = UUID.randomUUID();
+                when(userRepository.findMatchProfileRows(List.of(userId))).thenReturn(List.of());
+
+                assertThatThrownBy(() -> matchProfileCache.get(userId)).isInstanceOf(UserNotFoundException.class);
+                assertThat(matchProfileCache.size()).isZero();
+        }
+
+        @Test
+        @DisplayName("getAll: 적중한 사용자는 조회 없이, 나머지는 IN 조회 1회로 적재. 없는 사용자는 제외")
+        void getAll_LoadsMissesInBulk() {
+                UUID cached = givenUser();
+                matchProfileCache.get(cached);
+                UUID miss = UUID.randomUUID();
+                UUID unknown = UUID.randomUUID();
+                when(userRepository.findMatchProfileRows(List.of(miss, unknown)))
+                                .thenReturn(List.of(row(miss, 7), row(miss, 2)));
+
+                Map<UUID, MatchProfile> profiles = matchProfileCache.getAll(List.of(cached, miss, unknown));
+
+                assertThat(profiles).containsOnlyKeys(cached, miss);
+                assertThat(profiles.get(miss).hobbyIds()).containsExactly(2, 7);
+                assertThat(matchProfileCache.get(miss)).isSameAs(profiles.get(miss));
+                verify(userRepository, times(1)).findMatchProfileRows(List.of(cached));
+        }
+}
@@ -1,16 +1,24 @@
 package com.salang.matching_poc.service;
 
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
-import java.util.Set;
 import java.util.UUID;
 import java.util.stream.Collectors;
 
 import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Component;
 
+import static com.salang.matching_poc.constants.MatchingConstants.AGE_TOLERANCE_YEARS;
 import com.salang.matching_poc.model.entity.MatchQueue;
+import com.salang.matching_poc.model.enums.MatchPhase;
 import com.salang.matching_poc.model.enums.MatchStatus;
 import com.salang.matching_poc.repository.MatchQueueRepository;
 
@@ -19,9 +27,11 @@ import com.salang.matching_poc.repository.MatchQueueRepository;
 public class MatchQueueMatchFinderH2 implements MatchQueueMatchFinder {
 
         private final MatchQueueRepository matchQueueRepository;
+        private final JdbcTemplate jdbcTemplate;
 
-        public MatchQueueMatchFinderH2(MatchQueueRepository matchQueueRepository) {
+        public MatchQueueMatchFinderH2(MatchQueueRepository matchQueueRepository, JdbcTemplate jdbcTemplate) {
                 this.matchQueueRepository = matchQueueRepository;
+                this.jdbcTemplate = jdbcTemplate;
         }
 
         @Override
@@ -35,9 +45,7 @@ public class MatchQueueMatchFinderH2 implements MatchQueueMatchFinder {
                         String excludedTier,
                         String status) {
                 List<MatchQueue> candidates = matchQueueRepository.findByStatus(MatchStatus.valueOf(status));
-                Set<Integer> requesterHobbySet = hobbyIds != null
-                                ? Arrays.stream(hobbyIds).collect(Collectors.toSet())
-                                : Set.of();
+                long[] requesterHobbyBits = HobbyBitmap.of(hobbyIds);
 
                 return candidates.stream()
                                 .filter(mq -> !mq.getUserId().equals(userId))
@@ -47,11 +55,44 @@ public class MatchQueueMatchFinderH2 implements MatchQueueMatchFinder {
                                 .filter(mq -> mq.getBirthYear() != null
                                                 && mq.getBirthYear() >= birthYearMin
                                                 && mq.getBirthYear() <= birthYearMax)
-                                .filter(mq -> hasHobbyIntersection(mq.getHobbyIds(), requesterHobbySet))
+                                .filter(mq -> HobbyBitmap.intersects(HobbyBitmap.of(mq.getHobbyIds()), requesterHobbyBits))
                                 .sorted((a, b) -> a.getCreatedAt().compareTo(b.getCreatedAt()))
                                 .findFirst();
         }
 
+        // H2는 데이터 변경 CTE 미지원 → 등록 확인·선점·룸 INSERT를 순서대로 실행 (같은 트랜잭션이므로 결과는 동일)
+        @Override
+        public MatchIntercept interceptPhase1Match(
+                        UUID userId,
+                        String gender,
+                        String region,
+                        Integer birthYearMin,
+                        Integer birthYearMax,
+                        Integer[] hobbyIds,
+                        UUID roomId,
+                        String excludedTier,
+                        String status) {
+                if (matchQueueRepository.findByUserId(userId).isPresent()) {
+                        return MatchIntercept.QUEUED;
+                }
+                Optional<MatchQueue> partner = findPhase1Match(userId, gender, region, birthYearMin, birthYearMax,
+                                hobbyIds, excludedTier, status);
+                if (partner.isEmpty()) {
+                        return MatchIntercept.NO_PARTNER;
+                }
+                MatchQueue claimed = partner.get();
+                claimed.setStatus(MatchStatus.MATCHED);
+                // JDBC INSERT 전에 영속성 컨텍스트의 사용자·대기열 변경을 반영
+                matchQueueRepository.saveAndFlush(claimed);
+                Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+                jdbcTemplate.update(
+                                "insert into rooms (room_id, user1_id, user2_id, created_at, updated_at) values (?, ?, ?, ?, ?)",
+                                roomId, userId, claimed.getUserId(), now, now);
+                return MatchIntercept.matched(new MatchCandidate(claimed.getQueueId(), claimed.getUserId(),
+                                claimed.getGender(), claimed.getRegion(), claimed.getBirthYear(), claimed.getTier(),
+                                HobbyBitmap.of(claimed.getHobbyIds()), claimed.getCreatedAt()));
+        }
+
         @Override
         public Optional<MatchQueue> findPhase2Match(
                         UUID userId,
@@ -122,11 +163,65 @@ public class MatchQueueMatchFinderH2 implements MatchQueueMatchFinder {
                                 .findFirst();
         }
 
-        private boolean hasHobbyIntersection(Integer[] partnerHobbies, Set<Integer> requesterHobbySet) {
-                if (partnerHobbies == null || partnerHobbies.length == 0) {
-                        return false;
+        /* Postgres 윈도 함수 쿼리와 같은 버킷·순위 규칙을 메모리에서 재현 */
+        @Override
+        public List<MatchPair> findPhasePairs(
+                        MatchPhase phase,
+                        LocalDateTime queuedBefore,
+                        String excludedTier,
+                        String status) {
+                List<MatchQueue> candidates = matchQueueRepository.findByStatus(MatchStatus.valueOf(status)).stream()
+                                .filter(mq -> !mq.getCreatedAt().isAfter(queuedBefore))
+                                .sorted(Comparator.comparing(MatchQueue::getCreatedAt))
+                                .toList();
+                List<MatchPair> pairs = new ArrayList<>();
+
+                if (phase == MatchPhase.PHASE_5) {
+                        for (int i = 0; i + 1 < candidates.size(); i += 2) {
+                                pairs.add(new MatchPair(candidates.get(i).getUserId(), candidates.get(i + 1).getUserId()));
+                        }
+                        return pairs;
                 }
-                return Arrays.stream(partnerHobbies)
-                                .anyMatch(requesterHobbySet::contains);
+
+                Map<List<Object>, List<MatchQueue>> buckets = candidates.stream()
+                                .filter(mq -> mq.getGender() != null && mq.getTier() != null
+                                                && !mq.getTier().name().equals(excludedTier))
+                                .filter(mq -> hasBucketKey(phase, mq))
+                                .collect(Collectors.groupingBy(mq -> bucketKey(phase, mq), LinkedHashMap::new,
+                                                Collectors.toList()));
+                for (List<MatchQueue> bucket : buckets.values()) {
+                        Map<String, List<MatchQueue>> byGender = bucket.stream()
+                                        .collect(Collectors.groupingBy(mq -> mq.getGender().name()));
+                        List<String> genders = byGender.keySet().stream().sorted().toList();
+                        if (genders.size() < 2) {
+                                continue;
+                        }
+                        List<MatchQueue> first = byGender.get(genders.get(0));
+                        List<MatchQueue> second = byGender.get(genders.get(1));
+                        for (int i = 0; i < Math.min(first.size(), second.size()); i++) {
+                                pairs.add(new MatchPair(first.get(i).getUserId(), second.get(i).getUserId()));
+                        }
+                }
+                return pairs;
+        }
+
+        private boolean hasBucketKey(MatchPhase phase, MatchQueue mq) {
+                return switch (phase) {
+                        case PHASE_1 -> mq.getRegion() != null && mq.getBirthYear() != null
+                                        && mq.getHobbyIds() != null && mq.getHobbyIds().length > 0;
+                        case PHASE_2 -> mq.getRegion() != null && mq.getBirthYear() != null;
+                        case PHASE_3 -> mq.getBirthYear() != null;
+                        default -> true;
+                };
+        }
+
+        private List<Object> bucketKey(MatchPhase phase, MatchQueue mq) {
+                return switch (phase) {
+                        case PHASE_1 -> Arrays.asList(mq.getRegion(), mq.getBirthYear() / AGE_TOLERANCE_YEARS,
+                                        mq.getHobbyIds()[0]);
+                        case PHASE_2 -> Arrays.asList(mq.getRegion(), mq.getBirthYear() / AGE_TOLERANCE_YEARS);
+                        case PHASE_3 -> Arrays.asList(mq.getBirthYear() / AGE_TOLERANCE_YEARS);
+                        default -> List.of();
+                };
         }
 }
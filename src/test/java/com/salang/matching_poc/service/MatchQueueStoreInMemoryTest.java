@@ -0,0 +1,239 @@
+package com.salang.matching_poc.service;
+
+import java.time.LocalDateTime;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.salang.matching_poc.model.enums.Gender;
+import com.salang.matching_poc.model.enums.Region;
+import com.salang.matching_poc.model.enums.Tier;
+import com.salang.matching_poc.service.MatchQueueStore.CancelResult;
+
+@DisplayName("MatchQueueStoreInMemory 단위 테스트")
+class MatchQueueStoreInMemoryTest {
+
+        private final MatchQueueWriter matchQueueWriter = mock(MatchQueueWriter.class);
+        private final MatchQueueStoreInMemory store = new MatchQueueStoreInMemory(matchQueueWriter);
+
+        @AfterEach
+        void clearSynchronization() {
+                if (TransactionSynchronizationManager.isSynchronizationActive()) {
+                        TransactionSynchronizationManager.clearSynchronization();
+                }
+        }
+
+        private MatchProfile profile(Gender gender, Region region, int birthYear, Tier tier, Integer... hobbyIds) {
+                return new MatchProfile(UUID.randomUUID(), gender, region, birthYear, tier, HobbyBitmap.of(hobbyIds));
+        }
+
+        private MatchProfile male() {
+                return profile(Gender.MALE, Region.SEOUL, 1995, Tier.SPROUT, 1);
+        }
+
+        private MatchProfile female() {
+                return profile(Gender.FEMALE, Region.SEOUL, 1996, Tier.SPROUT, 1);
+        }
+
+        /* 트랜잭션 흉내: 동기화 등록 후 커밋·롤백 콜백 직접 호출 */
+        private void completeTransaction(boolean commit) {
+                List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+                TransactionSynchronizationManager.clearSynchronization();
+                if (commit) {
+                        synchronizations.forEach(TransactionSynchronization::afterCommit);
+                }
+                int status = commit ? TransactionSynchronization.STATUS_COMMITTED
+                                : TransactionSynchronization.STATUS_ROLLED_BACK;
+                synchronizations.forEach(synchronization -> synchronization.afterCompletion(status));
+        }
+
+        @Test
+        @DisplayName("enqueue: 트랜잭션 밖에서는 즉시 WAITING, 같은 사용자 재등록은 false")
+        void enqueue_WaitingImmediatelyAndRejectsDuplicate() {
+                MatchProfile requester = male();
+
+                assertThat(store.enqueue(requester)).isTrue();
+
+                assertThat(store.contains(requester.userId())).isTrue();
+                assertThat(store.findWaiting(requester.userId())).isPresent();
+                assertThat(store.enqueue(requester)).isFalse();
+        }
+
+        @Test
+        @DisplayName("enqueue: 트랜잭션 안에서는 커밋 후에 매칭 대상으로 공개, 롤백 시 제거")
+        void enqueue_InTransaction_VisibleAfterCommit() {
+                MatchProfile committed = male();
+                MatchProfile rolledBack = male();
+
+                TransactionSynchronizationManager.initSynchronization();
+                store.enqueue(committed);
+                assertThat(store.contains(committed.userId())).isTrue();
+                assertThat(store.findWaiting(committed.userId())).isEmpty();
+                completeTransaction(true);
+
+                TransactionSynchronizationManager.initSynchronization();
+                store.enqueue(rolledBack);
+                completeTransaction(false);
+
+                assertThat(store.findWaiting(committed.userId())).isPresent();
+                assertThat(store.contains(rolledBack.userId())).isFalse();
+        }
+
+        @Test
+        @DisplayName("claimPhase1Partner: 조건에 맞는 가장 오래된 대기자를 선점하고 대기열에서 제거")
+        void claimPhase1Partner_ClaimsOldestEligible() {
+                MatchProfile sameGender = male();
+                MatchProfile otherRegion = profile(Gender.FEMALE, Region.BUSAN, 1996, Tier.SPROUT, 1);
+                MatchProfile excludedTier = profile(Gender.FEMALE, Region.SEOUL, 1996, Tier.FERTILIZER, 1);
+                MatchProfile noCommonHobby = profile(Gender.FEMALE, Region.SEOUL, 1996, Tier.SPROUT, 2);
+                MatchProfile oldest = female();
+                MatchProfile newer = female();
+                List.of(sameGender, otherRegion, excludedTier, noCommonHobby, oldest, newer).forEach(store::enqueue);
+
+                assertThat(store.claimPhase1Partner(male()).map(MatchCandidate::userId)).contains(oldest.userId());
+                assertThat(store.contains(oldest.userId())).isFalse();
+                assertThat(store.claimPhase1Partner(male()).map(MatchCandidate::userId)).contains(newer.userId());
+                assertThat(store.claimPhase1Partner(male())).isEmpty();
+        }
+
+        @Test
+        @DisplayName("interceptPhase1: 파트너를 선점하고 전달받은 룸 ID로 룸 저장")
+        void interceptPhase1_ClaimsPartnerAndInsertsRoom() {
+                MatchProfile partner = female();
+                MatchProfile requester = male();
+                store.enqueue(partner);
+                UUID roomId = UUID.randomUUID();
+
+                MatchIntercept intercept = store.interceptPhase1(requester, roomId);
+
+                assertThat(intercept.isMatched()).isTrue();
+                assertThat(intercept.partner().userId()).isEqualTo(partner.userId());
+                assertThat(store.contains(partner.userId())).isFalse();
+                verify(matchQueueWriter).insertRooms(List.of(
+                                new MatchConfirmation(new MatchPair(requester.userId(), partner.userId()), roomId)));
+        }
+
+        @Test
+        @DisplayName("interceptPhase1: 요청자가 이미 대기열에 있으면 선점하지 않음")
+        void interceptPhase1_RequesterQueued_ClaimsNothing() {
+                MatchProfile partner = female();
+                MatchProfile requester = male();
+                List.of(partner, requester).forEach(store::enqueue);
+
+                assertThat(store.interceptPhase1(requester, UUID.randomUUID())).isEqualTo(MatchIntercept.QUEUED);
+                assertThat(store.findWaiting(partner.userId())).isPresent();
+                verifyNoInteractions(matchQueueWriter);
+        }
+
+        @Test
+        @DisplayName("claimPhase1Partner: 트랜잭션 롤백 시 선점 취소되어 다시 WAITING")
+        void claimPhase1Partner_RollbackRestoresWaiting() {
+                MatchProfile partner = female();
+                store.enqueue(partner);
+
+                TransactionSynchronizationManager.initSynchronization();
+                assertThat(store.claimPhase1Partner(male()).map(MatchCandidate::userId)).contains(partner.userId());
+                assertThat(store.findWaiting(partner.userId())).isEmpty();
+                completeTransaction(false);
+
+                assertThat(store.findWaiting(partner.userId())).isPresent();
+        }
+
+        @Test
+        @DisplayName("markMatched: 이미 선점된 사용자가 포함된 쌍은 건너뛰고 상대는 WAITING 유지")
+        void markMatched_SkipsConflictingPairs() {
+                MatchProfile user1 = male();
+                MatchProfile user2 = female();
+                MatchProfile user3 = female();
+                List.of(user1, user2, user3).forEach(store::enqueue);
+
+                List<MatchPair> matched = store.markMatched(List.of(
+                                new MatchPair(user1.userId(), user2.userId()),
+                                new MatchPair(user3.userId(), user1.userId())));
+
+                assertThat(matched).containsExactly(new MatchPair(user1.userId(), user2.userId()));
+                assertThat(store.findWaiting(user3.userId())).isPresent();
+                assertThat(store.size()).isEqualTo(1);
+        }
+
+        @Test
+        @DisplayName("cancel: WAITING이면 취소, 매칭 확정 전(선점 중)이면 ALREADY_MATCHED, 없으면 NOT_IN_QUEUE")
+        void cancel_ReturnsResultByState() {
+                MatchProfile waiting = male();
+                MatchProfile claimed = female();
+                List.of(waiting, claimed).forEach(store::enqueue);
+
+                TransactionSynchronizationManager.initSynchronization();
+                store.claimPhase1Partner(male());
+
+                assertThat(store.cancel(claimed.userId())).isEqualTo(CancelResult.ALREADY_MATCHED);
+                assertThat(store.cancel(waiting.userId())).isEqualTo(CancelResult.CANCELLED);
+                assertThat(store.cancel(UUID.randomUUID())).isEqualTo(CancelResult.NOT_IN_QUEUE);
+                completeTransaction(true);
+
+                assertThat(store.size()).isZero();
+        }
+
+        @Test
+        @DisplayName("digest·재적재 조회: WAITING 항목만 queue_id 순으로")
+        void digestAndReload_OnlyWaiting() {
+                MatchProfile first = male();
+                MatchProfile second = female();
+                MatchProfile third = male();
+                List.of(first, second, third).forEach(store::enqueue);
+                long firstId = store.findWaiting(first.userId()).orElseThrow().queueId();
+                long thirdId = store.findWaiting(third.userId()).orElseThrow().queueId();
+                store.claimPhase1Partner(male());
+
+                assertThat(store.digestWaitingUpTo(thirdId, null).getCount()).isEqualTo(2);
+                assertThat(store.digestWaitingUpTo(thirdId, null).getQueueIdSum()).isEqualTo(firstId + thirdId);
+                assertThat(store.findWaitingQueueIdsUpTo(thirdId, null)).containsExactly(firstId, thirdId);
+                assertThat(store.findWaitingAfter(firstId, null)).extracting(MatchCandidate::userId)
+                                .containsExactly(third.userId());
+                assertThat(store.findWaitingByQueueIds(List.of(thirdId, firstId))).hasSize(2);
+        }
+
+        @Test
+        @DisplayName("digest·재적재 조회: 지역을 지정하면 해당 지역 WAITING 항목만")
+        void digestAndReload_OwnedRegionsOnly() {
+                MatchProfile seoul = male();
+                MatchProfile busan = profile(Gender.MALE, Region.BUSAN, 1995, Tier.SPROUT, 1);
+                List.of(seoul, busan).forEach(store::enqueue);
+                long seoulId = store.findWaiting(seoul.userId()).orElseThrow().queueId();
+                long busanId = store.findWaiting(busan.userId()).orElseThrow().queueId();
+                Set<Region> regions = EnumSet.of(Region.SEOUL);
+
+                assertThat(store.digestWaitingUpTo(busanId, regions).getCount()).isEqualTo(1);
+                assertThat(store.digestWaitingUpTo(busanId, regions).getQueueIdSum()).isEqualTo(seoulId);
+                assertThat(store.findWaitingQueueIdsUpTo(busanId, regions)).containsExactly(seoulId);
+                assertThat(store.findWaitingAfter(0, regions)).extracting(MatchCandidate::userId)
+                                .containsExactly(seoul.userId());
+                assertThat(store.findWaitingAfter(0, EnumSet.noneOf(Region.class))).isEmpty();
+        }
+
+        @Test
+        @DisplayName("deleteExpired: heartbeat가 cutoff 이전인 대기자만 삭제")
+        void deleteExpired_RemovesStaleOnly() {
+                MatchProfile stale = male();
+                MatchProfile alive = female();
+                List.of(stale, alive).forEach(store::enqueue);
+                LocalDateTime cutoff = LocalDateTime.now().plusSeconds(1);
+                store.touchLastSeen(Map.of(alive.userId(), cutoff.plusSeconds(1)));
+
+                assertThat(store.deleteExpired(cutoff, 10)).containsExactly(stale.userId());
+                assertThat(store.contains(stale.userId())).isFalse();
+                assertThat(store.contains(alive.userId())).isTrue();
+        }
+}
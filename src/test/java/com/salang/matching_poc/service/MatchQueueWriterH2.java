@@ -0,0 +1,213 @@
+package com.salang.matching_poc.service;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import static com.salang.matching_poc.constants.MatchingConstants.AGE_TOLERANCE_YEARS;
+import static com.salang.matching_poc.constants.MatchingConstants.EXCLUDED_TIER;
+import static com.salang.matching_poc.constants.MatchingConstants.WAITING_STATUS;
+import com.salang.matching_poc.model.entity.MatchQueue;
+import com.salang.matching_poc.model.enums.MatchStatus;
+import com.salang.matching_poc.repository.MatchQueueRepository;
+
+@Component
+@Profile("test")
+public class MatchQueueWriterH2 implements MatchQueueWriter {
+
+        private final MatchQueueRepository matchQueueRepository;
+        private final MatchQueueMatchFinder matchQueueMatchFinder;
+        private final JdbcTemplate jdbcTemplate;
+        private final String leaseOwner = UUID.randomUUID().toString();
+
+        public MatchQueueWriterH2(MatchQueueRepository matchQueueRepository, MatchQueueMatchFinder matchQueueMatchFinder,
+                        JdbcTemplate jdbcTemplate) {
+                this.matchQueueRepository = matchQueueRepository;
+                this.matchQueueMatchFinder = matchQueueMatchFinder;
+                this.jdbcTemplate = jdbcTemplate;
+        }
+
+        // H2는 ON CONFLICT 미지원 → 같은 트랜잭션에서 존재 확인 후 INSERT (테스트는 동시 요청 없음)
+        @Override
+        public boolean insertWaiting(MatchProfile profile, LocalDateTime createdAt) {
+                if (matchQueueRepository.findByUserId(profile.userId()).isPresent()) {
+                        return false;
+                }
+                matchQueueRepository.saveAndFlush(MatchQueue.builder()
+                                .userId(profile.userId())
+                                .hobbyIds(profile.hobbyIds())
+                                .tier(profile.tier())
+                                .region(profile.region())
+                                .birthYear(profile.birthYear())
+                                .gender(profile.gender())
+                                .build());
+                return true;
+        }
+
+        @Override
+        public List<UUID> insertWaitingAll(List<MatchProfile> profiles, LocalDateTime createdAt) {
+                List<UUID> inserted = new ArrayList<>();
+                for (MatchProfile profile : profiles) {
+                        if (insertWaiting(profile, createdAt)) {
+                                inserted.add(profile.userId());
+                        }
+                }
+                return inserted;
+        }
+
+        // 영속성 컨텍스트의 미반영 등록과 함께 동작하도록 JPA로 조회 후 삭제 (테스트는 동시 요청 없음)
+        @Override
+        public MatchQueueStore.CancelResult deleteWaiting(UUID userId) {
+                Optional<MatchQueue> queue = matchQueueRepository.findByUserId(userId);
+                if (queue.isEmpty()) {
+                        return MatchQueueStore.CancelResult.NOT_IN_QUEUE;
+                }
+                if (queue.get().getStatus() != MatchStatus.WAITING) {
+                        return MatchQueueStore.CancelResult.ALREADY_MATCHED;
+                }
+                matchQueueRepository.delete(queue.get());
+                return MatchQueueStore.CancelResult.CANCELLED;
+        }
+
+        // H2는 unnest 조인 UPDATE ... RETURNING 미지원 → 쌍별로 두 사용자 WAITING·lease 확인 후 JPA로 전환
+        @Override
+        public List<MatchPair> markMatched(List<MatchPair> pairs) {
+                List<MatchPair> matched = new ArrayList<>();
+                LocalDateTime now = LocalDateTime.now();
+                for (MatchPair pair : pairs) {
+                        Optional<MatchQueue> user1 = claimable(pair.user1Id(), now);
+                        Optional<MatchQueue> user2 = claimable(pair.user2Id(), now);
+                        if (user1.isPresent() && user2.isPresent()) {
+                                for (MatchQueue queue : List.of(user1.get(), user2.get())) {
+                                        queue.setStatus(MatchStatus.MATCHED);
+                                        queue.setClaimedBy(null);
+                                        queue.setLeaseUntil(null);
+                                        matchQueueRepository.saveAndFlush(queue);
+                                }
+                                matched.add(pair);
+                        }
+                }
+                return matched;
+        }
+
+        // H2는 데이터 변경 CTE 미지원 → 요청자 확인·파트너 조회 후 두 행에 lease 기록 (테스트는 동시 요청 없음)
+        @Override
+        public Optional<MatchCandidate> leasePhase1Partner(MatchProfile requester, Duration lease) {
+                LocalDateTime now = LocalDateTime.now();
+                Optional<MatchQueue> requesterQueue = matchQueueRepository.findByUserId(requester.userId())
+                                .filter(queue -> queue.getStatus() == MatchStatus.WAITING && !isLeased(queue, now));
+                if (requesterQueue.isEmpty()) {
+                        return Optional.empty();
+                }
+                int birthYear = requester.birthYear();
+                Optional<MatchQueue> partner = matchQueueMatchFinder.findPhase1Match(requester.userId(),
+                                requester.gender().name(), requester.region().name(),
+                                birthYear - AGE_TOLERANCE_YEARS, birthYear + AGE_TOLERANCE_YEARS,
+                                requester.hobbyIds(), EXCLUDED_TIER, WAITING_STATUS)
+                                .filter(queue -> !isLeased(queue, now));
+                if (partner.isEmpty()) {
+                        return Optional.empty();
+                }
+                for (MatchQueue queue : List.of(requesterQueue.get(), partner.get())) {
+                        queue.setClaimedBy(leaseOwner);
+                        queue.setLeaseUntil(now.plus(lease));
+                        matchQueueRepository.saveAndFlush(queue);
+                }
+                MatchQueue leased = partner.get();
+                return Optional.of(new MatchCandidate(leased.getQueueId(), leased.getUserId(), leased.getGender(),
+                                leased.getRegion(), leased.getBirthYear(), leased.getTier(),
+                                HobbyBitmap.of(leased.getHobbyIds()), leased.getCreatedAt()));
+        }
+
+        @Override
+        public List<MatchPair> leasePairs(List<MatchPair> pairs, Duration lease) {
+                List<MatchPair> leased = new ArrayList<>();
+                LocalDateTime now = LocalDateTime.now();
+                for (MatchPair pair : pairs) {
+                        Optional<MatchQueue> user1 = claimable(pair.user1Id(), now);
+                        Optional<MatchQueue> user2 = claimable(pair.user2Id(), now);
+                        if (user1.isPresent() && user2.isPresent()) {
+                                for (MatchQueue queue : List.of(user1.get(), user2.get())) {
+                                        queue.setClaimedBy(leaseOwner);
+                                        queue.setLeaseUntil(now.plus(lease));
+                                        matchQueueRepository.saveAndFlush(queue);
+                                }
+                                leased.add(pair);
+                        }
+                }
+                return leased;
+        }
+
+        @Override
+        public void releaseLeases(Collection<UUID> userIds) {
+                for (UUID userId : userIds) {
+                        matchQueueRepository.findByUserId(userId)
+                                        .filter(queue -> leaseOwner.equals(queue.getClaimedBy()))
+                                        .ifPresent(queue -> {
+                                                queue.setClaimedBy(null);
+                                                queue.setLeaseUntil(null);
+                                                matchQueueRepository.saveAndFlush(queue);
+                                        });
+                }
+        }
+
+        @Override
+        public void insertRooms(List<MatchConfirmation> rooms) {
+                Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+                jdbcTemplate.batchUpdate(
+                                "insert into rooms (room_id, user1_id, user2_id, created_at, updated_at) values (?, ?, ?, ?, ?)",
+                                rooms, rooms.size(), (ps, room) -> {
+                                        ps.setObject(1, room.roomId());
+                                        ps.setObject(2, room.pair().user1Id());
+                                        ps.setObject(3, room.pair().user2Id());
+                                        ps.setTimestamp(4, now);
+                                        ps.setTimestamp(5, now);
+                                });
+        }
+
+        @Override
+        public void touchLastSeen(Map<UUID, LocalDateTime> lastSeen) {
+                List<Map.Entry<UUID, LocalDateTime>> entries = new ArrayList<>(lastSeen.entrySet());
+                jdbcTemplate.batchUpdate(
+                                "update match_queue set last_seen_at = greatest(last_seen_at, ?) where user_id = ? and status = ?",
+                                entries, entries.size(), (ps, entry) -> {
+                                        ps.setTimestamp(1, Timestamp.valueOf(entry.getValue()));
+                                        ps.setObject(2, entry.getKey());
+                                        ps.setString(3, MatchStatus.WAITING.name());
+                                });
+        }
+
+        // H2는 DELETE ... RETURNING 미지원 → 대상 조회 후 삭제
+        @Override
+        public List<UUID> deleteExpired(LocalDateTime cutoff, int limit) {
+                List<UUID> expired = jdbcTemplate.query(
+                                "select user_id from match_queue where status = ? and last_seen_at < ? order by last_seen_at limit ?",
+                                (rs, rowNum) -> rs.getObject(1, UUID.class),
+                                MatchStatus.WAITING.name(), Timestamp.valueOf(cutoff), limit);
+                for (UUID userId : expired) {
+                        jdbcTemplate.update("delete from match_queue where user_id = ? and status = ?",
+                                        userId, MatchStatus.WAITING.name());
+                }
+                return expired;
+        }
+
+        private Optional<MatchQueue> claimable(UUID userId, LocalDateTime now) {
+                return matchQueueRepository.findByUserId(userId)
+                                .filter(queue -> queue.getStatus() == MatchStatus.WAITING)
+                                .filter(queue -> !isLeased(queue, now) || leaseOwner.equals(queue.getClaimedBy()));
+        }
+
+        private static boolean isLeased(MatchQueue queue, LocalDateTime now) {
+                return queue.getLeaseUntil() != null && !queue.getLeaseUntil().isBefore(now);
+        }
+}
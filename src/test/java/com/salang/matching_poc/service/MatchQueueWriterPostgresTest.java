@@ -0,0 +1,197 @@
+package com.salang.matching_poc.service;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import com.salang.matching_poc.model.enums.Gender;
+import com.salang.matching_poc.model.enums.Region;
+import com.salang.matching_poc.model.enums.Tier;
+import com.salang.matching_poc.service.MatchQueueStore.CancelResult;
+
+/*
+ * MatchQueueWriterPostgres의 등록(ON CONFLICT)·취소(조건부 DELETE와 결과 코드)·쌍 lease SQL 검증. 로컬 Postgres에서만 실행.
+ * MATCH_PG_TEST_URL=jdbc:postgresql://localhost:5432/postgres (USER/PASSWORD 선택)
+ * Flyway 마이그레이션을 적용하므로 대상 DB 스키마가 최신 버전으로 바뀜. 로컬 주소가 아니면 실행하지 않음.
+ * 동시성 검증은 두 번째 연결의 미커밋 트랜잭션이 행을 잡은 상태에서 취소를 실행한 뒤 커밋.
+ * 테스트가 등록한 사용자의 행은 각 테스트 후 삭제.
+ */
+@EnabledIfEnvironmentVariable(named = "MATCH_PG_TEST_URL", matches = "jdbc:postgresql://(localhost|127\\.0\\.0\\.1)[:/].*")
+@DisplayName("MatchQueueWriterPostgres SQL 테스트 (Postgres)")
+class MatchQueueWriterPostgresTest {
+
+        private static final long BLOCKED_MILLIS = 300;
+
+        private static DriverManagerDataSource dataSource;
+        private static JdbcTemplate jdbcTemplate;
+        private static MatchQueueWriterPostgres matchQueueWriter;
+
+        private final List<UUID> userIds = new ArrayList<>();
+
+        @BeforeAll
+        static void migrate() {
+                String url = System.getenv("MATCH_PG_TEST_URL");
+                String user = env("MATCH_PG_TEST_USER", "postgres");
+                String password = env("MATCH_PG_TEST_PASSWORD", "");
+
+                Flyway.configure()
+                                .dataSource(url, user, password)
+                                .locations("classpath:db/migration")
+                                .outOfOrder(true)
+                                .load()
+                                .migrate();
+
+                dataSource = new DriverManagerDataSource(url, user, password);
+                jdbcTemplate = new JdbcTemplate(dataSource);
+                matchQueueWriter = new MatchQueueWriterPostgres(jdbcTemplate);
+        }
+
+        @AfterEach
+        void cleanUp() {
+                for (UUID userId : userIds) {
+                        jdbcTemplate.update("delete from match_queue where user_id = ?", userId);
+                }
+        }
+
+        private MatchProfile profile() {
+                UUID userId = UUID.randomUUID();
+                userIds.add(userId);
+                return new MatchProfile(userId, Gender.MALE, Region.SEOUL, 1995, Tier.SPROUT,
+                                HobbyBitmap.of(new Integer[] { 1, 3 }));
+        }
+
+        private long queueId(UUID userId) {
+                return jdbcTemplate.queryForObject("select queue_id from match_queue where user_id = ?", Long.class,
+                                userId);
+        }
+
+        /* 다른 연결의 미커밋 트랜잭션에서 sql 실행 → 취소 실행 → 취소가 행 잠금에서 기다리는 동안 커밋 */
+        private CancelResult cancelWhileLocked(UUID userId, String sql) throws Exception {
+                try (Connection other = dataSource.getConnection()) {
+                        other.setAutoCommit(false);
+                        try (PreparedStatement ps = other.prepareStatement(sql)) {
+                                ps.setObject(1, userId);
+                                ps.executeUpdate();
+                        }
+                        CompletableFuture<CancelResult> cancel = CompletableFuture
+                                        .supplyAsync(() -> matchQueueWriter.deleteWaiting(userId));
+                        Thread.sleep(BLOCKED_MILLIS);
+                        assertThat(cancel).as("행 잠금 대기").isNotDone();
+                        other.commit();
+                        return cancel.get(5, TimeUnit.SECONDS);
+                }
+        }
+
+        @Test
+        @DisplayName("insertWaiting: 같은 사용자를 다시 등록하면 변경 없이 false")
+        void insertWaiting_Duplicate_ReturnsFalse() {
+                MatchProfile profile = profile();
+
+                assertThat(matchQueueWriter.insertWaiting(profile, LocalDateTime.now())).isTrue();
+                assertThat(matchQueueWriter.insertWaiting(profile, LocalDateTime.now())).isFalse();
+                assertThat(jdbcTemplate.queryForObject("select hobby_ids from match_queue where user_id = ?",
+                                String.class, profile.userId())).isEqualTo("{1,3}");
+        }
+
+        @Test
+        @DisplayName("insertWaitingAll: 이미 있는 사용자·목록 안 중복은 건너뛰고, queue_id는 목록 순서대로 발급")
+        void insertWaitingAll_SkipsExistingAndAssignsInOrder() {
+                MatchProfile existing = profile();
+                MatchProfile first = profile();
+                MatchProfile second = profile();
+                matchQueueWriter.insertWaiting(existing, LocalDateTime.now());
+
+                List<UUID> inserted = matchQueueWriter.insertWaitingAll(List.of(first, existing, second, first),
+                                LocalDateTime.now());
+
+                assertThat(inserted).containsExactly(first.userId(), second.userId());
+                assertThat(queueId(second.userId())).isGreaterThan(queueId(first.userId()));
+        }
+
+        @Test
+        @DisplayName("deleteWaiting: WAITING이면 CANCELLED, 다시 취소하면 NOT_IN_QUEUE")
+        void deleteWaiting_Waiting_CancelledThenNotInQueue() {
+                MatchProfile profile = profile();
+                matchQueueWriter.insertWaiting(profile, LocalDateTime.now());
+
+                assertThat(matchQueueWriter.deleteWaiting(profile.userId())).isEqualTo(CancelResult.CANCELLED);
+                assertThat(matchQueueWriter.deleteWaiting(profile.userId())).isEqualTo(CancelResult.NOT_IN_QUEUE);
+        }
+
+        @Test
+        @DisplayName("deleteWaiting: MATCHED면 삭제하지 않고 ALREADY_MATCHED")
+        void deleteWaiting_Matched_AlreadyMatched() {
+                MatchProfile profile = profile();
+                matchQueueWriter.insertWaiting(profile, LocalDateTime.now());
+                jdbcTemplate.update("update match_queue set status = 'MATCHED' where user_id = ?", profile.userId());
+
+                assertThat(matchQueueWriter.deleteWaiting(profile.userId())).isEqualTo(CancelResult.ALREADY_MATCHED);
+                assertThat(queueId(profile.userId())).isPositive();
+        }
+
+        @Test
+        @DisplayName("deleteWaiting: 동시 확정이 먼저 커밋되면 ALREADY_MATCHED")
+        void deleteWaiting_ConcurrentMatchCommitted_AlreadyMatched() throws Exception {
+                MatchProfile profile = profile();
+                matchQueueWriter.insertWaiting(profile, LocalDateTime.now());
+
+                CancelResult result = cancelWhileLocked(profile.userId(),
+                                "update match_queue set status = 'MATCHED' where user_id = ?");
+
+                assertThat(result).isEqualTo(CancelResult.ALREADY_MATCHED);
+        }
+
+        @Test
+        @DisplayName("deleteWaiting: 동시 만료·이력 이동 삭제가 먼저 커밋되면 NOT_IN_QUEUE")
+        void deleteWaiting_ConcurrentDeleteCommitted_NotInQueue() throws Exception {
+                MatchProfile profile = profile();
+                matchQueueWriter.insertWaiting(profile, LocalDateTime.now());
+
+                CancelResult result = cancelWhileLocked(profile.userId(), "delete from match_queue where user_id = ?");
+
+                assertThat(result).isEqualTo(CancelResult.NOT_IN_QUEUE);
+        }
+
+        @Test
+        @DisplayName("leasePairs: 다른 노드가 lease 중인 사용자가 있는 쌍은 두 사용자 모두 선점하지 않음")
+        void leasePairs_OtherOwnerLeased_SkipsWholePair() {
+                MatchProfile a = profile();
+                MatchProfile b = profile();
+                MatchProfile c = profile();
+                MatchProfile d = profile();
+                List.of(a, b, c, d).forEach(profile -> matchQueueWriter.insertWaiting(profile, LocalDateTime.now()));
+                jdbcTemplate.update("update match_queue set claimed_by = 'other', lease_until = localtimestamp + interval '1 minute'"
+                                + " where user_id = ?", d.userId());
+                MatchPair free = new MatchPair(a.userId(), b.userId());
+                MatchPair taken = new MatchPair(c.userId(), d.userId());
+
+                List<MatchPair> leased = matchQueueWriter.leasePairs(List.of(free, taken), Duration.ofSeconds(5));
+
+                assertThat(leased).containsExactly(free);
+                assertThat(jdbcTemplate.queryForObject("select claimed_by from match_queue where user_id = ?",
+                                String.class, c.userId())).isNull();
+                assertThat(jdbcTemplate.queryForObject("select claimed_by from match_queue where user_id = ?",
+                                String.class, d.userId())).isEqualTo("other");
+        }
+
+        private static String env(String name, String defaultValue) {
+                String value = System.getenv(name);
+                return value == null || value.isBlank() ? defaultValue : value;
+        }
+}
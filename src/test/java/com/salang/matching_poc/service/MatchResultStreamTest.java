@@ -0,0 +1,122 @@
+package com.salang.matching_poc.service;
+
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadPoolExecutor;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("MatchResultStream 단위 테스트")
+class MatchResultStreamTest {
+
+        @Mock
+        private MatchQueueStore matchQueueStore;
+
+        @InjectMocks
+        private MatchResultStream matchResultStream;
+
+        private final UUID user1 = UUID.randomUUID();
+        private final UUID user2 = UUID.randomUUID();
+        private final CountDownLatch release = new CountDownLatch(1);
+
+        @BeforeEach
+        void setUp() {
+                ReflectionTestUtils.setField(matchResultStream, "timeout", Duration.ofSeconds(60));
+                ReflectionTestUtils.setField(matchResultStream, "replayTtl", Duration.ofSeconds(30));
+                ReflectionTestUtils.setField(matchResultStream, "replayMaxSize", 100);
+                ReflectionTestUtils.setField(matchResultStream, "senders", 1);
+                ReflectionTestUtils.setField(matchResultStream, "sendQueueSize", 1);
+                matchResultStream.start();
+                lenient().when(matchQueueStore.contains(user1)).thenReturn(true);
+        }
+
+        @AfterEach
+        void tearDown() throws InterruptedException {
+                release.countDown();
+                matchResultStream.stop();
+        }
+
+        /* 전송 스레드와 대기열을 모두 점유해 이후 전송이 넘겨지지 않는 상태로 만듦 */
+        private void stallSender() {
+                ThreadPoolExecutor sender = (ThreadPoolExecutor) ReflectionTestUtils.getField(matchResultStream, "sender");
+                Runnable stalled = () -> {
+                        try {
+                                release.await();
+                        } catch (InterruptedException e) {
+                                Thread.currentThread().interrupt();
+                        }
+                };
+                sender.execute(stalled);
+                sender.execute(stalled);
+        }
+
+        private void deliver() {
+                matchResultStream.deliver(List.of(new MatchConfirmation(new MatchPair(user1, user2), UUID.randomUUID())),
+                                OffsetDateTime.now());
+        }
+
+        @Test
+        @DisplayName("대기 중 구독은 확정 결과 전달 시 해제")
+        void subscribe_Waiting_ReleasedOnDeliver() {
+                matchResultStream.subscribe(user1);
+                assertThat(matchResultStream.subscriberCount(user1)).isEqualTo(1);
+
+                deliver();
+
+                assertThat(matchResultStream.subscriberCount(user1)).isZero();
+        }
+
+        @Test
+        @DisplayName("구독 전에 확정된 결과는 보관해 두었다가 구독 즉시 전달")
+        void subscribe_AfterDeliver_ReplaysRecentResult() {
+                deliver();
+
+                matchResultStream.subscribe(user2);
+
+                assertThat(matchResultStream.subscriberCount(user2)).isZero();
+                verify(matchQueueStore, never()).contains(user2);
+        }
+
+        @Test
+        @DisplayName("대기열에 없고 최근 결과도 없으면 구독하지 않고 종료")
+        void subscribe_NotInQueue_Completes() {
+                UUID stranger = UUID.randomUUID();
+                when(matchQueueStore.contains(stranger)).thenReturn(false);
+
+                matchResultStream.subscribe(stranger);
+
+                assertThat(matchResultStream.subscriberCount(stranger)).isZero();
+        }
+
+        @Test
+        @DisplayName("전송 스레드가 멈춰도 deliver는 기다리지 않고, 넘기지 못한 구독은 종료 후 재구독 시 보관 결과 전달")
+        void deliver_SenderStalled_ReturnsAndReplaysOnResubscribe() {
+                matchResultStream.subscribe(user1);
+                stallSender();
+
+                deliver();
+
+                assertThat(matchResultStream.subscriberCount(user1)).isZero();
+                matchResultStream.subscribe(user1);
+                assertThat(matchResultStream.subscriberCount(user1)).isZero();
+                verify(matchQueueStore, times(1)).contains(user1);
+        }
+}
@@ -1,6 +1,7 @@
 package com.salang.matching_poc.service;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -13,6 +14,9 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.event.ApplicationEvents;
+import org.springframework.test.context.event.RecordApplicationEvents;
+import org.springframework.test.util.ReflectionTestUtils;
 import org.springframework.transaction.annotation.Transactional;
 
 import com.salang.matching_poc.controller.dto.MatchRequest;
@@ -33,10 +37,14 @@ import com.salang.matching_poc.repository.MatchQueueRepository;
 import com.salang.matching_poc.repository.RoomRepository;
 import com.salang.matching_poc.repository.UserHobbyRepository;
 import com.salang.matching_poc.repository.UserRepository;
+import com.salang.matching_poc.service.event.MatchQueuedEvent;
+
+import io.micrometer.core.instrument.MeterRegistry;
 
 @SpringBootTest
 @Transactional
 @ActiveProfiles("test")
+@RecordApplicationEvents
 @DisplayName("MatchService 통합 테스트")
 @SuppressWarnings("null")
 class MatchServiceTest {
@@ -59,6 +67,18 @@ class MatchServiceTest {
         @Autowired
         private UserHobbyRepository userHobbyRepository;
 
+        @Autowired
+        private MeterRegistry meterRegistry;
+
+        @Autowired
+        private MatchProfileCache matchProfileCache;
+
+        @Autowired
+        private MatchQueueStore matchQueueStore;
+
+        @Autowired
+        private ApplicationEvents applicationEvents;
+
         private User testUser;
         private UUID testUserId;
         private MatchRequest matchRequest;
@@ -105,9 +125,8 @@ class MatchServiceTest {
                                 .isInstanceOf(AlreadyInQueueException.class);
         }
 
-        @Test
-        @DisplayName("즉시 매칭 성공 시 matched 응답 반환")
-        void requestMatch_InterceptSuccess_ReturnsMatchedResponse() {
+        /* 요청자(testUser)와 1단계 조건이 맞는 파트너를 대기열에 등록 */
+        private User givenPhase1PartnerQueued() {
                 // 공통 취미 생성
                 Hobby commonHobby = Hobby.builder()
                                 .category("스포츠")
@@ -148,6 +167,13 @@ class MatchServiceTest {
                                 .hobbyIds(new Integer[] { commonHobby.getId() })
                                 .build();
                 matchQueueRepository.save(partner);
+                return partnerUser;
+        }
+
+        @Test
+        @DisplayName("즉시 매칭 성공 시 matched 응답 반환")
+        void requestMatch_InterceptSuccess_ReturnsMatchedResponse() {
+                User partnerUser = givenPhase1PartnerQueued();
 
                 // 매칭 요청
                 MatchResponse<?> response = matchService.requestMatch(matchRequest);
@@ -165,10 +191,93 @@ class MatchServiceTest {
                 List<Room> rooms = roomRepository.findAll();
                 assertThat(rooms).hasSize(1);
                 Room createdRoom = rooms.get(0);
+                assertThat(createdRoom.getRoomId())
+                                .isEqualTo(((MatchResponse.MatchedData) response.getData()).getRoomId());
                 assertThat(createdRoom.getUser1().getId()).isIn(testUserId, partnerUser.getId());
                 assertThat(createdRoom.getUser2().getId()).isIn(testUserId, partnerUser.getId());
         }
 
+        @Test
+        @DisplayName("단일 문장 인터셉트를 끄면 조회·선점·룸 저장 개별 실행으로 즉시 매칭")
+        void requestMatch_InterceptSuccess_WithoutSingleStatement() {
+                User partnerUser = givenPhase1PartnerQueued();
+                ReflectionTestUtils.setField(matchService, "singleStatementIntercept", false);
+                try {
+                        MatchResponse<?> response = matchService.requestMatch(matchRequest);
+
+                        assertThat(response.getStatus()).isEqualTo("MATCHED");
+                        assertThat(matchQueueRepository.findByUserId(partnerUser.getId()).get().getStatus())
+                                        .isEqualTo(MatchStatus.MATCHED);
+                        assertThat(roomRepository.findAll()).hasSize(1);
+                } finally {
+                        ReflectionTestUtils.setField(matchService, "singleStatementIntercept", true);
+                }
+        }
+
+        @Test
+        @DisplayName("requestMatches: 같은 배치의 요청끼리 짝짓고 남은 요청은 대기열 등록")
+        void requestMatches_PairsArrivalsWithEachOther() {
+                User partnerUser = givenPhase1PartnerQueued();
+                matchQueueRepository.deleteAll(matchQueueRepository.findAll());
+                User lonely = userRepository.save(User.builder()
+                                .nickname("lonely")
+                                .gender(Gender.MALE)
+                                .birthDate(LocalDate.of(1980, 1, 1))
+                                .region(Region.BUSAN)
+                                .build());
+
+                List<MatchResponse<?>> responses = matchService.requestMatches(List.of(
+                                matchProfileCache.get(testUserId),
+                                matchProfileCache.get(lonely.getId()),
+                                matchProfileCache.get(partnerUser.getId())));
+
+                assertThat(responses).extracting(MatchResponse::getStatus)
+                                .containsExactly("MATCHED", "WAITING", "MATCHED");
+                UUID roomId = ((MatchResponse.MatchedData) responses.get(0).getData()).getRoomId();
+                assertThat(((MatchResponse.MatchedData) responses.get(2).getData()).getRoomId()).isEqualTo(roomId);
+                assertThat(roomRepository.findAll()).extracting(Room::getRoomId).containsExactly(roomId);
+                assertThat(matchQueueRepository.findAll()).extracting(MatchQueue::getUserId)
+                                .containsExactly(lonely.getId());
+        }
+
+        @Test
+        @DisplayName("requestMatches: 대기열에 등록된 남은 요청 전체를 등록 이벤트 1개로 발행")
+        void requestMatches_Leftovers_SingleQueuedEvent() {
+                User other = userRepository.save(User.builder()
+                                .nickname("other")
+                                .gender(Gender.MALE)
+                                .birthDate(LocalDate.of(1980, 1, 1))
+                                .region(Region.BUSAN)
+                                .build());
+
+                matchService.requestMatches(List.of(matchProfileCache.get(testUserId),
+                                matchProfileCache.get(other.getId())));
+
+                assertThat(applicationEvents.stream(MatchQueuedEvent.class)).singleElement()
+                                .satisfies(event -> assertThat(event.users()).containsExactly(
+                                                new MatchQueuedEvent.Queued(testUserId, Region.SEOUL),
+                                                new MatchQueuedEvent.Queued(other.getId(), Region.BUSAN)));
+        }
+
+        @Test
+        @DisplayName("requestMatches: 대기열 파트너 선점, 이미 대기 중이거나 중복된 요청은 null")
+        void requestMatches_ClaimsQueuedPartnerAndSkipsQueued() {
+                User partnerUser = givenPhase1PartnerQueued();
+                User queued = saveWaitingUser("queued", Gender.MALE);
+
+                List<MatchResponse<?>> responses = matchService.requestMatches(List.of(
+                                matchProfileCache.get(testUserId),
+                                matchProfileCache.get(queued.getId()),
+                                matchProfileCache.get(testUserId)));
+
+                assertThat(responses.get(0).getStatus()).isEqualTo("MATCHED");
+                assertThat(responses.subList(1, 3)).containsOnlyNulls();
+                assertThat(matchQueueRepository.findByUserId(partnerUser.getId()).orElseThrow().getStatus())
+                                .isEqualTo(MatchStatus.MATCHED);
+                assertThat(matchQueueRepository.findByUserId(testUserId)).isEmpty();
+                assertThat(roomRepository.findAll()).hasSize(1);
+        }
+
         @Test
         @DisplayName("즉시 매칭 실패 시 waiting 응답 반환 및 큐 등록")
         void requestMatch_InterceptFailed_ReturnsWaitingResponse() {
@@ -238,6 +347,58 @@ class MatchServiceTest {
                 assertThat(rooms).hasSize(1);
         }
 
+        @Test
+        @DisplayName("lease: 선점한 두 사용자는 다른 조회에서 제외되고 이 노드의 확정은 성공")
+        void leasePhase1Partner_HoldsPairUntilConfirm() {
+                User partnerUser = givenPhase1PartnerQueued();
+                matchQueueRepository.save(MatchQueue.builder()
+                                .userId(testUserId)
+                                .tier(testUser.getTier())
+                                .region(testUser.getRegion())
+                                .birthYear(testUser.getBirthDate().getYear())
+                                .gender(testUser.getGender())
+                                .hobbyIds(matchProfileCache.get(testUserId).hobbyIds())
+                                .build());
+                MatchCandidate requester = matchQueueStore.findWaiting(testUserId).orElseThrow();
+                MatchCandidate partner = matchQueueStore.findWaiting(partnerUser.getId()).orElseThrow();
+
+                assertThat(matchQueueStore.leasePhase1Partner(requester)).map(MatchCandidate::userId)
+                                .contains(partnerUser.getId());
+                assertThat(matchQueueStore.leasePhase1Partner(partner)).isEmpty();
+                assertThat(matchQueueRepository.findByUserId(testUserId).orElseThrow().getLeaseUntil()).isNotNull();
+
+                matchService.confirmMatch(testUserId, partnerUser.getId());
+
+                MatchQueue confirmed = matchQueueRepository.findByUserId(partnerUser.getId()).orElseThrow();
+                assertThat(confirmed.getStatus()).isEqualTo(MatchStatus.MATCHED);
+                assertThat(confirmed.getClaimedBy()).isNull();
+        }
+
+        @Test
+        @DisplayName("confirmMatches: 다른 노드가 lease로 선점 중인 사용자의 쌍은 충돌, 만료된 lease는 무시")
+        void confirmMatches_LeasedByOtherNode_Conflicts() {
+                User leasedMale = saveWaitingUser("leased_male", Gender.MALE);
+                User female = saveWaitingUser("female", Gender.FEMALE);
+                User expiredMale = saveWaitingUser("expired_male", Gender.MALE);
+                User female2 = saveWaitingUser("female2", Gender.FEMALE);
+                leaseAsOtherNode(leasedMale.getId(), LocalDateTime.now().plusMinutes(1));
+                leaseAsOtherNode(expiredMale.getId(), LocalDateTime.now().minusMinutes(1));
+                MatchPair leased = new MatchPair(leasedMale.getId(), female.getId());
+                MatchPair expired = new MatchPair(expiredMale.getId(), female2.getId());
+
+                MatchConfirmResult result = matchService.confirmMatches(List.of(leased, expired));
+
+                assertThat(result.conflicts()).containsExactly(leased);
+                assertThat(result.confirmed()).extracting(MatchConfirmation::pair).containsExactly(expired);
+        }
+
+        private void leaseAsOtherNode(UUID userId, LocalDateTime leaseUntil) {
+                MatchQueue queue = matchQueueRepository.findByUserId(userId).orElseThrow();
+                queue.setClaimedBy("other-node");
+                queue.setLeaseUntil(leaseUntil);
+                matchQueueRepository.saveAndFlush(queue);
+        }
+
         @Test
         @DisplayName("confirmMatch: updated != 2면 IllegalStateException 발생")
         void confirmMatch_UpdateFailed_ThrowsException() {
@@ -264,10 +425,85 @@ class MatchServiceTest {
 
                 // 두 번째 사용자는 큐에 없음 (또는 이미 MATCHED 상태)
                 // updateStatusIf가 2를 반환하지 않을 것
+                double conflictsBefore = conflictCount("single");
 
                 assertThatThrownBy(() -> matchService.confirmMatch(testUserId, user2Id))
                                 .isInstanceOf(IllegalStateException.class)
                                 .hasMessageContaining("Match confirmation failed");
+                assertThat(conflictCount("single")).isEqualTo(conflictsBefore + 1);
+        }
+
+        /* 컨텍스트가 테스트 간 공유되므로 증가분으로 비교 */
+        private double conflictCount(String path) {
+                return meterRegistry.get("matching.confirm.conflicts").tag("path", path).counter().count();
+        }
+
+        private User saveWaitingUser(String nickname, Gender gender) {
+                User user = userRepository.save(User.builder()
+                                .nickname(nickname)
+                                .gender(gender)
+                                .birthDate(LocalDate.of(1996, 1, 1))
+                                .region(Region.SEOUL)
+                                .build());
+                matchQueueRepository.save(MatchQueue.builder()
+                                .userId(user.getId())
+                                .tier(user.getTier())
+                                .region(user.getRegion())
+                                .birthYear(user.getBirthDate().getYear())
+                                .gender(user.getGender())
+                                .hobbyIds(new Integer[0])
+                                .build());
+                return user;
+        }
+
+        @Test
+        @DisplayName("enqueueAll: 대기열에 없는 기존 사용자만 일괄 등록")
+        void enqueueAll_SkipsQueuedAndUnknownUsers() {
+                User queued = saveWaitingUser("queued", Gender.MALE);
+                User newUser = userRepository.save(User.builder()
+                                .nickname("new_user")
+                                .gender(Gender.FEMALE)
+                                .birthDate(LocalDate.of(1997, 1, 1))
+                                .region(Region.BUSAN)
+                                .build());
+                UUID unknown = UUID.randomUUID();
+
+                List<UUID> enqueued = matchService.enqueueAll(
+                                List.of(testUserId, queued.getId(), newUser.getId(), unknown, testUserId));
+
+                assertThat(enqueued).containsExactly(testUserId, newUser.getId());
+                MatchQueue entry = matchQueueRepository.findByUserId(newUser.getId()).orElseThrow();
+                assertThat(entry.getStatus()).isEqualTo(MatchStatus.WAITING);
+                assertThat(entry.getRegion()).isEqualTo(Region.BUSAN);
+                assertThat(entry.getBirthYear()).isEqualTo(1997);
+                assertThat(matchQueueRepository.findByUserId(unknown)).isEmpty();
+        }
+
+        @Test
+        @DisplayName("confirmMatches: 충돌한 쌍만 제외하고 나머지 쌍은 확정")
+        void confirmMatches_PartialConflict_ConfirmsOthers() {
+                User male = saveWaitingUser("male", Gender.MALE);
+                User female = saveWaitingUser("female", Gender.FEMALE);
+                User matchedMale = saveWaitingUser("matched_male", Gender.MALE);
+                User female2 = saveWaitingUser("female2", Gender.FEMALE);
+                MatchQueue alreadyMatched = matchQueueRepository.findByUserId(matchedMale.getId()).orElseThrow();
+                alreadyMatched.setStatus(MatchStatus.MATCHED);
+                matchQueueRepository.saveAndFlush(alreadyMatched);
+                MatchPair ok = new MatchPair(male.getId(), female.getId());
+                MatchPair conflicted = new MatchPair(matchedMale.getId(), female2.getId());
+                double conflictsBefore = conflictCount("batch");
+
+                MatchConfirmResult result = matchService.confirmMatches(List.of(ok, conflicted));
+
+                assertThat(result.confirmed()).extracting(MatchConfirmation::pair).containsExactly(ok);
+                assertThat(result.conflicts()).containsExactly(conflicted);
+                assertThat(conflictCount("batch")).isEqualTo(conflictsBefore + 1);
+                assertThat(matchQueueRepository.findByUserId(female.getId()).orElseThrow().getStatus())
+                                .isEqualTo(MatchStatus.MATCHED);
+                assertThat(matchQueueRepository.findByUserId(female2.getId()).orElseThrow().getStatus())
+                                .isEqualTo(MatchStatus.WAITING);
+                List<Room> rooms = roomRepository.findAll();
+                assertThat(rooms).extracting(Room::getRoomId).containsExactly(result.confirmed().get(0).roomId());
         }
 
         @Test
@@ -0,0 +1,20 @@
+package com.salang.matching_poc.worker;
+
+import java.util.function.Consumer;
+
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+// 테스트는 단일 노드이므로 다른 노드로 전달할 신호가 없음
+@Component
+@Profile("test")
+public class MatchNotifierInMemory implements MatchNotifier {
+
+        @Override
+        public void publish(String channel, String payload) {
+        }
+
+        @Override
+        public void subscribe(String channel, Consumer<String> listener) {
+        }
+}
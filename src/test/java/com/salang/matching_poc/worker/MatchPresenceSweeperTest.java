@@ -0,0 +1,64 @@
+package com.salang.matching_poc.worker;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import org.mockito.Mock;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.salang.matching_poc.service.MatchPresenceTracker;
+import com.salang.matching_poc.service.MatchQueueStore;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("MatchPresenceSweeper 단위 테스트")
+class MatchPresenceSweeperTest {
+
+        @Mock
+        private MatchQueueStore matchQueueStore;
+
+        @Mock
+        private MatchShardCoordinator matchShardCoordinator;
+
+        private final MatchPresenceTracker matchPresenceTracker = new MatchPresenceTracker();
+
+        private MatchPresenceSweeper matchPresenceSweeper;
+
+        @BeforeEach
+        void setUp() {
+                matchPresenceSweeper = new MatchPresenceSweeper(matchPresenceTracker, matchQueueStore,
+                                matchShardCoordinator);
+                ReflectionTestUtils.setField(matchPresenceSweeper, "expiryEnabled", true);
+                ReflectionTestUtils.setField(matchPresenceSweeper, "ttl", Duration.ofSeconds(30));
+                ReflectionTestUtils.setField(matchPresenceSweeper, "batchSize", 500);
+                ReflectionTestUtils.setField(matchPresenceSweeper, "maxBatches", 10);
+        }
+
+        @Test
+        @DisplayName("heartbeat 반영 실패: 꺼낸 heartbeat를 되돌리고 만료 삭제는 실행하지 않음")
+        void flushAndSweep_TouchFails_RestoresAndSkipsSweep() {
+                UUID userId = UUID.randomUUID();
+                matchPresenceTracker.heartbeat(userId);
+                doThrow(new DataAccessResourceFailureException("connection lost"))
+                                .when(matchQueueStore).touchLastSeen(any());
+
+                matchPresenceSweeper.flushAndSweep();
+
+                Map<UUID, LocalDateTime> pending = matchPresenceTracker.drain();
+                assertThat(pending).containsOnlyKeys(userId);
+                verify(matchQueueStore, never()).deleteExpired(any(), anyInt());
+        }
+}
@@ -0,0 +1,93 @@
+package com.salang.matching_poc.worker;
+
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.salang.matching_poc.model.enums.MatchStatus;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("MatchQueueCompactor 단위 테스트")
+class MatchQueueCompactorTest {
+
+        private static final int BATCH_SIZE = 100;
+        private static final int MAX_BATCHES = 3;
+
+        @Mock
+        private JdbcTemplate jdbcTemplate;
+
+        @Mock
+        private MatchShardCoordinator matchShardCoordinator;
+
+        @InjectMocks
+        private MatchQueueCompactor matchQueueCompactor;
+
+        @BeforeEach
+        void setUp() {
+                ReflectionTestUtils.setField(matchQueueCompactor, "batchSize", BATCH_SIZE);
+                ReflectionTestUtils.setField(matchQueueCompactor, "maxBatches", MAX_BATCHES);
+                lenient().when(matchShardCoordinator.isLeader()).thenReturn(true);
+        }
+
+        private void givenMoved(Integer first, Integer... rest) {
+                when(jdbcTemplate.update(anyString(), eq(MatchStatus.MATCHED.name()), eq(BATCH_SIZE)))
+                                .thenReturn(first, rest);
+        }
+
+        @Test
+        @DisplayName("리더 노드가 아니면 실행하지 않음")
+        void compact_NotLeader_Skips() {
+                when(matchShardCoordinator.isLeader()).thenReturn(false);
+
+                matchQueueCompactor.compact();
+
+                verifyNoInteractions(jdbcTemplate);
+        }
+
+        @Test
+        @DisplayName("배치 크기보다 적게 이동하면 더 이상 남은 행이 없으므로 중단")
+        void compact_ShortBatch_Stops() {
+                givenMoved(BATCH_SIZE, 30);
+
+                matchQueueCompactor.compact();
+
+                verify(jdbcTemplate, times(2)).update(anyString(), eq(MatchStatus.MATCHED.name()), eq(BATCH_SIZE));
+        }
+
+        @Test
+        @DisplayName("매 배치가 가득 차도 실행당 max-batches까지만 이동")
+        void compact_FullBatches_CappedByMaxBatches() {
+                givenMoved(BATCH_SIZE);
+
+                matchQueueCompactor.compact();
+
+                verify(jdbcTemplate, times(MAX_BATCHES)).update(anyString(), eq(MatchStatus.MATCHED.name()),
+                                eq(BATCH_SIZE));
+        }
+
+        @Test
+        @DisplayName("이동 중 예외가 발생하면 로그만 남기고 이번 실행 중단")
+        void compact_Exception_Swallowed() {
+                when(jdbcTemplate.update(anyString(), eq(MatchStatus.MATCHED.name()), eq(BATCH_SIZE)))
+                                .thenReturn(BATCH_SIZE)
+                                .thenThrow(new DataAccessResourceFailureException("connection lost"));
+
+                matchQueueCompactor.compact();
+
+                verify(jdbcTemplate, times(2)).update(anyString(), eq(MatchStatus.MATCHED.name()), eq(BATCH_SIZE));
+        }
+}
@@ -1,33 +1,61 @@
 package com.salang.matching_poc.worker;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.EnumSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
+import static org.mockito.Mockito.atLeast;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.lenient;
 import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
 
 import com.salang.matching_poc.model.entity.MatchQueue;
 import com.salang.matching_poc.model.enums.Gender;
+import com.salang.matching_poc.model.enums.MatchPhase;
 import com.salang.matching_poc.model.enums.MatchStatus;
 import com.salang.matching_poc.model.enums.Region;
 import com.salang.matching_poc.model.enums.Tier;
-import com.salang.matching_poc.repository.MatchQueueRepository;
+import com.salang.matching_poc.repository.projection.WaitingQueueDigest;
+import com.salang.matching_poc.service.HobbyBitmap;
+import com.salang.matching_poc.service.HobbyCatalog;
+import com.salang.matching_poc.service.MatchCandidate;
+import com.salang.matching_poc.service.MatchConfirmResult;
+import com.salang.matching_poc.service.MatchConfirmation;
+import com.salang.matching_poc.service.MatchPair;
 import com.salang.matching_poc.service.MatchQueueMatchFinder;
+import com.salang.matching_poc.service.MatchQueueStore;
 import com.salang.matching_poc.service.MatchService;
+import com.salang.matching_poc.service.MatchingMetrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 
 @ExtendWith(MockitoExtension.class)
 @DisplayName("MatchScheduler 단위 테스트")
@@ -35,7 +63,7 @@ import com.salang.matching_poc.service.MatchService;
 class MatchSchedulerTest {
 
         @Mock
-        private MatchQueueRepository matchQueueRepository;
+        private MatchQueueStore matchQueueStore;
 
         @Mock
         private MatchService matchService;
@@ -43,22 +71,56 @@ class MatchSchedulerTest {
         @Mock
         private MatchQueueMatchFinder matchQueueMatchFinder;
 
+        @Mock
+        private MatchShardCoordinator matchShardCoordinator;
+
+        @Mock
+        private HobbyCatalog hobbyCatalog;
+
+        private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+        @Spy
+        private MatchingMetrics matchingMetrics = new MatchingMetrics(meterRegistry);
+
+        /* fixed-delay 1초, 요약 로그 샘플링 없음 */
+        @Spy
+        private MatchTickTelemetry matchTickTelemetry = new MatchTickTelemetry(meterRegistry, 1000, 0);
+
         @InjectMocks
         private MatchScheduler matchScheduler;
 
-        private MatchQueue requester;
-
+        /* 기본은 단일 노드: 모든 샤드 소유 */
         @BeforeEach
         void setUp() {
-                requester = MatchQueue.builder()
+                lenient().when(matchShardCoordinator.owns(any())).thenReturn(true);
+                lenient().when(matchShardCoordinator.isLeader()).thenReturn(true);
+                // 기본은 주기 대조 없음. 대조를 검증하는 테스트만 0으로 설정
+                ReflectionTestUtils.setField(matchScheduler, "reconcileInterval", Duration.ofHours(1));
+                // 기본은 전달된 쌍 전체 선점·확정
+                lenient().when(matchQueueStore.leasePairs(any())).thenAnswer(invocation -> invocation.getArgument(0));
+                lenient().when(matchService.confirmMatches(any())).thenAnswer(invocation -> {
+                        List<MatchPair> pairs = invocation.getArgument(0);
+                        return new MatchConfirmResult(pairs.stream()
+                                        .map(pair -> new MatchConfirmation(pair, UUID.randomUUID()))
+                                        .toList(), List.of());
+                });
+        }
+
+        private long nextQueueId = 1;
+
+        private MatchQueue queue(Gender gender, Region region, Integer birthYear, Integer[] hobbyIds,
+                        long waitedSeconds) throws Exception {
+                MatchQueue queue = MatchQueue.builder()
                                 .userId(UUID.randomUUID())
-                                .hobbyIds(new Integer[] { 1, 2, 3 })
+                                .hobbyIds(hobbyIds)
                                 .tier(Tier.SPROUT)
-                                .region(Region.SEOUL)
-                                .birthYear(1995)
-                                .gender(Gender.MALE)
+                                .region(region)
+                                .birthYear(birthYear)
+                                .gender(gender)
                                 .build();
-                requester.setStatus(MatchStatus.WAITING);
+                setCreatedAt(queue, LocalDateTime.now().minusSeconds(waitedSeconds));
+                ReflectionTestUtils.setField(queue, "queueId", nextQueueId++);
+                return queue;
         }
 
         private void setCreatedAt(MatchQueue queue, LocalDateTime createdAt) throws Exception {
@@ -67,201 +129,748 @@ class MatchSchedulerTest {
                 createdAtField.set(queue, createdAt);
         }
 
+        /* MatchQueueStore 조회 결과. 저장소와 같이 WAITING 행만 반환 */
+        private List<MatchCandidate> candidates(MatchQueue... queues) {
+                List<MatchCandidate> candidates = new ArrayList<>();
+                for (MatchQueue queue : queues) {
+                        if (queue.getStatus() == MatchStatus.WAITING) {
+                                candidates.add(new MatchCandidate(queue.getQueueId(), queue.getUserId(), queue.getGender(),
+                                                queue.getRegion(), queue.getBirthYear(), queue.getTier(),
+                                                HobbyBitmap.of(queue.getHobbyIds()), queue.getCreatedAt()));
+                        }
+                }
+                return candidates;
+        }
+
+        /* 즉시 매칭 대상 조회. WAITING이 아니면 저장소가 빈 값 반환 */
+        private void givenQueued(MatchQueue queue) {
+                when(matchQueueStore.findWaiting(queue.getUserId()))
+                                .thenReturn(candidates(queue).stream().findFirst());
+        }
+
+        /* 첫 tick: 워터마크 0 이후 전체가 신규 행 */
+        private void givenWaiting(MatchQueue... queues) {
+                givenInsertedAfter(0L, queues);
+        }
+
+        private void givenInsertedAfter(long watermark, MatchQueue... queues) {
+                when(matchQueueStore.findWaitingAfter(eq(watermark), any())).thenReturn(candidates(queues));
+        }
+
+        private void givenDigest(long watermark, MatchQueue... waiting) {
+                long count = waiting.length;
+                long queueIdSum = 0;
+                for (MatchQueue queue : waiting) {
+                        queueIdSum += queue.getQueueId();
+                }
+                long sum = queueIdSum;
+                when(matchQueueStore.digestWaitingUpTo(eq(watermark), any()))
+                                .thenReturn(new WaitingQueueDigest() {
+                                        @Override
+                                        public long getCount() {
+                                                return count;
+                                        }
+
+                                        @Override
+                                        public long getQueueIdSum() {
+                                                return sum;
+                                        }
+                                });
+        }
+
+        private void givenPairs(Map<MatchPhase, List<MatchPair>> pairsByPhase) {
+                // 다음 tick 전에 다시 설정할 수 있도록 doAnswer 사용 (when(...)은 이전 응답을 null 인자로 호출)
+                doAnswer(invocation -> pairsByPhase.getOrDefault(invocation.getArgument(0), List.of()))
+                                .when(matchQueueMatchFinder).findPhasePairs(any(), any(), any(), any());
+        }
+
+        /* confirmMatches 호출 전체에 전달된 쌍 */
+        @SuppressWarnings("unchecked")
+        private List<MatchPair> confirmedPairs() {
+                ArgumentCaptor<List<MatchPair>> captor = ArgumentCaptor.forClass(List.class);
+                verify(matchService, atLeast(0)).confirmMatches(captor.capture());
+                return captor.getAllValues().stream().flatMap(List::stream).toList();
+        }
+
+        /* 대기열 순서를 섞으므로 요청자/파트너 순서와 무관하게 한 쌍으로 확정되었는지 확인 */
+        private void verifyConfirmedPair(MatchQueue a, MatchQueue b) {
+                List<MatchPair> pairs = confirmedPairs();
+                assertThat(pairs).hasSize(1);
+                assertThat(List.of(pairs.get(0).user1Id(), pairs.get(0).user2Id()))
+                                .containsExactlyInAnyOrder(a.getUserId(), b.getUserId());
+        }
+
         @Test
         @DisplayName("대기열이 비어있으면 매칭 처리하지 않음")
         void runMatchingLoop_EmptyQueue_NoProcessing() {
-                when(matchQueueRepository.findByStatus(MatchStatus.WAITING))
-                                .thenReturn(Collections.emptyList());
+                givenWaiting();
 
                 matchScheduler.runMatchingLoop();
 
-                verify(matchService, never()).confirmMatch(any(), any());
+                assertThat(confirmedPairs()).isEmpty();
         }
 
         @Test
-        @DisplayName("대기 시간 0~4초: Phase1 매칭 시도")
-        void runMatchingLoop_Phase1_AttemptsPhase1Match() throws Exception {
-                requester = MatchQueue.builder()
-                                .userId(UUID.randomUUID())
-                                .hobbyIds(new Integer[] { 1, 2 })
-                                .tier(Tier.SPROUT)
-                                .region(Region.SEOUL)
-                                .birthYear(1995)
-                                .gender(Gender.MALE)
-                                .build();
-                requester.setStatus(MatchStatus.WAITING);
-                setCreatedAt(requester, LocalDateTime.now().minusSeconds(2));
+        @DisplayName("대기 시간 0~4초: 공통 취미가 있으면 Phase1 매칭")
+        void runMatchingLoop_Phase1_MatchesCommonHobby() throws Exception {
+                MatchQueue requester = queue(Gender.MALE, Region.SEOUL, 1995, new Integer[] { 1, 2 }, 2);
+                MatchQueue partner = queue(Gender.FEMALE, Region.SEOUL, 1996, new Integer[] { 2, 3 }, 1);
+                givenWaiting(requester, partner);
 
-                UUID partnerUserId = UUID.randomUUID();
-                MatchQueue partner = MatchQueue.builder()
-                                .userId(partnerUserId)
-                                .build();
+                matchScheduler.runMatchingLoop();
+
+                verifyConfirmedPair(requester, partner);
+        }
 
-                when(matchQueueRepository.findByStatus(MatchStatus.WAITING))
-                                .thenReturn(List.of(requester));
-                when(matchQueueMatchFinder.findPhase1Match(
-                                eq(requester.getUserId()), eq("MALE"), eq("SEOUL"), any(), any(), any(), any(), any()))
-                                .thenReturn(Optional.of(partner));
+        @Test
+        @DisplayName("대기 시간 5~9초: 공통 취미가 없어도 Phase2 매칭")
+        void runMatchingLoop_Phase2_IgnoresHobby() throws Exception {
+                MatchQueue requester = queue(Gender.MALE, Region.SEOUL, 1995, new Integer[] { 1 }, 7);
+                MatchQueue partner = queue(Gender.FEMALE, Region.SEOUL, 1996, new Integer[] { 9 }, 0);
+                givenWaiting(requester, partner);
 
                 matchScheduler.runMatchingLoop();
 
-                verify(matchService).confirmMatch(requester.getUserId(), partnerUserId);
+                assertThat(confirmedPairs()).contains(new MatchPair(requester.getUserId(), partner.getUserId()));
         }
 
         @Test
-        @DisplayName("대기 시간 5~9초: Phase2 매칭 시도")
-        void runMatchingLoop_Phase2_AttemptsPhase2Match() throws Exception {
-                requester = MatchQueue.builder()
-                                .userId(UUID.randomUUID())
-                                .tier(Tier.SPROUT)
-                                .region(Region.SEOUL)
-                                .birthYear(1995)
-                                .gender(Gender.MALE)
-                                .build();
-                requester.setStatus(MatchStatus.WAITING);
-                setCreatedAt(requester, LocalDateTime.now().minusSeconds(7));
+        @DisplayName("대기 시간 10~19초: 지역이 달라도 Phase3 매칭")
+        void runMatchingLoop_Phase3_IgnoresRegion() throws Exception {
+                MatchQueue requester = queue(Gender.MALE, Region.SEOUL, 1995, null, 15);
+                MatchQueue partner = queue(Gender.FEMALE, Region.BUSAN, 1998, null, 0);
+                givenWaiting(requester, partner);
 
-                UUID partnerUserId = UUID.randomUUID();
-                MatchQueue partner = MatchQueue.builder()
-                                .userId(partnerUserId)
-                                .build();
+                matchScheduler.runMatchingLoop();
 
-                when(matchQueueRepository.findByStatus(MatchStatus.WAITING))
-                                .thenReturn(List.of(requester));
-                when(matchQueueMatchFinder.findPhase2Match(
-                                eq(requester.getUserId()), eq("MALE"), eq("SEOUL"), any(), any(), any(), any()))
-                                .thenReturn(Optional.of(partner));
+                assertThat(confirmedPairs()).contains(new MatchPair(requester.getUserId(), partner.getUserId()));
+        }
+
+        @Test
+        @DisplayName("대기 시간 20~29초: 나이 차이가 커도 Phase4 매칭")
+        void runMatchingLoop_Phase4_IgnoresAge() throws Exception {
+                MatchQueue requester = queue(Gender.MALE, Region.SEOUL, 1995, null, 25);
+                MatchQueue partner = queue(Gender.FEMALE, Region.BUSAN, 1970, null, 0);
+                givenWaiting(requester, partner);
 
                 matchScheduler.runMatchingLoop();
 
-                verify(matchService).confirmMatch(requester.getUserId(), partnerUserId);
+                assertThat(confirmedPairs()).contains(new MatchPair(requester.getUserId(), partner.getUserId()));
         }
 
         @Test
-        @DisplayName("대기 시간 10~19초: Phase3 매칭 시도")
-        void runMatchingLoop_Phase3_AttemptsPhase3Match() throws Exception {
-                requester = MatchQueue.builder()
-                                .userId(UUID.randomUUID())
-                                .tier(Tier.SPROUT)
-                                .birthYear(1995)
-                                .gender(Gender.MALE)
-                                .build();
-                requester.setStatus(MatchStatus.WAITING);
-                setCreatedAt(requester, LocalDateTime.now().minusSeconds(15));
+        @DisplayName("대기 시간 30초 이상: 같은 성별도 Phase5 매칭")
+        void runMatchingLoop_Phase5_IgnoresGender() throws Exception {
+                MatchQueue requester = queue(Gender.MALE, Region.SEOUL, 1995, null, 35);
+                MatchQueue partner = queue(Gender.MALE, Region.BUSAN, 1970, null, 0);
+                givenWaiting(requester, partner);
 
-                UUID partnerUserId = UUID.randomUUID();
-                MatchQueue partner = MatchQueue.builder()
-                                .userId(partnerUserId)
-                                .build();
+                matchScheduler.runMatchingLoop();
 
-                when(matchQueueRepository.findByStatus(MatchStatus.WAITING))
-                                .thenReturn(List.of(requester));
-                when(matchQueueMatchFinder.findPhase3Match(
-                                eq(requester.getUserId()), eq("MALE"), any(), any(), any(), any()))
-                                .thenReturn(Optional.of(partner));
+                assertThat(confirmedPairs()).contains(new MatchPair(requester.getUserId(), partner.getUserId()));
+        }
+
+        @Test
+        @DisplayName("파트너를 찾지 못하면 매칭 처리하지 않음")
+        void runMatchingLoop_NoPartner_NoMatch() throws Exception {
+                MatchQueue requester = queue(Gender.MALE, Region.SEOUL, 1995, new Integer[] { 1 }, 2);
+                MatchQueue other = queue(Gender.FEMALE, Region.SEOUL, 1996, new Integer[] { 2 }, 2);
+                givenWaiting(requester, other);
 
                 matchScheduler.runMatchingLoop();
 
-                verify(matchService).confirmMatch(requester.getUserId(), partnerUserId);
+                assertThat(confirmedPairs()).isEmpty();
         }
 
         @Test
-        @DisplayName("대기 시간 20~29초: Phase4 매칭 시도")
-        void runMatchingLoop_Phase4_AttemptsPhase4Match() throws Exception {
-                requester = MatchQueue.builder()
-                                .userId(UUID.randomUUID())
-                                .tier(Tier.SPROUT)
-                                .gender(Gender.MALE)
-                                .build();
-                requester.setStatus(MatchStatus.WAITING);
-                setCreatedAt(requester, LocalDateTime.now().minusSeconds(25));
+        @DisplayName("이미 MATCHED 상태인 사용자는 스킵")
+        void runMatchingLoop_AlreadyMatched_Skips() throws Exception {
+                MatchQueue requester = queue(Gender.MALE, Region.SEOUL, 1995, new Integer[] { 1 }, 2);
+                MatchQueue partner = queue(Gender.FEMALE, Region.SEOUL, 1996, new Integer[] { 1 }, 2);
+                partner.setStatus(MatchStatus.MATCHED);
+                givenWaiting(requester, partner);
 
-                UUID partnerUserId = UUID.randomUUID();
-                MatchQueue partner = MatchQueue.builder()
-                                .userId(partnerUserId)
-                                .build();
+                matchScheduler.runMatchingLoop();
 
-                when(matchQueueRepository.findByStatus(MatchStatus.WAITING))
-                                .thenReturn(List.of(requester));
-                when(matchQueueMatchFinder.findPhase4Match(
-                                eq(requester.getUserId()), eq("MALE"), any(), any()))
-                                .thenReturn(Optional.of(partner));
+                assertThat(confirmedPairs()).isEmpty();
+        }
+
+        @Test
+        @DisplayName("한 tick에서 이미 매칭된 사용자는 다시 매칭하지 않음")
+        void runMatchingLoop_MatchedUserNotReusedInTick() throws Exception {
+                MatchQueue male = queue(Gender.MALE, Region.SEOUL, 1995, new Integer[] { 1 }, 2);
+                MatchQueue female1 = queue(Gender.FEMALE, Region.SEOUL, 1996, new Integer[] { 1 }, 2);
+                MatchQueue female2 = queue(Gender.FEMALE, Region.SEOUL, 1994, new Integer[] { 1 }, 2);
+                givenWaiting(male, female1, female2);
 
                 matchScheduler.runMatchingLoop();
 
-                verify(matchService).confirmMatch(requester.getUserId(), partnerUserId);
+                assertThat(confirmedPairs()).hasSize(1);
         }
 
         @Test
-        @DisplayName("대기 시간 30초 이상: Phase5 매칭 시도")
-        void runMatchingLoop_Phase5_AttemptsPhase5Match() throws Exception {
-                requester = MatchQueue.builder()
-                                .userId(UUID.randomUUID())
-                                .build();
-                requester.setStatus(MatchStatus.WAITING);
-                setCreatedAt(requester, LocalDateTime.now().minusSeconds(35));
+        @DisplayName("매칭 처리 중 예외 발생 시 로그만 남기고 계속 진행")
+        void runMatchingLoop_ExceptionDuringProcessing_Continues() throws Exception {
+                MatchQueue requester = queue(Gender.MALE, Region.SEOUL, 1995, null, 35);
+                MatchQueue partner = queue(Gender.FEMALE, Region.SEOUL, 1995, null, 35);
+                givenWaiting(requester, partner);
+                doThrow(new RuntimeException("Test exception"))
+                                .when(matchService).confirmMatches(any());
 
-                UUID partnerUserId = UUID.randomUUID();
-                MatchQueue partner = MatchQueue.builder()
-                                .userId(partnerUserId)
-                                .build();
+                matchScheduler.runMatchingLoop();
+
+                verifyConfirmedPair(requester, partner);
+        }
 
-                when(matchQueueRepository.findByStatus(MatchStatus.WAITING))
-                                .thenReturn(List.of(requester));
-                when(matchQueueMatchFinder.findPhase5Match(
-                                eq(requester.getUserId()), any()))
-                                .thenReturn(Optional.of(partner));
+        @Test
+        @DisplayName("배치 매칭: 단계별 쌍을 확정")
+        void runMatchingLoop_BatchPairing_ConfirmsPairs() {
+                ReflectionTestUtils.setField(matchScheduler, "batchPairing", true);
+                MatchPair phase1Pair = new MatchPair(UUID.randomUUID(), UUID.randomUUID());
+                MatchPair phase5Pair = new MatchPair(UUID.randomUUID(), UUID.randomUUID());
+                givenPairs(Map.of(MatchPhase.PHASE_1, List.of(phase1Pair), MatchPhase.PHASE_5, List.of(phase5Pair)));
+                givenWaiting();
 
                 matchScheduler.runMatchingLoop();
 
-                verify(matchService).confirmMatch(requester.getUserId(), partnerUserId);
+                assertThat(confirmedPairs()).contains(new MatchPair(phase1Pair.user1Id(), phase1Pair.user2Id()));
+                assertThat(confirmedPairs()).contains(new MatchPair(phase5Pair.user1Id(), phase5Pair.user2Id()));
         }
 
         @Test
-        @DisplayName("파트너를 찾지 못하면 매칭 처리하지 않음")
-        void runMatchingLoop_NoPartner_NoMatch() throws Exception {
-                setCreatedAt(requester, LocalDateTime.now().minusSeconds(2));
-                when(matchQueueRepository.findByStatus(MatchStatus.WAITING))
-                                .thenReturn(List.of(requester));
-                when(matchQueueMatchFinder.findPhase1Match(any(), any(), any(), any(), any(), any(), any(), any()))
-                                .thenReturn(Optional.empty());
+        @DisplayName("배치 매칭: 쿼리가 짝짓지 못한 1단계 조건 사용자(나이 구간·첫 취미가 다름)는 같은 tick 인덱스 매칭으로 확정")
+        void runMatchingLoop_BatchPairing_MatchesLeftoversWithIndex() throws Exception {
+                ReflectionTestUtils.setField(matchScheduler, "batchPairing", true);
+                MatchQueue requester = queue(Gender.MALE, Region.SEOUL, 1999, new Integer[] { 1, 2 }, 0);
+                MatchQueue partner = queue(Gender.FEMALE, Region.SEOUL, 2000, new Integer[] { 2 }, 0);
+                givenPairs(Map.of());
+                givenWaiting(requester, partner);
 
                 matchScheduler.runMatchingLoop();
 
-                verify(matchService, never()).confirmMatch(any(), any());
+                verifyConfirmedPair(requester, partner);
         }
 
         @Test
-        @DisplayName("이미 MATCHED 상태인 사용자는 스킵")
-        void runMatchingLoop_AlreadyMatched_Skips() {
-                requester.setStatus(MatchStatus.MATCHED);
+        @DisplayName("배치 매칭: 배치로 확정된 사용자는 작업 집합에서 바로 빠져 다음 tick 인덱스에 없음")
+        void runMatchingLoop_BatchPairing_RemovesPairedFromWorkingSet() throws Exception {
+                ReflectionTestUtils.setField(matchScheduler, "batchPairing", true);
+                MatchQueue a = queue(Gender.MALE, Region.SEOUL, 1995, new Integer[] { 1 }, 0);
+                MatchQueue b = queue(Gender.MALE, Region.BUSAN, 1980, new Integer[] { 2 }, 0);
+                MatchQueue alone = queue(Gender.MALE, Region.SEOUL, 1990, new Integer[] { 3 }, 0);
+                givenPairs(Map.of());
+                givenWaiting(a, b, alone);
+                matchScheduler.runMatchingLoop();
+
+                // 다음 tick: 쿼리가 a·b를 짝지음. 남은 대기자는 alone뿐
+                givenPairs(Map.of(MatchPhase.PHASE_5, List.of(new MatchPair(a.getUserId(), b.getUserId()))));
+                givenInsertedAfter(alone.getQueueId());
+                matchScheduler.runMatchingLoop();
 
-                when(matchQueueRepository.findByStatus(MatchStatus.WAITING))
-                                .thenReturn(List.of(requester));
+                assertThat(confirmedPairs()).containsExactly(new MatchPair(a.getUserId(), b.getUserId()));
+                assertThat(meterRegistry.get("matching.tick.candidates").summary().max()).isEqualTo(3.0);
+                verify(matchQueueStore, never()).digestWaitingUpTo(anyLong(), any());
+        }
+
+        @Test
+        @DisplayName("배치 매칭: 리더는 남은 대기자로 대기열 깊이를 발행하고, 리더가 아니게 되면 게이지를 비움")
+        void runMatchingLoop_BatchPairing_PublishesQueueDepthOnLeader() throws Exception {
+                ReflectionTestUtils.setField(matchScheduler, "batchPairing", true);
+                MatchQueue alone = queue(Gender.MALE, Region.SEOUL, 1990, new Integer[] { 3 }, 0);
+                givenPairs(Map.of());
+                givenWaiting(alone);
 
                 matchScheduler.runMatchingLoop();
 
-                verify(matchService, never()).confirmMatch(any(), any());
+                assertThat(meterRegistry.get("matching.queue.depth")
+                                .tags("region", "SEOUL", "gender", "MALE", "phase", "PHASE_1").gauge().value())
+                                .isEqualTo(1.0);
+
+                when(matchShardCoordinator.isLeader()).thenReturn(false);
+                matchScheduler.runMatchingLoop();
+
+                assertThat(meterRegistry.find("matching.queue.depth").gauges()).isEmpty();
         }
 
         @Test
-        @DisplayName("매칭 처리 중 예외 발생 시 로그만 남기고 계속 진행")
-        void runMatchingLoop_ExceptionDuringProcessing_Continues() throws Exception {
-                UUID partnerUserId = UUID.randomUUID();
-                MatchQueue partner = MatchQueue.builder()
-                                .userId(partnerUserId)
-                                .build();
+        @DisplayName("배치 매칭: 한 단계의 확정 실패가 다음 단계에 영향 없음")
+        void runMatchingLoop_BatchPairing_FailureContinues() {
+                ReflectionTestUtils.setField(matchScheduler, "batchPairing", true);
+                MatchPair failed = new MatchPair(UUID.randomUUID(), UUID.randomUUID());
+                MatchPair ok = new MatchPair(UUID.randomUUID(), UUID.randomUUID());
+                givenPairs(Map.of(MatchPhase.PHASE_2, List.of(failed), MatchPhase.PHASE_3, List.of(ok)));
+                doThrow(new IllegalStateException("Test exception"))
+                                .when(matchService).confirmMatches(List.of(failed));
 
-                setCreatedAt(requester, LocalDateTime.now().minusSeconds(2));
-                when(matchQueueRepository.findByStatus(MatchStatus.WAITING))
-                                .thenReturn(List.of(requester));
-                when(matchQueueMatchFinder.findPhase1Match(any(), any(), any(), any(), any(), any(), any(), any()))
-                                .thenReturn(Optional.of(partner));
+                matchScheduler.runMatchingLoop();
+
+                verify(matchService).confirmMatches(List.of(ok));
+        }
+
+        @Test
+        @DisplayName("메트릭: 단계별 대기열 깊이와 확정된 쌍의 time-to-match 기록")
+        void runMatchingLoop_RecordsQueueDepthAndTimeToMatch() throws Exception {
+                MatchQueue requester = queue(Gender.MALE, Region.SEOUL, 1995, new Integer[] { 1 }, 12);
+                MatchQueue partner = queue(Gender.FEMALE, Region.BUSAN, 1996, new Integer[] { 2 }, 11);
+                MatchQueue alone = queue(Gender.MALE, Region.SEOUL, 1990, new Integer[] { 3 }, 0);
+                givenWaiting(requester, partner, alone);
+
+                matchScheduler.runMatchingLoop();
+
+                assertThat(meterRegistry.get("matching.queue.depth")
+                                .tags("region", "SEOUL", "gender", "MALE", "phase", "PHASE_3").gauge().value())
+                                .isEqualTo(1.0);
+                assertThat(meterRegistry.get("matching.queue.depth").gauges()).hasSize(3);
+                DistributionSummary timeToMatch = meterRegistry.get("matching.time.to.match")
+                                .tag("phase", "PHASE_3").summary();
+                assertThat(timeToMatch.count()).isEqualTo(2);
+                assertThat(timeToMatch.max()).isGreaterThanOrEqualTo(11.0);
+                assertThat(meterRegistry.get("matching.partner.lookup")
+                                .tags("path", "scheduler", "phase", "PHASE_3").timer().count()).isEqualTo(1);
+        }
+
+        @Test
+        @DisplayName("메트릭: 확정 충돌로 제외된 쌍은 time-to-match에 기록하지 않음")
+        void runMatchingLoop_Conflict_SkipsTimeToMatch() throws Exception {
+                MatchQueue requester = queue(Gender.MALE, Region.SEOUL, 1995, new Integer[] { 1 }, 2);
+                MatchQueue partner = queue(Gender.FEMALE, Region.SEOUL, 1996, new Integer[] { 1 }, 1);
+                givenWaiting(requester, partner);
+                doAnswer(invocation -> new MatchConfirmResult(List.of(), invocation.getArgument(0)))
+                                .when(matchService).confirmMatches(any());
+
+                matchScheduler.runMatchingLoop();
+
+                assertThat(meterRegistry.get("matching.time.to.match").tag("phase", "PHASE_1").summary().count())
+                                .isZero();
+        }
+
+        /* 요청자는 SEOUL 남성 1명(3단계, 지역 무관), 후보는 샤드 미소유 BUSAN 1단계 여성 2명(요청자로는 처리하지 않음). 첫 확정은 전부 충돌 */
+        private MatchQueue[] givenConflictOnFirstConfirm() throws Exception {
+                MatchQueue requester = queue(Gender.MALE, Region.SEOUL, 1995, new Integer[] { 1 }, 12);
+                MatchQueue oldest = queue(Gender.FEMALE, Region.BUSAN, 1996, new Integer[] { 1 }, 4);
+                MatchQueue next = queue(Gender.FEMALE, Region.BUSAN, 1996, new Integer[] { 1 }, 3);
+                when(matchShardCoordinator.owns(Region.BUSAN)).thenReturn(false);
+                givenWaiting(requester, oldest, next);
+                ReflectionTestUtils.setField(matchScheduler, "conflictRetries", 2);
+                doAnswer(invocation -> new MatchConfirmResult(List.of(), invocation.getArgument(0)))
+                                .doAnswer(invocation -> {
+                                        List<MatchPair> pairs = invocation.getArgument(0);
+                                        return new MatchConfirmResult(pairs.stream()
+                                                        .map(pair -> new MatchConfirmation(pair, UUID.randomUUID()))
+                                                        .toList(), List.of());
+                                })
+                                .when(matchService).confirmMatches(any());
+                return new MatchQueue[] { requester, oldest, next };
+        }
+
+        @Test
+        @DisplayName("확정 충돌: 대기 중인 요청자는 같은 tick에서 인덱스의 다음 후보로 재시도")
+        void runMatchingLoop_Conflict_RetriesWithNextCandidate() throws Exception {
+                MatchQueue[] queues = givenConflictOnFirstConfirm();
+                MatchQueue requester = queues[0];
+                when(matchQueueStore.findWaitingByQueueIds(List.of(requester.getQueueId())))
+                                .thenReturn(candidates(requester));
+
+                matchScheduler.runMatchingLoop();
+
+                assertThat(confirmedPairs()).containsExactly(
+                                new MatchPair(requester.getUserId(), queues[1].getUserId()),
+                                new MatchPair(requester.getUserId(), queues[2].getUserId()));
+                assertThat(meterRegistry.get("matching.tick.conflicts").counter().count()).isEqualTo(1.0);
+                assertThat(meterRegistry.get("matching.tick.matches").counter().count()).isEqualTo(1.0);
+                assertThat(meterRegistry.get("matching.time.to.match").tag("phase", "PHASE_3").summary().count())
+                                .isEqualTo(2);
+        }
+
+        @Test
+        @DisplayName("확정 충돌: 요청자 자신이 이미 매칭되었으면 재시도하지 않음")
+        void runMatchingLoop_Conflict_RequesterTaken_NoRetry() throws Exception {
+                givenConflictOnFirstConfirm();
+                when(matchQueueStore.findWaitingByQueueIds(any())).thenReturn(List.of());
+
+                matchScheduler.runMatchingLoop();
+
+                verify(matchService, times(1)).confirmMatches(any());
+        }
+
+        @Test
+        @DisplayName("tick 텔레메트리: 작업 집합·확정·충돌 쌍과 fixed-delay 대비 소요 비율 기록")
+        void runMatchingLoop_RecordsTickTelemetry() throws Exception {
+                MatchQueue male1 = queue(Gender.MALE, Region.SEOUL, 1995, new Integer[] { 1 }, 2);
+                MatchQueue female1 = queue(Gender.FEMALE, Region.SEOUL, 1996, new Integer[] { 1 }, 1);
+                MatchQueue male2 = queue(Gender.MALE, Region.BUSAN, 1995, new Integer[] { 2 }, 2);
+                MatchQueue female2 = queue(Gender.FEMALE, Region.BUSAN, 1996, new Integer[] { 2 }, 1);
+                givenWaiting(male1, female1, male2, female2);
+                // 첫 쌍만 확정, 나머지는 충돌
+                doAnswer(invocation -> {
+                        List<MatchPair> pairs = invocation.getArgument(0);
+                        return new MatchConfirmResult(List.of(new MatchConfirmation(pairs.get(0), UUID.randomUUID())),
+                                        pairs.subList(1, pairs.size()));
+                }).when(matchService).confirmMatches(any());
+
+                matchScheduler.runMatchingLoop();
+
+                assertThat(meterRegistry.get("matching.tick.duration").timer().count()).isEqualTo(1);
+                assertThat(meterRegistry.get("matching.tick.candidates").summary().totalAmount()).isEqualTo(4.0);
+                assertThat(meterRegistry.get("matching.tick.matches").counter().count()).isEqualTo(1.0);
+                assertThat(meterRegistry.get("matching.tick.conflicts").counter().count()).isEqualTo(1.0);
+                assertThat(meterRegistry.get("matching.tick.errors").counter().count()).isZero();
+                assertThat(meterRegistry.get("matching.tick.budget.ratio").gauge().value()).isPositive();
+        }
+
+        @Test
+        @DisplayName("tick 텔레메트리: 확정 실패는 tick 오류로 기록")
+        void runMatchingLoop_ConfirmFailure_RecordsTickError() throws Exception {
+                MatchQueue requester = queue(Gender.MALE, Region.SEOUL, 1995, null, 35);
+                MatchQueue partner = queue(Gender.FEMALE, Region.SEOUL, 1995, null, 35);
+                givenWaiting(requester, partner);
                 doThrow(new RuntimeException("Test exception"))
-                                .when(matchService).confirmMatch(requester.getUserId(), partnerUserId);
+                                .when(matchService).confirmMatches(any());
+
+                matchScheduler.runMatchingLoop();
+
+                assertThat(meterRegistry.get("matching.tick.errors").counter().count()).isEqualTo(1.0);
+                assertThat(meterRegistry.get("matching.tick.matches").counter().count()).isZero();
+        }
+
+        @Test
+        @DisplayName("lease 선점: 다른 노드가 먼저 선점한 쌍은 확정하지 않고 충돌로 재시도")
+        void runMatchingLoop_LeaseConflict_SkipsConfirmAndRetries() throws Exception {
+                MatchQueue requester = queue(Gender.MALE, Region.SEOUL, 1995, new Integer[] { 1 }, 12);
+                MatchQueue oldest = queue(Gender.FEMALE, Region.BUSAN, 1996, new Integer[] { 1 }, 4);
+                MatchQueue next = queue(Gender.FEMALE, Region.BUSAN, 1996, new Integer[] { 1 }, 3);
+                when(matchShardCoordinator.owns(Region.BUSAN)).thenReturn(false);
+                givenWaiting(requester, oldest, next);
+                ReflectionTestUtils.setField(matchScheduler, "conflictRetries", 2);
+                // 첫 쌍은 다른 노드가 파트너를 먼저 선점, 재시도 쌍은 선점 성공
+                when(matchQueueStore.leasePairs(any())).thenReturn(List.of())
+                                .thenAnswer(invocation -> invocation.getArgument(0));
+                when(matchQueueStore.findWaitingByQueueIds(List.of(requester.getQueueId())))
+                                .thenReturn(candidates(requester));
+
+                matchScheduler.runMatchingLoop();
+
+                assertThat(confirmedPairs()).containsExactly(new MatchPair(requester.getUserId(), next.getUserId()));
+                assertThat(meterRegistry.get("matching.tick.conflicts").counter().count()).isEqualTo(1.0);
+                assertThat(meterRegistry.get("matching.confirm.conflicts").tag("path", "batch").counter().count())
+                                .isEqualTo(1.0);
+                verify(matchQueueStore, never()).releaseLeases(any());
+        }
+
+        @Test
+        @DisplayName("lease 선점: 확정 충돌 쌍의 lease는 바로 해제")
+        void runMatchingLoop_ConfirmConflict_ReleasesLeases() throws Exception {
+                MatchQueue[] queues = givenConflictOnFirstConfirm();
+                when(matchQueueStore.findWaitingByQueueIds(any())).thenReturn(List.of());
+
+                matchScheduler.runMatchingLoop();
+
+                verify(matchQueueStore).releaseLeases(List.of(queues[0].getUserId(), queues[1].getUserId()));
+        }
+
+        @Test
+        @DisplayName("lease 선점: 확정 중 오류가 나면 선점한 사용자의 lease 해제")
+        @SuppressWarnings("unchecked")
+        void runMatchingLoop_ConfirmFailure_ReleasesLeases() throws Exception {
+                MatchQueue requester = queue(Gender.MALE, Region.SEOUL, 1995, null, 35);
+                MatchQueue partner = queue(Gender.FEMALE, Region.SEOUL, 1995, null, 35);
+                givenWaiting(requester, partner);
+                doThrow(new RuntimeException("Test exception"))
+                                .when(matchService).confirmMatches(any());
+
+                matchScheduler.runMatchingLoop();
+
+                ArgumentCaptor<List<UUID>> captor = ArgumentCaptor.forClass(List.class);
+                verify(matchQueueStore).releaseLeases(captor.capture());
+                assertThat(captor.getValue()).containsExactlyInAnyOrder(requester.getUserId(), partner.getUserId());
+        }
+
+        @Test
+        @DisplayName("즉시 매칭: 신규 대기자는 Phase1 조건으로 바로 매칭")
+        void matchQueuedUser_Waiting_AttemptsPhase1Match() throws Exception {
+                MatchQueue requester = queue(Gender.MALE, Region.SEOUL, 1995, new Integer[] { 1 }, 0);
+                MatchQueue partner = queue(Gender.FEMALE, Region.SEOUL, 1996, new Integer[] { 1 }, 0);
+                givenQueued(requester);
+                when(matchQueueStore.leasePhase1Partner(argThat((MatchCandidate candidate) -> candidate.userId()
+                                .equals(requester.getUserId()) && candidate.birthYear() == 1995)))
+                                .thenReturn(candidates(partner).stream().findFirst());
+
+                matchScheduler.matchQueuedUser(requester.getUserId());
+
+                verify(matchService).confirmMatch(requester.getUserId(), partner.getUserId());
+                assertThat(meterRegistry.get("matching.partner.lookup")
+                                .tags("path", "wakeup", "phase", "PHASE_1").timer().count()).isEqualTo(1);
+                assertThat(meterRegistry.get("matching.time.to.match").tag("phase", "PHASE_1").summary().count())
+                                .isEqualTo(2);
+        }
+
+        @Test
+        @DisplayName("즉시 매칭: 확정에 실패하면 두 사용자의 lease를 바로 해제")
+        void matchQueuedUser_ConfirmFailed_ReleasesLeases() throws Exception {
+                MatchQueue requester = queue(Gender.MALE, Region.SEOUL, 1995, new Integer[] { 1 }, 0);
+                MatchQueue partner = queue(Gender.FEMALE, Region.SEOUL, 1996, new Integer[] { 1 }, 0);
+                givenQueued(requester);
+                when(matchQueueStore.leasePhase1Partner(any())).thenReturn(candidates(partner).stream().findFirst());
+                doThrow(new IllegalStateException("Match confirmation failed")).when(matchService)
+                                .confirmMatch(requester.getUserId(), partner.getUserId());
+
+                matchScheduler.matchQueuedUser(requester.getUserId());
+
+                verify(matchQueueStore).releaseLeases(List.of(requester.getUserId(), partner.getUserId()));
+        }
+
+        @Test
+        @DisplayName("즉시 매칭: 이미 매칭되었거나 취소된 사용자는 스킵")
+        void matchQueuedUser_NotWaiting_Skips() throws Exception {
+                MatchQueue matched = queue(Gender.MALE, Region.SEOUL, 1995, new Integer[] { 1 }, 0);
+                matched.setStatus(MatchStatus.MATCHED);
+                UUID cancelledUserId = UUID.randomUUID();
+                givenQueued(matched);
+                when(matchQueueStore.findWaiting(cancelledUserId)).thenReturn(Optional.empty());
+
+                matchScheduler.matchQueuedUser(matched.getUserId());
+                matchScheduler.matchQueuedUser(cancelledUserId);
+
+                verify(matchService, never()).confirmMatch(any(), any());
+        }
+
+        @Test
+        @DisplayName("리더: 전 지역을 적재해 샤드 미소유 지역의 3~5단계 요청자도 처리하고, 미소유 지역 1·2단계 요청자는 처리하지 않음")
+        void runMatchingLoop_Leader_ServesCrossRegionPhasesOnly() throws Exception {
+                MatchQueue owned = queue(Gender.MALE, Region.SEOUL, 1995, null, 12);
+                MatchQueue notOwned = queue(Gender.FEMALE, Region.BUSAN, 1995, null, 15);
+                MatchQueue notOwnedMale = queue(Gender.MALE, Region.JEJU, 1970, new Integer[] { 1 }, 2);
+                MatchQueue notOwnedFemale = queue(Gender.FEMALE, Region.JEJU, 1970, new Integer[] { 1 }, 1);
+                MatchQueue ownedMale = queue(Gender.MALE, Region.SEOUL, 1970, new Integer[] { 1 }, 2);
+                MatchQueue ownedFemale = queue(Gender.FEMALE, Region.SEOUL, 1970, new Integer[] { 1 }, 1);
+                lenient().when(matchShardCoordinator.owns(any())).thenReturn(false);
+                when(matchShardCoordinator.owns(Region.SEOUL)).thenReturn(true);
+                givenWaiting(notOwned, notOwnedMale, notOwnedFemale, owned, ownedMale, ownedFemale);
+
+                matchScheduler.runMatchingLoop();
+
+                verify(matchShardCoordinator).rebalance();
+                verify(matchQueueStore).findWaitingAfter(eq(0L), isNull());
+                assertThat(confirmedPairs().stream().map(pair -> Set.of(pair.user1Id(), pair.user2Id())))
+                                .containsExactlyInAnyOrder(Set.of(owned.getUserId(), notOwned.getUserId()),
+                                                Set.of(ownedMale.getUserId(), ownedFemale.getUserId()));
+        }
+
+        @Test
+        @DisplayName("리더가 아닌 노드: 담당 지역만 적재하고 1·2단계 요청자만 처리, 3~5단계는 리더에 맡김")
+        void runMatchingLoop_NotLeader_ServesOwnedRegionPhasesOnly() throws Exception {
+                MatchQueue male = queue(Gender.MALE, Region.SEOUL, 1995, new Integer[] { 1 }, 2);
+                MatchQueue female = queue(Gender.FEMALE, Region.SEOUL, 1995, new Integer[] { 1 }, 1);
+                MatchQueue lateMale = queue(Gender.MALE, Region.SEOUL, 1995, null, 12);
+                MatchQueue lateFemale = queue(Gender.FEMALE, Region.SEOUL, 1995, null, 15);
+                when(matchShardCoordinator.isLeader()).thenReturn(false);
+                lenient().when(matchShardCoordinator.owns(any())).thenReturn(false);
+                when(matchShardCoordinator.owns(Region.SEOUL)).thenReturn(true);
+                givenWaiting(male, female, lateMale, lateFemale);
+
+                matchScheduler.runMatchingLoop();
+
+                verify(matchQueueStore).findWaitingAfter(0L, EnumSet.of(Region.SEOUL));
+                List<MatchPair> pairs = confirmedPairs();
+                assertThat(pairs).hasSize(1);
+                assertThat(List.of(pairs.get(0).user1Id(), pairs.get(0).user2Id()))
+                                .containsExactlyInAnyOrder(male.getUserId(), female.getUserId());
+        }
+
+        @Test
+        @DisplayName("리더가 바뀌면 작업 집합을 비우고 새 적재 범위로 처음부터 다시 적재")
+        void runMatchingLoop_LeaderLost_ReloadsOwnedRegions() throws Exception {
+                MatchQueue alone = queue(Gender.MALE, Region.SEOUL, 1995, null, 1);
+                lenient().when(matchShardCoordinator.owns(any())).thenReturn(false);
+                when(matchShardCoordinator.owns(Region.SEOUL)).thenReturn(true);
+                givenWaiting(alone);
+                matchScheduler.runMatchingLoop();
+
+                when(matchShardCoordinator.isLeader()).thenReturn(false);
+                matchScheduler.runMatchingLoop();
+
+                verify(matchQueueStore).findWaitingAfter(eq(0L), isNull());
+                verify(matchQueueStore).findWaitingAfter(0L, EnumSet.of(Region.SEOUL));
+                verify(matchQueueStore, never()).findWaitingAfter(eq(alone.getQueueId()), any());
+        }
+
+        @Test
+        @DisplayName("batch-pairing: 리더 노드가 아니면 실행하지 않음")
+        void runMatchingLoop_BatchPairing_NotLeader_Skips() {
+                ReflectionTestUtils.setField(matchScheduler, "batchPairing", true);
+                when(matchShardCoordinator.isLeader()).thenReturn(false);
+
+                matchScheduler.runMatchingLoop();
+
+                verify(matchQueueMatchFinder, never()).findPhasePairs(any(), any(), any(), any());
+        }
+
+        @Test
+        @DisplayName("즉시 매칭: 샤드 미소유 지역이면 조회하지 않음")
+        void matchQueuedUser_NotOwnedRegion_Skips() throws Exception {
+                MatchQueue requester = queue(Gender.MALE, Region.BUSAN, 1995, new Integer[] { 1 }, 0);
+                givenQueued(requester);
+                when(matchShardCoordinator.owns(Region.BUSAN)).thenReturn(false);
+
+                matchScheduler.matchQueuedUser(requester.getUserId());
+
+                verify(matchQueueStore, never()).leasePhase1Partner(any());
+        }
+
+        @Test
+        @DisplayName("parallelism > 1: 지역별 1·2단계 매칭 후 지역을 넘는 단계 순차 매칭")
+        void runMatchingLoop_Parallel_MatchesAllBuckets() throws Exception {
+                ReflectionTestUtils.setField(matchScheduler, "parallelism", 4);
+                MatchQueue seoulMale = queue(Gender.MALE, Region.SEOUL, 1995, new Integer[] { 1 }, 1);
+                MatchQueue seoulFemale = queue(Gender.FEMALE, Region.SEOUL, 1995, new Integer[] { 1 }, 2);
+                MatchQueue busanMale = queue(Gender.MALE, Region.BUSAN, 1990, null, 6);
+                MatchQueue busanFemale = queue(Gender.FEMALE, Region.BUSAN, 1991, null, 7);
+                MatchQueue jejuMale = queue(Gender.MALE, Region.JEJU, 1980, null, 12);
+                MatchQueue daeguFemale = queue(Gender.FEMALE, Region.DAEGU, 1981, null, 11);
+                givenWaiting(seoulMale, seoulFemale, busanMale, busanFemale, jejuMale, daeguFemale);
+
+                matchScheduler.runMatchingLoop();
+
+                List<List<UUID>> pairs = confirmedPairs().stream()
+                                .map(pair -> List.of(pair.user1Id(), pair.user2Id()))
+                                .toList();
+                assertThat(pairs).hasSize(3);
+                assertThat(pairs).anySatisfy(pair -> assertThat(pair)
+                                .containsExactlyInAnyOrder(seoulMale.getUserId(), seoulFemale.getUserId()));
+                assertThat(pairs).anySatisfy(pair -> assertThat(pair)
+                                .containsExactlyInAnyOrder(busanMale.getUserId(), busanFemale.getUserId()));
+                assertThat(pairs).anySatisfy(pair -> assertThat(pair)
+                                .containsExactlyInAnyOrder(jejuMale.getUserId(), daeguFemale.getUserId()));
+        }
+
+        @Test
+        @DisplayName("다음 tick: 변화가 없으면 워터마크 이후 신규 행만 조회")
+        void runMatchingLoop_NextTick_LoadsOnlyInserted() throws Exception {
+                MatchQueue requester = queue(Gender.MALE, Region.SEOUL, 1995, new Integer[] { 1 }, 2);
+                givenWaiting(requester);
+                matchScheduler.runMatchingLoop();
+
+                MatchQueue partner = queue(Gender.FEMALE, Region.SEOUL, 1995, new Integer[] { 1 }, 0);
+                givenInsertedAfter(requester.getQueueId(), partner);
+                matchScheduler.runMatchingLoop();
+
+                verifyConfirmedPair(requester, partner);
+                verify(matchQueueStore, never()).digestWaitingUpTo(anyLong(), any());
+                verify(matchQueueStore, never()).findWaitingQueueIdsUpTo(anyLong(), any());
+        }
+
+        @Test
+        @DisplayName("다음 tick: 취소·타 노드 매칭 알림을 받은 사용자는 전체 대조 없이 작업 집합에서 제거")
+        void runMatchingLoop_NextTick_RemovesNotifiedUsers() throws Exception {
+                MatchQueue cancelled = queue(Gender.MALE, Region.SEOUL, 1995, null, 35);
+                givenWaiting(cancelled);
+                matchScheduler.runMatchingLoop();
+
+                MatchQueue newcomer = queue(Gender.FEMALE, Region.SEOUL, 1995, null, 35);
+                matchScheduler.queueRemoved(cancelled.getQueueId());
+                givenInsertedAfter(cancelled.getQueueId(), newcomer);
+                matchScheduler.runMatchingLoop();
+
+                assertThat(confirmedPairs()).isEmpty();
+                verify(matchQueueStore, never()).digestWaitingUpTo(anyLong(), any());
+                verify(matchQueueStore, never()).findWaitingQueueIdsUpTo(anyLong(), any());
+        }
+
+        @Test
+        @DisplayName("다음 tick: 확정 충돌로 남은 대기자는 작업 집합에 남아 전체 대조 없이 다시 매칭")
+        void runMatchingLoop_ConflictedRequester_StaysInWorkingSet() throws Exception {
+                MatchQueue requester = queue(Gender.MALE, Region.SEOUL, 1995, null, 35);
+                MatchQueue taken = queue(Gender.FEMALE, Region.SEOUL, 1995, null, 40);
+                givenWaiting(requester, taken);
+                doAnswer(invocation -> new MatchConfirmResult(List.of(), invocation.getArgument(0)))
+                                .doAnswer(invocation -> {
+                                        List<MatchPair> pairs = invocation.getArgument(0);
+                                        return new MatchConfirmResult(pairs.stream()
+                                                        .map(pair -> new MatchConfirmation(pair, UUID.randomUUID()))
+                                                        .toList(), List.of());
+                                })
+                                .when(matchService).confirmMatches(any());
+                ReflectionTestUtils.setField(matchScheduler, "conflictRetries", 0);
+                matchScheduler.runMatchingLoop();
+
+                // 다른 노드가 확정한 파트너는 알림으로 빠지고, 새 파트너가 등록됨
+                MatchQueue partner = queue(Gender.FEMALE, Region.SEOUL, 1995, null, 0);
+                matchScheduler.queueRemoved(taken.getQueueId());
+                givenInsertedAfter(taken.getQueueId(), partner);
+                matchScheduler.runMatchingLoop();
+
+                List<MatchPair> pairs = confirmedPairs();
+                assertThat(pairs).hasSize(2);
+                assertThat(List.of(pairs.get(1).user1Id(), pairs.get(1).user2Id()))
+                                .containsExactlyInAnyOrder(requester.getUserId(), partner.getUserId());
+                verify(matchQueueStore, never()).findWaitingQueueIdsUpTo(anyLong(), any());
+        }
+
+        @Test
+        @DisplayName("주기 대조: 워터마크 이전 번호로 늦게 커밋된 행도 적재")
+        void runMatchingLoop_Reconcile_LoadsLateCommittedRows() throws Exception {
+                MatchQueue requester = queue(Gender.MALE, Region.SEOUL, 1995, new Integer[] { 1 }, 2);
+                MatchQueue lateCommitted = queue(Gender.FEMALE, Region.SEOUL, 1995, new Integer[] { 1 }, 2);
+                MatchQueue other = queue(Gender.MALE, Region.BUSAN, 1995, new Integer[] { 1 }, 2);
+                ReflectionTestUtils.setField(matchScheduler, "reconcileInterval", Duration.ZERO);
+                givenWaiting(requester, other);
+                matchScheduler.runMatchingLoop();
+
+                givenDigest(other.getQueueId(), requester, lateCommitted, other);
+                when(matchQueueStore.findWaitingQueueIdsUpTo(eq(other.getQueueId()), any()))
+                                .thenReturn(List.of(requester.getQueueId(), lateCommitted.getQueueId(),
+                                                other.getQueueId()));
+                when(matchQueueStore.findWaitingByQueueIds(Set.of(lateCommitted.getQueueId())))
+                                .thenReturn(candidates(lateCommitted));
+                givenInsertedAfter(other.getQueueId());
+                matchScheduler.runMatchingLoop();
+
+                verifyConfirmedPair(requester, lateCommitted);
+        }
+
+        @Test
+        @DisplayName("다음 tick: 번호 순서와 다르게 커밋된 행은 꼬리 재조회로 적재, 전체 대조 없음")
+        void runMatchingLoop_OutOfOrderCommit_LoadsFromTailWithoutReconcile() throws Exception {
+                MatchQueue requester = queue(Gender.MALE, Region.SEOUL, 1995, new Integer[] { 1 }, 2);
+                MatchQueue lateCommitted = queue(Gender.FEMALE, Region.SEOUL, 1995, new Integer[] { 1 }, 2);
+                MatchQueue newer = queue(Gender.MALE, Region.BUSAN, 1995, new Integer[] { 1 }, 2);
+                givenWaiting(requester);
+                matchScheduler.runMatchingLoop();
+
+                // 2번 행이 커밋되기 전에 3번 행이 먼저 보이고, 다음 tick에 2번 행이 커밋됨
+                when(matchQueueStore.findWaitingAfter(eq(requester.getQueueId()), any()))
+                                .thenReturn(candidates(newer))
+                                .thenReturn(candidates(lateCommitted, newer));
+                matchScheduler.runMatchingLoop();
+                matchScheduler.runMatchingLoop();
+
+                givenInsertedAfter(newer.getQueueId());
+                matchScheduler.runMatchingLoop();
+
+                verifyConfirmedPair(requester, lateCommitted);
+                verify(matchQueueStore, never()).findWaitingQueueIdsUpTo(anyLong(), any());
+        }
+
+        @Test
+        @DisplayName("다음 tick: 꼬리 구간에서 취소된 행은 재조회로 제거, 전체 대조 없음")
+        void runMatchingLoop_TailCancelled_RemovedWithoutReconcile() throws Exception {
+                MatchQueue requester = queue(Gender.MALE, Region.SEOUL, 1995, new Integer[] { 1 }, 2);
+                MatchQueue cancelled = queue(Gender.FEMALE, Region.BUSAN, 1995, new Integer[] { 1 }, 2);
+                MatchQueue partner = queue(Gender.FEMALE, Region.SEOUL, 1995, new Integer[] { 1 }, 2);
+                givenWaiting(requester);
+                matchScheduler.runMatchingLoop();
+
+                when(matchQueueStore.findWaitingAfter(eq(requester.getQueueId()), any()))
+                                .thenReturn(candidates(cancelled))
+                                .thenReturn(candidates(partner));
+                matchScheduler.runMatchingLoop();
+                matchScheduler.runMatchingLoop();
 
+                // 직전 tick까지 본 번호(취소된 행)까지 확정 구간으로 편입
+                givenInsertedAfter(cancelled.getQueueId());
                 matchScheduler.runMatchingLoop();
 
-                verify(matchService).confirmMatch(requester.getUserId(), partnerUserId);
+                verifyConfirmedPair(requester, partner);
+                verify(matchQueueStore, never()).findWaitingQueueIdsUpTo(anyLong(), any());
         }
 }
@@ -0,0 +1,26 @@
+package com.salang.matching_poc.worker;
+
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import com.salang.matching_poc.model.enums.Region;
+
+// 테스트는 단일 노드이므로 모든 샤드를 소유
+@Component
+@Profile("test")
+public class MatchShardCoordinatorInMemory implements MatchShardCoordinator {
+
+        @Override
+        public void rebalance() {
+        }
+
+        @Override
+        public boolean owns(Region region) {
+                return true;
+        }
+
+        @Override
+        public boolean isLeader() {
+                return true;
+        }
+}
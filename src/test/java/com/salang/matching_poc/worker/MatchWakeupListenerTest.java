@@ -0,0 +1,126 @@
+package com.salang.matching_poc.worker;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.scheduling.TaskScheduler;
+
+import com.salang.matching_poc.model.enums.Region;
+import com.salang.matching_poc.service.event.MatchQueuedEvent;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("MatchWakeupListener 단위 테스트")
+class MatchWakeupListenerTest {
+
+        @Mock
+        private MatchNotifier matchNotifier;
+
+        @Mock
+        private MatchScheduler matchScheduler;
+
+        @Mock
+        private MatchShardCoordinator matchShardCoordinator;
+
+        @Mock
+        private TaskScheduler taskScheduler;
+
+        @InjectMocks
+        private MatchWakeupListener matchWakeupListener;
+
+        private final UUID userId = UUID.randomUUID();
+
+        private void verifyWokenUp(UUID... userIds) {
+                ArgumentCaptor<Runnable> task = ArgumentCaptor.forClass(Runnable.class);
+                verify(taskScheduler).schedule(task.capture(), any(Instant.class));
+                task.getValue().run();
+                verify(matchScheduler).matchQueuedUsers(List.of(userIds));
+        }
+
+        @Test
+        @DisplayName("다른 노드로 보내는 신호에 지역을 함께 담음")
+        void notifyOtherNodes_PayloadHasRegion() {
+                matchWakeupListener.notifyOtherNodes(MatchQueuedEvent.of(userId, Region.BUSAN));
+
+                verify(matchNotifier).publish(eq(MatchWakeupListener.CHANNEL), eq(userId + ",BUSAN"));
+        }
+
+        @Test
+        @DisplayName("다른 노드의 신호: 지역 샤드를 소유하면 즉시 매칭 스케줄링")
+        void onNotify_OwnedRegion_Schedules() {
+                when(matchShardCoordinator.owns(Region.BUSAN)).thenReturn(true);
+
+                matchWakeupListener.onNotify(userId + ",BUSAN");
+
+                verifyWokenUp(userId);
+        }
+
+        @Test
+        @DisplayName("다른 노드의 신호: 지역 샤드를 소유하지 않으면 스케줄링하지 않음(DB 조회 없음)")
+        void onNotify_NotOwnedRegion_Skips() {
+                when(matchShardCoordinator.owns(Region.BUSAN)).thenReturn(false);
+
+                matchWakeupListener.onNotify(userId + ",BUSAN");
+
+                verifyNoInteractions(taskScheduler, matchScheduler);
+        }
+
+        @Test
+        @DisplayName("지역이 없는 신호는 첫 샤드 소유 여부로 판단")
+        void onNotify_NoRegion_UsesDefaultShard() {
+                when(matchShardCoordinator.owns(null)).thenReturn(true);
+
+                matchWakeupListener.onNotify(userId + ",");
+
+                verifyWokenUp(userId);
+        }
+
+        @Test
+        @DisplayName("같은 노드의 등록도 지역 샤드를 소유하지 않으면 스케줄링하지 않음")
+        void onMatchQueued_NotOwnedRegion_Skips() {
+                when(matchShardCoordinator.owns(Region.SEOUL)).thenReturn(false);
+
+                matchWakeupListener.onMatchQueued(MatchQueuedEvent.of(userId, Region.SEOUL));
+
+                verifyNoInteractions(taskScheduler, matchScheduler);
+        }
+
+        @Test
+        @DisplayName("인터셉트 배치의 남은 요청 전체를 NOTIFY 1회로 발행")
+        void notifyOtherNodes_Batch_SingleNotify() {
+                UUID other = UUID.randomUUID();
+
+                matchWakeupListener.notifyOtherNodes(new MatchQueuedEvent(List.of(
+                                new MatchQueuedEvent.Queued(userId, Region.SEOUL),
+                                new MatchQueuedEvent.Queued(other, Region.BUSAN))));
+
+                verify(matchNotifier, times(1)).publish(MatchWakeupListener.CHANNEL,
+                                userId + ",SEOUL;" + other + ",BUSAN");
+        }
+
+        @Test
+        @DisplayName("여러 사용자의 신호는 소유한 지역의 사용자만 골라 작업 1개로 스케줄링")
+        void onNotify_Batch_SchedulesOwnedUsersOnce() {
+                UUID notOwned = UUID.randomUUID();
+                UUID owned = UUID.randomUUID();
+                when(matchShardCoordinator.owns(Region.SEOUL)).thenReturn(true);
+                when(matchShardCoordinator.owns(Region.BUSAN)).thenReturn(false);
+
+                matchWakeupListener.onNotify(userId + ",SEOUL;" + notOwned + ",BUSAN;" + owned + ",SEOUL");
+
+                verifyWokenUp(userId, owned);
+        }
+}
@@ -0,0 +1,52 @@
+package com.salang.matching_poc.worker;
+
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceUtils;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+@DisplayName("TickQueryCountingDataSource 단위 테스트")
+class TickQueryCountingDataSourceTest {
+
+        private final TickQueryCountingDataSource dataSource = new TickQueryCountingDataSource(
+                        new DriverManagerDataSource("jdbc:h2:mem:tick_query_count;DB_CLOSE_DELAY=-1", "sa", ""));
+
+        private final JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+
+        @Test
+        @DisplayName("카운터 범위 안에서 실행한 구문만 집계, batch는 1회로 집계")
+        void countsStatementsInsideScope() {
+                jdbc.execute("create table if not exists tick_probe (id int)");
+                LongAdder counter = new LongAdder();
+
+                TickQueryCounter.run(counter, () -> {
+                        jdbc.queryForObject("select count(*) from tick_probe", Integer.class);
+                        jdbc.update("insert into tick_probe (id) values (?)", 1);
+                        jdbc.batchUpdate("insert into tick_probe (id) values (?)", List.of(
+                                        new Object[] { 2 }, new Object[] { 3 }));
+                });
+                jdbc.queryForObject("select count(*) from tick_probe", Integer.class);
+
+                assertThat(counter.sum()).isEqualTo(3);
+                assertThat(TickQueryCounter.current()).isNull();
+        }
+
+        @Test
+        @DisplayName("카운터 범위 밖에서 얻은 Connection은 프록시로 감싸지 않음")
+        void returnsRawConnectionOutsideScope() throws SQLException {
+                Connection connection = dataSource.getConnection();
+                try {
+                        assertThat(Proxy.isProxyClass(connection.getClass())).isFalse();
+                } finally {
+                        DataSourceUtils.releaseConnection(connection, dataSource);
+                }
+        }
+}